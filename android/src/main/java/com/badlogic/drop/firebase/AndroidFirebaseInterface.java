@@ -27,10 +27,8 @@ public class AndroidFirebaseInterface implements FirebaseInterface {
     private final FirebaseAuth auth;
     private final FirebaseDatabase database;
     
-    // Константы для путей в базе данных
+    // Константы для путей в базе данных (разделы пользователя - в FirebaseInterface)
     private static final String USERS_PATH = "users";
-    private static final String ACHIEVEMENTS_PATH = "achievements";
-    private static final String STATISTICS_PATH = "statistics";
     
     /**
      * Конструктор
@@ -141,6 +139,40 @@ public class AndroidFirebaseInterface implements FirebaseInterface {
         });
     }
     
+    @Override
+    public void patchUserData(final String userId, final ObjectMap<String, Object> updates,
+                              final CompletionCallback callback) {
+        if (userId == null) {
+            callback.onError("User ID cannot be null");
+            return;
+        }
+        
+        if (updates == null || updates.size == 0) {
+            callback.onSuccess();
+            return;
+        }
+        
+        DatabaseReference userRef = database.getReference()
+                .child(USERS_PATH)
+                .child(userId);
+        
+        // Ключи - пути относительно узла пользователя: updateChildren
+        // записывает все поля атомарно одним запросом
+        Map<String, Object> updatesMap = convertToJavaMap(updates);
+        
+        userRef.updateChildren(updatesMap, new DatabaseReference.CompletionListener() {
+            @Override
+            public void onComplete(DatabaseError databaseError, DatabaseReference databaseReference) {
+                if (databaseError != null) {
+                    Log.e(TAG, "patchUserData:onComplete:error", databaseError.toException());
+                    callback.onError(databaseError.getMessage());
+                } else {
+                    callback.onSuccess();
+                }
+            }
+        });
+    }
+    
     @Override
     public void saveGameStatistics(final String userId, final ObjectMap<String, Object> statistics, 
                                    final CompletionCallback callback) {
@@ -8,6 +8,9 @@ import com.badlogic.gdx.utils.ObjectMap;
  * включая достижения и другую игровую статистику.
  */
 public interface FirebaseInterface {
+    // Разделы данных пользователя (users/<id>/<раздел>)
+    String ACHIEVEMENTS_PATH = "achievements";
+    String STATISTICS_PATH = "statistics";
 
     /**
      * Callback для операций загрузки достижений из Firebase
@@ -81,6 +84,16 @@ public interface FirebaseInterface {
      */
     void saveAchievements(String userId, ObjectMap<String, Object> achievements, CompletionCallback callback);
     
+    /**
+     * Частично обновляет данные пользователя одним многопутевым запросом.
+     * Записываются только переданные поля, остальные данные не меняются.
+     * @param userId ID пользователя
+     * @param updates Новые значения по путям относительно узла пользователя,
+     *                например "achievements/first_flight_progress"
+     * @param callback Callback для обработки результата
+     */
+    void patchUserData(String userId, ObjectMap<String, Object> updates, CompletionCallback callback);
+    
     /**
      * Сохраняет игровую статистику пользователя
      * @param userId ID пользователя
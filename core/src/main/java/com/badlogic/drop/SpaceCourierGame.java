@@ -1,16 +1,30 @@
 package com.badlogic.drop;
 
+import com.badlogic.drop.screens.GameScreen;
+import com.badlogic.drop.screens.LoadingScreen;
 import com.badlogic.drop.screens.MainMenuScreen;
 import com.badlogic.drop.systems.AchievementSystem;
+import com.badlogic.drop.util.AssetRegistry;
+import com.badlogic.drop.util.AsyncLoader;
 import com.badlogic.drop.util.FontManager;
+import com.badlogic.drop.util.GameBatch;
 import com.badlogic.drop.util.GoogleAuthInterface;
 import com.badlogic.drop.util.SoundManager;
+import com.badlogic.drop.utils.DrawableCache;
 import com.badlogic.drop.firebase.FirebaseInterface;
+import com.badlogic.drop.firebase.QueuedFirebase;
+import com.badlogic.drop.world.InputReplay;
 import com.badlogic.gdx.Game;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.TimeUtils;
 
 /**
  * Основной класс игры Space Courier, адаптированный для Samsung Galaxy S24 Ultra.
@@ -31,15 +45,28 @@ public class SpaceCourierGame extends Game {
 	public FontManager fontManager;
 	public AchievementSystem achievementSystem;
 	public SoundManager soundManager;
+	public AssetRegistry assets;
+	
+	// Общие ресурсы: нужны почти всем экранам, поэтому игра удерживает их весь запуск
+	public static final String BACKGROUND_TEXTURE = "background.png";
+	public static final String COLLECT_SOUND = "collect.wav";
+	public static final String EXPLOSION_SOUND = "explosion.wav";
+	
+	// Атлас спрайтов, собираемый задачей Gradle packSprites (см. build.gradle)
+	public static final String GAME_ATLAS_PATH = "atlas/game.atlas";
 	
 	// Ресурсы для оптимизации производительности
 	private TextureAtlas gameAtlas;
+	// Спрайты, загруженные отдельными текстурами, если атлас не собран
+	private ObjectMap<String, TextureRegion> fallbackRegions;
 	
 	// Интерфейс для работы с Google Auth
 	private GoogleAuthInterface googleAuthInterface;
 	
 	// Интерфейс для работы с Firebase
 	private FirebaseInterface firebaseInterface;
+	// Очередь записи в Firebase с повторами (оборачивает firebaseInterface)
+	private QueuedFirebase firebaseQueue;
 	
 	// Данные пользователя Google
 	private String googleUserName;
@@ -50,6 +77,23 @@ public class SpaceCourierGame extends Game {
 	// Слушатели аутентификации
 	private Array<GoogleAuthListener> authListeners;
 	
+	// Путь к записи партии, которую нужно повторить при запуске (null - обычный запуск)
+	private String startReplayPath;
+	// Записывать ввод каждой партии (для отладки; по умолчанию выключено)
+	private boolean recordInput;
+	
+	// Фоновая загрузка при запуске (null после ее завершения)
+	private AsyncLoader loader;
+	
+	// Кэш игрового экрана: создается при первом запуске игры и переиспользуется
+	private GameScreen cachedGameScreen;
+	
+	// Замеры времени: от запуска до первого кадра и время переходов между экранами
+	private long launchTime;
+	private boolean firstFrameReported;
+	private String transitionName;
+	private long transitionStartTime;
+	
 	/**
 	 * Интерфейс для получения уведомлений о событиях аутентификации Google
 	 */
@@ -60,20 +104,123 @@ public class SpaceCourierGame extends Game {
 
 	@Override
 	public void create() {
+		launchTime = TimeUtils.nanoTime();
 		initializeResources();
+		startLoading();
+	}
+	
+	/**
+	 * Запускает загрузку шрифтов и общих ресурсов.
+	 * Шрифты генерируются на пуле потоков, текстуры и звуки декодируются в фоновом потоке реестра,
+	 * а пока идет загрузка, показывается экран загрузки. Настройка asyncLoading = false
+	 * возвращает прежнюю загрузку целиком до первого кадра (для сравнения замеров).
+	 */
+	private void startLoading() {
+		queueSharedAssets();
+		
+		Preferences prefs = Gdx.app.getPreferences(GameScreen.SIMULATION_PREFS_NAME);
+		if (prefs.getBoolean("asyncLoading", true)) {
+			loader = new AsyncLoader();
+			fontManager = new FontManager(loader);
+			Gdx.app.log("SpaceCourierGame", "Фоновая загрузка ресурсов, потоков: " + loader.getThreadCount());
+			setScreen(new LoadingScreen(this, loader));
+		} else {
+			fontManager = new FontManager();
+			assets.finishLoading();
+			onLoadingFinished();
+		}
+	}
+	
+	/**
+	 * Вызывается, когда все ресурсы запуска загружены: показывает главное меню
+	 * (или сразу повтор партии, если он задан)
+	 */
+	public void onLoadingFinished() {
+		if (loader != null) {
+			Gdx.app.log("SpaceCourierGame", "Шрифты готовы, загрузка в GPU заняла " + loader.getFinishMillis() + " мс");
+			loader.dispose();
+			loader = null;
+		}
+		if (assets.getReferenceCount(GAME_ATLAS_PATH) > 0) {
+			gameAtlas = assets.get(GAME_ATLAS_PATH, TextureAtlas.class);
+			Gdx.app.log("SpaceCourierGame", "Атлас спрайтов загружен: " + gameAtlas.getRegions().size +
+				" спрайтов, страниц: " + gameAtlas.getTextures().size);
+		}
+		Gdx.app.log("SpaceCourierGame", "Ресурсы загружены через " + millisSince(launchTime) + " мс после запуска");
+		
+		if (startReplayPath != null) {
+			try {
+				InputReplay replay = InputReplay.load(Gdx.files.absolute(startReplayPath));
+				Gdx.app.log("SpaceCourierGame", "Повтор партии: " + startReplayPath);
+				setScreen(new GameScreen(this, replay));
+				return;
+			} catch (Exception e) {
+				Gdx.app.error("SpaceCourierGame", "Не удалось загрузить запись партии: " + startReplayPath, e);
+			}
+		}
+		beginTransition("Запуск до главного меню", launchTime);
 		setScreen(new MainMenuScreen(this));
 	}
 	
+	/**
+	 * Начинает замер перехода к следующему экрану (например, от нажатия "Старт" до первого кадра игры).
+	 * Замер завершается вызовом {@link #reportScreenReady()} из отрисовки нового экрана.
+	 * @param name Название замера для лога
+	 */
+	public void beginTransition(String name) {
+		beginTransition(name, TimeUtils.nanoTime());
+	}
+	
+	private void beginTransition(String name, long startTime) {
+		transitionName = name;
+		transitionStartTime = startTime;
+	}
+	
+	/**
+	 * Завершает замер перехода, если он идет. Экраны вызывают метод в каждом кадре отрисовки.
+	 */
+	public void reportScreenReady() {
+		if (transitionName == null) return;
+		Gdx.app.log("SpaceCourierGame", transitionName + ": " + millisSince(transitionStartTime) + " мс");
+		transitionName = null;
+	}
+	
+	private static long millisSince(long startTime) {
+		return (TimeUtils.nanoTime() - startTime) / 1000000L;
+	}
+	
+	/**
+	 * Задает запись партии, которая будет повторена сразу после запуска вместо главного меню
+	 * @param path Путь к файлу записи ввода
+	 */
+	public void setStartReplay(String path) {
+		this.startReplayPath = path;
+	}
+	
+	/**
+	 * Включает запись ввода каждой партии в {@link GameScreen#LAST_REPLAY_FILE}
+	 * (то же, что настройка recordInput)
+	 */
+	public void setRecordInput(boolean recordInput) {
+		this.recordInput = recordInput;
+	}
+	
+	public boolean isRecordInput() {
+		return recordInput;
+	}
+	
 	/**
 	 * Инициализирует все необходимые ресурсы и системы игры.
 	 * Создает менеджеры ресурсов и загружает необходимые ассеты.
 	 */
 	private void initializeResources() {
 		// Инициализация основных ресурсов
-		batch = new SpriteBatch();
-		fontManager = new FontManager();
+		// Батч с поддержкой шрифтов с полем расстояний
+		batch = new GameBatch();
+		assets = new AssetRegistry();
 		soundManager = new SoundManager();
 		authListeners = new Array<>();
+		fallbackRegions = new ObjectMap<>();
 		
 		// Создаем базовую систему достижений, которая будет использоваться, 
 		// пока не будет установлен Firebase
@@ -81,12 +228,61 @@ public class SpaceCourierGame extends Game {
 		Gdx.app.log("SpaceCourierGame", "Базовая система достижений инициализирована");
 	}
 	
+	/**
+	 * Ставит в очередь общие ресурсы и атлас спрайтов. Игра удерживает их до закрытия,
+	 * чтобы переходы между экранами и новые партии не загружали их заново.
+	 * Фильтр страниц атласа (MipMapLinearLinear) задается при упаковке,
+	 * поэтому мип-уровни строятся при загрузке текстуры.
+	 */
+	private void queueSharedAssets() {
+		assets.queueTexture(BACKGROUND_TEXTURE);
+		assets.queue(COLLECT_SOUND, Sound.class, null);
+		assets.queue(EXPLOSION_SOUND, Sound.class, null);
+		
+		if (Gdx.files.internal(GAME_ATLAS_PATH).exists()) {
+			assets.queue(GAME_ATLAS_PATH, TextureAtlas.class, null);
+		} else {
+			Gdx.app.error("SpaceCourierGame", "Атлас " + GAME_ATLAS_PATH + " не найден, спрайты будут загружены отдельно. " +
+				"Соберите его задачей gradle packSprites");
+		}
+	}
+	
+	/**
+	 * Возвращает спрайт из атласа игры по имени (имя исходного файла без расширения).
+	 * Если атлас не собран, спрайт загружается из исходного файла и кэшируется.
+	 * Области принадлежат игре, экраны не должны освобождать их текстуры.
+	 * @param name Имя спрайта, например "ship"
+	 */
+	public TextureRegion getSpriteRegion(String name) {
+		if (gameAtlas != null) {
+			TextureRegion region = gameAtlas.findRegion(name);
+			if (region != null) return region;
+			Gdx.app.error("SpaceCourierGame", "Спрайт " + name + " отсутствует в атласе");
+		}
+		
+		TextureRegion region = fallbackRegions.get(name);
+		if (region == null) {
+			Texture texture = new Texture(Gdx.files.internal(name + ".png"));
+			texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+			region = new TextureRegion(texture);
+			fallbackRegions.put(name, region);
+		}
+		return region;
+	}
+	
+	/**
+	 * Возвращает атлас спрайтов игры (null, если атлас не собран)
+	 */
+	public TextureAtlas getGameAtlas() {
+		return gameAtlas;
+	}
+	
 	/**
 	 * Устанавливает интерфейс Firebase
-	 * @param firebaseInterface Реализация интерфейса Firebase
+	 * @param firebase Реализация интерфейса Firebase
 	 */
-	public void setFirebaseInterface(FirebaseInterface firebaseInterface) {
-		this.firebaseInterface = firebaseInterface;
+	public void setFirebaseInterface(FirebaseInterface firebase) {
+		this.firebaseInterface = firebase;
 		
 		// Проверяем, что Gdx.app инициализирован
 		if (Gdx.app == null) {
@@ -97,12 +293,17 @@ public class SpaceCourierGame extends Game {
 		
 		// Инициализируем систему достижений с Firebase
 		if (this.firebaseInterface != null) {
-			// Если система уже была создана, освобождаем ресурсы
+			// Новая реализация получает свою очередь записи. Прежняя система достижений
+			// освобождается первой: ее последняя запись еще уходит через старую очередь
 			if (achievementSystem != null) {
 				achievementSystem.dispose();
+				achievementSystem = null;
+			}
+			if (firebaseQueue != null) {
+				firebaseQueue.dispose();
+				firebaseQueue = null;
 			}
-			// Создаем систему достижений с поддержкой Firebase
-			achievementSystem = new AchievementSystem(this, firebaseInterface);
+			createFirebaseAchievementSystem();
 			Gdx.app.log("SpaceCourierGame", "Система достижений с Firebase инициализирована");
 		} else {
 			// Создаем стандартную систему достижений без Firebase
@@ -113,6 +314,22 @@ public class SpaceCourierGame extends Game {
 		}
 	}
 	
+	/**
+	 * Создает систему достижений, сохраняющую данные в Firebase. Записи идут через очередь:
+	 * неудачные повторяются, неотправленные переживают перезапуск.
+	 */
+	private void createFirebaseAchievementSystem() {
+		// Если система уже была создана, освобождаем ресурсы
+		if (achievementSystem != null) {
+			achievementSystem.dispose();
+		}
+		if (firebaseQueue == null) {
+			firebaseQueue = new QueuedFirebase(firebaseInterface);
+			firebaseInterface = firebaseQueue;
+		}
+		achievementSystem = new AchievementSystem(this, firebaseQueue);
+	}
+	
 	/**
 	 * Устанавливает интерфейс для аутентификации Google
 	 * @param googleAuthInterface Реализация интерфейса аутентификации
@@ -254,17 +471,14 @@ public class SpaceCourierGame extends Game {
 		if (firebaseInterface != null) {
 			boolean needReinitialization = false;
 			
-			// Если система не создана или создана без Firebase
-			if (achievementSystem == null || !(achievementSystem instanceof AchievementSystem)) {
+			// Если система не создана или создана без Firebase (интерфейс установлен до create())
+			if (achievementSystem == null || !achievementSystem.isUsingFirebase()) {
 				needReinitialization = true;
 			}
 			
 			if (needReinitialization) {
 				Gdx.app.log("SpaceCourierGame", "Пересоздаем систему достижений с Firebase");
-				if (achievementSystem != null) {
-					achievementSystem.dispose();
-				}
-				achievementSystem = new AchievementSystem(this, firebaseInterface);
+				createFirebaseAchievementSystem();
 			}
 			
 			// Привязываем достижения к пользователю
@@ -321,6 +535,11 @@ public class SpaceCourierGame extends Game {
 	public void render() {
 		// Вызов метода render активного экрана
 		super.render();
+		
+		if (!firstFrameReported) {
+			firstFrameReported = true;
+			Gdx.app.log("SpaceCourierGame", "Первый кадр через " + millisSince(launchTime) + " мс после запуска");
+		}
 	}
 
 	@Override
@@ -329,22 +548,39 @@ public class SpaceCourierGame extends Game {
 		super.resize(width, height);
 	}
 
+	@Override
+	public void pause() {
+		super.pause();
+		// Приложение может быть закрыто системой в фоне - сохраняем накопленные достижения
+		if (achievementSystem != null) {
+			achievementSystem.flush();
+		}
+	}
+
 	/**
-	 * Пересоздает менеджер шрифтов с нуля.
-	 * Используется для решения проблем с сохранением состояний шрифтов
-	 * при переключении между экранами.
+	 * Показывает игровой экран с новой партией.
+	 * Экран создается один раз, повторные запуски только сбрасывают игровое состояние
+	 * через {@link GameScreen#reset()}: текстуры, звуки и интерфейс экрана не пересоздаются.
 	 */
-	public void recreateFontManager() {
-		if (fontManager != null) {
-			fontManager.dispose();
+	public void showGameScreen() {
+		if (cachedGameScreen == null) {
+			cachedGameScreen = new GameScreen(this);
+		} else {
+			cachedGameScreen.reset();
 		}
-		fontManager = new FontManager();
+		setScreen(cachedGameScreen);
 	}
 
 	@Override
 	public void dispose() {
-		disposeResources();
+		// Сначала экран: он возвращает ресурсы в реестр, который освобождается следом
 		disposeCurrentScreen();
+		// Игровой экран из кэша мог быть скрыт
+		if (cachedGameScreen != null && cachedGameScreen != getScreen()) {
+			cachedGameScreen.dispose();
+		}
+		cachedGameScreen = null;
+		disposeResources();
 	}
 	
 	/**
@@ -353,10 +589,26 @@ public class SpaceCourierGame extends Game {
 	 */
 	private void disposeResources() {
 		if (batch != null) batch.dispose();
-		if (gameAtlas != null) gameAtlas.dispose();
+		// Атлас принадлежит реестру ресурсов и освобождается вместе с ним
+		if (loader != null) loader.dispose();
+		if (assets != null) {
+			assets.logStats();
+			assets.dispose();
+		}
+		if (fallbackRegions != null) {
+			for (TextureRegion region : fallbackRegions.values()) {
+				region.getTexture().dispose();
+			}
+			fallbackRegions.clear();
+		}
 		if (fontManager != null) fontManager.dispose();
+		// Фоны кнопок, которые не вернули экраны
+		DrawableCache.logStats();
+		DrawableCache.dispose();
 		if (soundManager != null) soundManager.dispose();
 		if (achievementSystem != null) achievementSystem.dispose();
+		// После достижений: их последние изменения уже в очереди записи
+		if (firebaseQueue != null) firebaseQueue.dispose();
 		authListeners.clear();
 	}
 	
@@ -0,0 +1,175 @@
+package com.badlogic.drop.firebase;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Timer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+/**
+ * Асинхронный доступ к {@link FirebaseInterface} через {@link CompletableFuture}.
+ *
+ * Результат запроса доставляется в поток отрисовки: будущее завершается там, поэтому
+ * продолжения (thenAccept, whenComplete и т.д.) могут сразу менять игровое состояние и интерфейс.
+ * Если ответ не пришел за заданное время, будущее завершается {@link TimeoutException};
+ * таймер тоже работает в потоке отрисовки. Отмененное ({@link CompletableFuture#cancel})
+ * или завершенное по таймауту будущее не меняется, когда ответ все-таки придет.
+ */
+public class FirebaseAsync {
+    /**
+     * Выполняет задачи в потоке отрисовки (для продолжений *Async)
+     */
+    public static final Executor RENDER_THREAD = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            Gdx.app.postRunnable(command);
+        }
+    };
+
+    private final FirebaseInterface firebase;
+
+    /**
+     * @param firebase Реализация, через которую выполняются запросы
+     */
+    public FirebaseAsync(FirebaseInterface firebase) {
+        this.firebase = firebase;
+    }
+
+    /**
+     * Загружает достижения пользователя
+     * @param timeoutSeconds Время ожидания ответа
+     */
+    public CompletableFuture<ObjectMap<String, Object>> getAchievements(String userId, float timeoutSeconds) {
+        CompletableFuture<ObjectMap<String, Object>> future = withTimeout("getAchievements", timeoutSeconds);
+        firebase.getAchievements(userId, dataCallback(future));
+        return future;
+    }
+
+    /**
+     * Загружает игровую статистику пользователя
+     * @param timeoutSeconds Время ожидания ответа
+     */
+    public CompletableFuture<ObjectMap<String, Object>> getGameStatistics(String userId, float timeoutSeconds) {
+        CompletableFuture<ObjectMap<String, Object>> future = withTimeout("getGameStatistics", timeoutSeconds);
+        firebase.getGameStatistics(userId, dataCallback(future));
+        return future;
+    }
+
+    /**
+     * Сохраняет достижения пользователя
+     * @param timeoutSeconds Время ожидания подтверждения
+     */
+    public CompletableFuture<Void> saveAchievements(String userId, ObjectMap<String, Object> achievements,
+                                                    float timeoutSeconds) {
+        CompletableFuture<Void> future = withTimeout("saveAchievements", timeoutSeconds);
+        firebase.saveAchievements(userId, achievements, completionCallback(future));
+        return future;
+    }
+
+    /**
+     * Частично обновляет данные пользователя ({@link FirebaseInterface#patchUserData})
+     * @param timeoutSeconds Время ожидания подтверждения
+     */
+    public CompletableFuture<Void> patchUserData(String userId, ObjectMap<String, Object> updates,
+                                                 float timeoutSeconds) {
+        CompletableFuture<Void> future = withTimeout("patchUserData", timeoutSeconds);
+        firebase.patchUserData(userId, updates, completionCallback(future));
+        return future;
+    }
+
+    /**
+     * Сохраняет игровую статистику пользователя
+     * @param timeoutSeconds Время ожидания подтверждения
+     */
+    public CompletableFuture<Void> saveGameStatistics(String userId, ObjectMap<String, Object> statistics,
+                                                      float timeoutSeconds) {
+        CompletableFuture<Void> future = withTimeout("saveGameStatistics", timeoutSeconds);
+        firebase.saveGameStatistics(userId, statistics, completionCallback(future));
+        return future;
+    }
+
+    /**
+     * Создает будущее, которое завершится ошибкой, если не завершится за заданное время.
+     * Таймер снимается, как только будущее завершено любым способом.
+     */
+    private static <T> CompletableFuture<T> withTimeout(final String operation, final float timeoutSeconds) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final Timer.Task timeout = new Timer.Task() {
+            @Override
+            public void run() {
+                future.completeExceptionally(new TimeoutException(
+                    operation + ": нет ответа за " + timeoutSeconds + " с"));
+            }
+        };
+        Timer.schedule(timeout, timeoutSeconds);
+        future.whenComplete(new BiConsumer<T, Throwable>() {
+            @Override
+            public void accept(T result, Throwable error) {
+                timeout.cancel();
+            }
+        });
+        return future;
+    }
+
+    private static FirebaseInterface.AchievementsCallback dataCallback(
+            final CompletableFuture<ObjectMap<String, Object>> future) {
+        return new FirebaseInterface.AchievementsCallback() {
+            @Override
+            public void onAchievementsLoaded(final ObjectMap<String, Object> data) {
+                Gdx.app.postRunnable(new Runnable() {
+                    @Override
+                    public void run() {
+                        future.complete(data);
+                    }
+                });
+            }
+
+            @Override
+            public void onError(String error) {
+                fail(future, error);
+            }
+        };
+    }
+
+    private static FirebaseInterface.CompletionCallback completionCallback(final CompletableFuture<Void> future) {
+        return new FirebaseInterface.CompletionCallback() {
+            @Override
+            public void onSuccess() {
+                Gdx.app.postRunnable(new Runnable() {
+                    @Override
+                    public void run() {
+                        future.complete(null);
+                    }
+                });
+            }
+
+            @Override
+            public void onError(String error) {
+                fail(future, error);
+            }
+        };
+    }
+
+    private static void fail(final CompletableFuture<?> future, final String error) {
+        Gdx.app.postRunnable(new Runnable() {
+            @Override
+            public void run() {
+                future.completeExceptionally(new FirebaseException(error));
+            }
+        });
+    }
+
+    /**
+     * Ошибка, которую вернула реализация Firebase
+     */
+    public static class FirebaseException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        public FirebaseException(String message) {
+            super(message);
+        }
+    }
+}
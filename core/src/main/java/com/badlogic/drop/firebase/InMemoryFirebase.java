@@ -0,0 +1,237 @@
+package com.badlogic.drop.firebase;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.nio.charset.Charset;
+
+/**
+ * Реализация {@link FirebaseInterface} в памяти. Данные хранятся так же, как в Realtime Database
+ * (users/<id>/<раздел>/<поле>), и записываются с семантикой updateChildren.
+ *
+ * Считает запросы и размер отправленных данных в байтах JSON. Для частичных обновлений
+ * дополнительно считается, сколько занял бы полный раздел, поэтому по {@link #logStats()}
+ * видно, насколько частичная запись уменьшает трафик.
+ *
+ * Обратные вызовы выполняются сразу, в вызывающем потоке.
+ */
+public class InMemoryFirebase implements FirebaseInterface {
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private final String userId;
+    private final String userName;
+    private final String userEmail;
+
+    // Данные: путь "<id пользователя>/<раздел>" -> поля раздела
+    private final ObjectMap<String, ObjectMap<String, Object>> sections = new ObjectMap<>();
+
+    // Статистика
+    private int readCount;
+    private int saveCount;
+    private int patchCount;
+    private long saveBytes;
+    private long patchBytes;
+    private long patchFullBytes;
+
+    /**
+     * @param userId ID авторизованного пользователя (null - пользователь не авторизован)
+     * @param userName Имя пользователя
+     * @param userEmail Email пользователя
+     */
+    public InMemoryFirebase(String userId, String userName, String userEmail) {
+        this.userId = userId;
+        this.userName = userName;
+        this.userEmail = userEmail;
+    }
+
+    @Override
+    public boolean isUserSignedIn() {
+        return userId != null;
+    }
+
+    @Override
+    public String getCurrentUserId() {
+        return userId;
+    }
+
+    @Override
+    public String getCurrentUserName() {
+        return userId != null ? userName : null;
+    }
+
+    @Override
+    public String getCurrentUserEmail() {
+        return userId != null ? userEmail : null;
+    }
+
+    @Override
+    public void getAchievements(String userId, AchievementsCallback callback) {
+        read(userId, ACHIEVEMENTS_PATH, callback);
+    }
+
+    @Override
+    public void saveAchievements(String userId, ObjectMap<String, Object> achievements, CompletionCallback callback) {
+        save(userId, ACHIEVEMENTS_PATH, achievements, callback);
+    }
+
+    @Override
+    public void patchUserData(String userId, ObjectMap<String, Object> updates, CompletionCallback callback) {
+        if (userId == null) {
+            callback.onError("User ID cannot be null");
+            return;
+        }
+        if (updates == null || updates.size == 0) {
+            callback.onSuccess();
+            return;
+        }
+
+        // Как updateChildren: при неверном пути не применяется ни одно поле
+        for (String path : updates.keys()) {
+            int separator = path.indexOf('/');
+            if (separator <= 0 || separator == path.length() - 1) {
+                callback.onError("Invalid path: " + path);
+                return;
+            }
+        }
+
+        synchronized (this) {
+            ObjectMap<String, ObjectMap<String, Object>> touched = new ObjectMap<>();
+            for (ObjectMap.Entry<String, Object> entry : updates.entries()) {
+                int separator = entry.key.indexOf('/');
+                String section = entry.key.substring(0, separator);
+                ObjectMap<String, Object> fields = section(userId, section);
+                fields.put(entry.key.substring(separator + 1), entry.value);
+                touched.put(section, fields);
+            }
+
+            patchCount++;
+            patchBytes += payloadSize(updates);
+            // Столько же данных ушло бы при полной записи измененных разделов
+            for (ObjectMap.Entry<String, ObjectMap<String, Object>> entry : touched.entries()) {
+                patchFullBytes += payloadSize(entry.value);
+                sectionChanged(userId, entry.key, entry.value);
+            }
+        }
+        callback.onSuccess();
+    }
+
+    @Override
+    public void saveGameStatistics(String userId, ObjectMap<String, Object> statistics, CompletionCallback callback) {
+        save(userId, STATISTICS_PATH, statistics, callback);
+    }
+
+    @Override
+    public void getGameStatistics(String userId, AchievementsCallback callback) {
+        read(userId, STATISTICS_PATH, callback);
+    }
+
+    private void read(String userId, String section, AchievementsCallback callback) {
+        if (userId == null) {
+            callback.onError("User ID cannot be null");
+            return;
+        }
+
+        ObjectMap<String, Object> copy;
+        synchronized (this) {
+            readCount++;
+            copy = new ObjectMap<>(section(userId, section));
+        }
+        callback.onAchievementsLoaded(copy);
+    }
+
+    private void save(String userId, String section, ObjectMap<String, Object> data, CompletionCallback callback) {
+        if (userId == null) {
+            callback.onError("User ID cannot be null");
+            return;
+        }
+        if (data == null || data.size == 0) {
+            callback.onError("Data cannot be null or empty");
+            return;
+        }
+
+        synchronized (this) {
+            ObjectMap<String, Object> fields = section(userId, section);
+            fields.putAll(data);
+            sectionChanged(userId, section, fields);
+            saveCount++;
+            saveBytes += payloadSize(data);
+        }
+        callback.onSuccess();
+    }
+
+    /**
+     * Вызывается после записи в раздел (под блокировкой хранилища)
+     * @param fields Все поля раздела после записи
+     */
+    protected void sectionChanged(String userId, String section, ObjectMap<String, Object> fields) {
+    }
+
+    /**
+     * Заменяет поля раздела, не считая это запросом (например, при загрузке сохраненных данных)
+     */
+    protected synchronized void restoreSection(String userId, String section, ObjectMap<String, Object> fields) {
+        ObjectMap<String, Object> stored = section(userId, section);
+        stored.clear();
+        stored.putAll(fields);
+    }
+
+    private ObjectMap<String, Object> section(String userId, String section) {
+        String path = userId + "/" + section;
+        ObjectMap<String, Object> fields = sections.get(path);
+        if (fields == null) {
+            fields = new ObjectMap<>();
+            sections.put(path, fields);
+        }
+        return fields;
+    }
+
+    /**
+     * Размер данных в байтах JSON, как их отправляет клиент Firebase
+     */
+    static int payloadSize(ObjectMap<String, Object> data) {
+        StringBuilder json = new StringBuilder("{");
+        for (ObjectMap.Entry<String, Object> entry : data.entries()) {
+            if (json.length() > 1) json.append(',');
+            json.append('"').append(entry.key).append("\":");
+            if (entry.value instanceof String) {
+                json.append('"').append(entry.value).append('"');
+            } else {
+                json.append(entry.value);
+            }
+        }
+        json.append('}');
+        return json.toString().getBytes(UTF8).length;
+    }
+
+    /**
+     * Байт отправлено частичными обновлениями
+     */
+    public synchronized long getPatchBytes() {
+        return patchBytes;
+    }
+
+    /**
+     * Байт, которые заняли бы полные записи тех же разделов вместо частичных обновлений
+     */
+    public synchronized long getPatchFullBytes() {
+        return patchFullBytes;
+    }
+
+    /**
+     * Байт отправлено полными записями
+     */
+    public synchronized long getSaveBytes() {
+        return saveBytes;
+    }
+
+    /**
+     * Выводит в лог статистику запросов и объем отправленных данных
+     */
+    public synchronized void logStats() {
+        long saved = patchFullBytes > 0 ? 100 - patchBytes * 100 / patchFullBytes : 0;
+        Gdx.app.log("InMemoryFirebase", "Чтений: " + readCount
+            + ", полных записей: " + saveCount + " (" + saveBytes + " байт)"
+            + ", частичных: " + patchCount + " (" + patchBytes + " байт, полная запись заняла бы "
+            + patchFullBytes + " байт, экономия " + saved + "%)");
+    }
+}
@@ -0,0 +1,53 @@
+package com.badlogic.drop.firebase;
+
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Преобразование полей Firebase (логические значения, числа, строки) в JSON и обратно
+ */
+final class JsonFields {
+    private JsonFields() {
+    }
+
+    /**
+     * Записывает поля в объект JSON
+     */
+    static JsonValue toJson(ObjectMap<String, Object> fields) {
+        JsonValue json = new JsonValue(JsonValue.ValueType.object);
+        for (ObjectMap.Entry<String, Object> entry : fields.entries()) {
+            Object value = entry.value;
+            JsonValue child;
+            if (value instanceof Boolean) {
+                child = new JsonValue((Boolean) value);
+            } else if (value instanceof Float || value instanceof Double) {
+                child = new JsonValue(((Number) value).doubleValue());
+            } else if (value instanceof Number) {
+                child = new JsonValue(((Number) value).longValue());
+            } else {
+                child = new JsonValue(String.valueOf(value));
+            }
+            json.addChild(entry.key, child);
+        }
+        return json;
+    }
+
+    /**
+     * Читает поля объекта JSON. Числа возвращаются как Long и Double, как в клиенте Firebase.
+     */
+    static ObjectMap<String, Object> fromJson(JsonValue json) {
+        ObjectMap<String, Object> fields = new ObjectMap<>();
+        for (JsonValue value = json.child; value != null; value = value.next) {
+            if (value.isBoolean()) {
+                fields.put(value.name, value.asBoolean());
+            } else if (value.isLong()) {
+                fields.put(value.name, value.asLong());
+            } else if (value.isDouble()) {
+                fields.put(value.name, value.asDouble());
+            } else if (value.isString()) {
+                fields.put(value.name, value.asString());
+            }
+        }
+        return fields;
+    }
+}
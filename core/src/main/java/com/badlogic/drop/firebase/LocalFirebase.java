@@ -0,0 +1,289 @@
+package com.badlogic.drop.firebase;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+import java.util.Random;
+
+/**
+ * Локальная замена Firebase для компьютера и проверок без сервиса.
+ *
+ * Данные хранятся в локальных файлах JSON (firebase/<id пользователя>/<раздел>.json)
+ * и переживают перезапуск. Запросы выполняются по одному в фоновом потоке, как через
+ * одно соединение с сервером, с заданными условиями сети ({@link Conditions}): задержкой,
+ * долей отказов, ограничением скорости передачи и режимом без сети. Обратные вызовы
+ * приходят из этого потока, как и у настоящего клиента Firebase - не из потока отрисовки.
+ */
+public class LocalFirebase extends InMemoryFirebase implements Disposable {
+    // Папка хранилища в локальных файлах
+    public static final String STORE_DIR = "firebase";
+
+    /**
+     * Условия сети, в которых выполняются запросы
+     */
+    public static class Conditions {
+        // Задержка каждого запроса (мс) и ее случайный разброс сверху
+        public int latencyMillis;
+        public int latencyJitterMillis;
+        // Доля запросов, завершающихся ошибкой (0..1)
+        public float failureRate;
+        // Скорость передачи данных в байтах в секунду (0 - без ограничения)
+        public int bytesPerSecond;
+        // Сеть недоступна: все запросы завершаются ошибкой после задержки
+        public volatile boolean offline;
+
+        @Override
+        public String toString() {
+            return "задержка " + latencyMillis + "+" + latencyJitterMillis + " мс, отказов "
+                + Math.round(failureRate * 100) + "%, скорость "
+                + (bytesPerSecond > 0 ? bytesPerSecond + " байт/с" : "без ограничения")
+                + (offline ? ", без сети" : "");
+        }
+    }
+
+    /**
+     * Запрос к хранилищу с обработкой отказа
+     */
+    private abstract static class Request {
+        final String name;
+        final int bytes;
+
+        Request(String name, int bytes) {
+            this.name = name;
+            this.bytes = bytes;
+        }
+
+        abstract void run();
+
+        abstract void fail(String error);
+    }
+
+    private final FileHandle root;
+    private final Conditions conditions;
+    private final Random random = new Random();
+    private final AsyncExecutor executor = new AsyncExecutor(1, "LocalFirebase");
+    private final JsonReader jsonReader = new JsonReader();
+
+    // Статистика запросов (изменяется только в потоке запросов)
+    private volatile int requestCount;
+    private volatile int failedCount;
+    private volatile long totalDelayMillis;
+
+    /**
+     * @param userId ID пользователя, который считается авторизованным
+     * @param userName Имя пользователя
+     * @param userEmail Email пользователя
+     * @param conditions Условия сети
+     */
+    public LocalFirebase(String userId, String userName, String userEmail, Conditions conditions) {
+        super(userId, userName, userEmail);
+        this.conditions = conditions;
+        root = Gdx.files.local(STORE_DIR);
+        restore();
+        Gdx.app.log("LocalFirebase", "Локальное хранилище " + root.path() + ", " + conditions);
+    }
+
+    /**
+     * Включает или выключает режим без сети
+     */
+    public void setOffline(boolean offline) {
+        conditions.offline = offline;
+    }
+
+    /**
+     * Загружает сохраненные разделы всех пользователей
+     */
+    private void restore() {
+        if (!root.isDirectory()) return;
+
+        for (FileHandle userDirectory : root.list()) {
+            if (!userDirectory.isDirectory()) continue;
+            for (FileHandle file : userDirectory.list(".json")) {
+                try {
+                    restoreSection(userDirectory.name(), file.nameWithoutExtension(),
+                        JsonFields.fromJson(jsonReader.parse(file)));
+                } catch (Exception e) {
+                    Gdx.app.error("LocalFirebase", "Не удалось прочитать " + file.path(), e);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void sectionChanged(String userId, String section, ObjectMap<String, Object> fields) {
+        JsonValue json = JsonFields.toJson(fields);
+
+        // Файл заменяется целиком, чтобы прерванная запись не портила раздел
+        FileHandle directory = root.child(userId);
+        FileHandle temp = directory.child(section + ".tmp");
+        temp.writeString(json.toJson(JsonWriter.OutputType.json), false, "UTF-8");
+        temp.moveTo(directory.child(section + ".json"));
+    }
+
+    @Override
+    public void getAchievements(final String userId, final AchievementsCallback callback) {
+        submit(new Request("getAchievements", 0) {
+            @Override
+            void run() {
+                LocalFirebase.super.getAchievements(userId, delayResponse(callback));
+            }
+
+            @Override
+            void fail(String error) {
+                callback.onError(error);
+            }
+        });
+    }
+
+    @Override
+    public void saveAchievements(final String userId, final ObjectMap<String, Object> achievements,
+                                 final CompletionCallback callback) {
+        submit(new Request("saveAchievements", achievements != null ? payloadSize(achievements) : 0) {
+            @Override
+            void run() {
+                LocalFirebase.super.saveAchievements(userId, achievements, callback);
+            }
+
+            @Override
+            void fail(String error) {
+                callback.onError(error);
+            }
+        });
+    }
+
+    @Override
+    public void patchUserData(final String userId, final ObjectMap<String, Object> updates,
+                              final CompletionCallback callback) {
+        submit(new Request("patchUserData", updates != null ? payloadSize(updates) : 0) {
+            @Override
+            void run() {
+                LocalFirebase.super.patchUserData(userId, updates, callback);
+            }
+
+            @Override
+            void fail(String error) {
+                callback.onError(error);
+            }
+        });
+    }
+
+    @Override
+    public void saveGameStatistics(final String userId, final ObjectMap<String, Object> statistics,
+                                   final CompletionCallback callback) {
+        submit(new Request("saveGameStatistics", statistics != null ? payloadSize(statistics) : 0) {
+            @Override
+            void run() {
+                LocalFirebase.super.saveGameStatistics(userId, statistics, callback);
+            }
+
+            @Override
+            void fail(String error) {
+                callback.onError(error);
+            }
+        });
+    }
+
+    @Override
+    public void getGameStatistics(final String userId, final AchievementsCallback callback) {
+        submit(new Request("getGameStatistics", 0) {
+            @Override
+            void run() {
+                LocalFirebase.super.getGameStatistics(userId, delayResponse(callback));
+            }
+
+            @Override
+            void fail(String error) {
+                callback.onError(error);
+            }
+        });
+    }
+
+    /**
+     * Ставит запрос в очередь соединения. Перед выполнением выдерживается задержка
+     * и время передачи запроса; затем запрос может быть отклонен как сетевой отказ.
+     */
+    private void submit(final Request request) {
+        executor.submit(new AsyncTask<Void>() {
+            @Override
+            public Void call() {
+                requestCount++;
+                sleep(latency() + transferTime(request.bytes));
+
+                if (conditions.offline) {
+                    failedCount++;
+                    request.fail("Network unavailable");
+                } else if (conditions.failureRate > 0 && random.nextFloat() < conditions.failureRate) {
+                    failedCount++;
+                    Gdx.app.log("LocalFirebase", "Имитация отказа: " + request.name);
+                    request.fail("Simulated network failure");
+                } else {
+                    request.run();
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Выдерживает время передачи ответа перед обратным вызовом
+     */
+    private AchievementsCallback delayResponse(final AchievementsCallback callback) {
+        return new AchievementsCallback() {
+            @Override
+            public void onAchievementsLoaded(ObjectMap<String, Object> data) {
+                sleep(transferTime(payloadSize(data)));
+                callback.onAchievementsLoaded(data);
+            }
+
+            @Override
+            public void onError(String error) {
+                callback.onError(error);
+            }
+        };
+    }
+
+    private long latency() {
+        long latency = conditions.latencyMillis;
+        if (conditions.latencyJitterMillis > 0) {
+            latency += random.nextInt(conditions.latencyJitterMillis + 1);
+        }
+        return latency;
+    }
+
+    private long transferTime(int bytes) {
+        return conditions.bytesPerSecond > 0 ? bytes * 1000L / conditions.bytesPerSecond : 0;
+    }
+
+    private void sleep(long millis) {
+        if (millis <= 0) return;
+        totalDelayMillis += millis;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public synchronized void logStats() {
+        super.logStats();
+        Gdx.app.log("LocalFirebase", "Запросов: " + requestCount + ", отказов: " + failedCount
+            + ", средняя задержка " + (requestCount > 0 ? totalDelayMillis / requestCount : 0) + " мс");
+    }
+
+    /**
+     * Дожидается выполнения запросов из очереди
+     */
+    @Override
+    public void dispose() {
+        executor.dispose();
+        logStats();
+    }
+}
@@ -0,0 +1,430 @@
+package com.badlogic.drop.firebase;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.OrderedMap;
+import com.badlogic.gdx.utils.Timer;
+
+/**
+ * Очередь записи поверх любой реализации {@link FirebaseInterface}.
+ *
+ * Все записи (saveAchievements, saveGameStatistics, patchUserData) имеют семантику updateChildren,
+ * поэтому очередь хранит их как значения полей по путям относительно узла пользователя.
+ * Повторная запись того же поля до отправки заменяет значение, и в очереди остается одна запись.
+ * Накопленные поля пользователя уходят одним частичным обновлением; одновременно выполняется
+ * не больше одного запроса.
+ *
+ * Неудачная запись возвращается в очередь и повторяется с экспоненциальной задержкой.
+ * Запрос без ответа дольше {@link #REQUEST_TIMEOUT} секунд считается неудачным; ответ,
+ * пришедший после этого, игнорируется.
+ * Очередь сохраняется в локальный файл при каждом изменении, поэтому неотправленные записи
+ * переживают перезапуск. Обратный вызов записи приходит, когда сервер ее подтвердил,
+ * или ошибкой, если очередь переполнена.
+ *
+ * Данные пользователя передаются исходной реализации без изменений. Результат чтения достижений
+ * и статистики дополняется полями этого пользователя, которые еще не подтверждены сервером,
+ * чтобы чтение не возвращало значения старше уже записанных.
+ */
+public class QueuedFirebase implements FirebaseInterface, Disposable {
+    private static final String QUEUE_FILE = "firebase-queue.json";
+
+    // Ограничение очереди: количество разных полей, ожидающих отправки
+    static final int MAX_PENDING_FIELDS = 1024;
+
+    // Задержка повтора после ошибки (секунды): удваивается до максимума
+    private static final float INITIAL_RETRY_DELAY = 1f;
+    private static final float MAX_RETRY_DELAY = 60f;
+
+    // Время ожидания ответа на запрос (секунды)
+    static final float REQUEST_TIMEOUT = 15f;
+
+    /**
+     * Поля одного пользователя, ожидающие отправки
+     */
+    private static final class Batch {
+        final OrderedMap<String, Object> fields = new OrderedMap<>();
+        final Array<CompletionCallback> callbacks = new Array<>();
+        // Время самого старого изменения (для задержки отправки)
+        long queuedAt = System.nanoTime();
+    }
+
+    private final FirebaseInterface delegate;
+    private final FileHandle file;
+
+    // Очередь по пользователям и запрос, который выполняется сейчас (все поля - под блокировкой)
+    private final OrderedMap<String, Batch> pending = new OrderedMap<>();
+    private String sendingUserId;
+    private Batch sending;
+    private float retryDelay;
+    private boolean disposed;
+
+    private final Timer.Task retryTask = new Timer.Task() {
+        @Override
+        public void run() {
+            drain();
+        }
+    };
+
+    // Статистика
+    private int writeCount;
+    private int collapsedCount;
+    private int requestCount;
+    private int retryCount;
+    private int rejectedCount;
+    private int drainedCount;
+    private long totalDrainNanos;
+    private long maxDrainNanos;
+
+    /**
+     * @param delegate Реализация, через которую отправляются запросы
+     */
+    public QueuedFirebase(FirebaseInterface delegate) {
+        this.delegate = delegate;
+        file = Gdx.files.local(QUEUE_FILE);
+        restore();
+        drain();
+    }
+
+    @Override
+    public boolean isUserSignedIn() {
+        return delegate.isUserSignedIn();
+    }
+
+    @Override
+    public String getCurrentUserId() {
+        return delegate.getCurrentUserId();
+    }
+
+    @Override
+    public String getCurrentUserName() {
+        return delegate.getCurrentUserName();
+    }
+
+    @Override
+    public String getCurrentUserEmail() {
+        return delegate.getCurrentUserEmail();
+    }
+
+    @Override
+    public void getAchievements(String userId, AchievementsCallback callback) {
+        delegate.getAchievements(userId, withPendingFields(userId, ACHIEVEMENTS_PATH + "/", callback));
+    }
+
+    @Override
+    public void getGameStatistics(String userId, AchievementsCallback callback) {
+        delegate.getGameStatistics(userId, withPendingFields(userId, STATISTICS_PATH + "/", callback));
+    }
+
+    /**
+     * Дополняет прочитанный раздел неподтвержденными полями пользователя
+     * @param prefix Путь раздела; ключи результата задаются без него
+     */
+    private AchievementsCallback withPendingFields(final String userId, final String prefix,
+                                                   final AchievementsCallback callback) {
+        return new AchievementsCallback() {
+            @Override
+            public void onAchievementsLoaded(ObjectMap<String, Object> fields) {
+                ObjectMap<String, Object> merged = new ObjectMap<>();
+                if (fields != null) merged.putAll(fields);
+                synchronized (QueuedFirebase.this) {
+                    // Сначала выполняющийся запрос, затем более новые поля из очереди
+                    if (sending != null && sendingUserId.equals(userId)) {
+                        putSection(merged, sending.fields, prefix);
+                    }
+                    Batch batch = pending.get(userId);
+                    if (batch != null) {
+                        putSection(merged, batch.fields, prefix);
+                    }
+                }
+                callback.onAchievementsLoaded(merged);
+            }
+
+            @Override
+            public void onError(String error) {
+                callback.onError(error);
+            }
+        };
+    }
+
+    private static void putSection(ObjectMap<String, Object> target, OrderedMap<String, Object> fields, String prefix) {
+        for (ObjectMap.Entry<String, Object> entry : fields.entries()) {
+            if (entry.key.startsWith(prefix)) {
+                target.put(entry.key.substring(prefix.length()), entry.value);
+            }
+        }
+    }
+
+    @Override
+    public void saveAchievements(String userId, ObjectMap<String, Object> achievements, CompletionCallback callback) {
+        enqueue(userId, ACHIEVEMENTS_PATH + "/", achievements, callback);
+    }
+
+    @Override
+    public void saveGameStatistics(String userId, ObjectMap<String, Object> statistics, CompletionCallback callback) {
+        enqueue(userId, STATISTICS_PATH + "/", statistics, callback);
+    }
+
+    @Override
+    public void patchUserData(String userId, ObjectMap<String, Object> updates, CompletionCallback callback) {
+        enqueue(userId, "", updates, callback);
+    }
+
+    /**
+     * Добавляет поля в очередь пользователя
+     * @param prefix Раздел, к которому относятся ключи (пустая строка - ключи уже являются путями)
+     */
+    private void enqueue(String userId, String prefix, ObjectMap<String, Object> fields, CompletionCallback callback) {
+        if (userId == null) {
+            callback.onError("User ID cannot be null");
+            return;
+        }
+        if (fields == null || fields.size == 0) {
+            callback.onSuccess();
+            return;
+        }
+
+        synchronized (this) {
+            if (disposed) {
+                callback.onError("Write queue is closed");
+                return;
+            }
+            Batch batch = pending.get(userId);
+
+            // Запись принимается целиком или отклоняется, если новые поля не помещаются
+            int newFields = 0;
+            for (ObjectMap.Entry<String, Object> entry : fields.entries()) {
+                if (batch == null || !batch.fields.containsKey(prefix + entry.key)) newFields++;
+            }
+            if (pendingFieldCount() + newFields > MAX_PENDING_FIELDS) {
+                rejectedCount++;
+                Gdx.app.error("QueuedFirebase", "Очередь записи переполнена, запись отклонена: " + fields.size + " полей");
+                callback.onError("Write queue is full");
+                return;
+            }
+
+            if (batch == null) {
+                batch = new Batch();
+                pending.put(userId, batch);
+            }
+            for (ObjectMap.Entry<String, Object> entry : fields.entries()) {
+                String path = prefix + entry.key;
+                if (batch.fields.containsKey(path)) collapsedCount++;
+                batch.fields.put(path, entry.value);
+            }
+            batch.callbacks.add(callback);
+            writeCount++;
+            persist();
+        }
+        drain();
+    }
+
+    /**
+     * Отправляет очередь следующего пользователя, если не выполняется другой запрос
+     * и не ожидается повтор после ошибки
+     */
+    private void drain() {
+        final String userId;
+        final ObjectMap<String, Object> updates;
+        final Batch request;
+        synchronized (this) {
+            if (disposed || sending != null || retryTask.isScheduled() || pending.size == 0) return;
+
+            userId = pending.orderedKeys().first();
+            sending = pending.remove(userId);
+            sendingUserId = userId;
+            request = sending;
+            updates = new ObjectMap<>(sending.fields);
+            requestCount++;
+        }
+
+        final Timer.Task timeout = new Timer.Task() {
+            @Override
+            public void run() {
+                onFailed(request, "Request timed out after " + REQUEST_TIMEOUT + " s");
+            }
+        };
+        Timer.schedule(timeout, REQUEST_TIMEOUT);
+
+        delegate.patchUserData(userId, updates, new CompletionCallback() {
+            @Override
+            public void onSuccess() {
+                timeout.cancel();
+                onSent(request);
+            }
+
+            @Override
+            public void onError(String error) {
+                timeout.cancel();
+                onFailed(request, error);
+            }
+        });
+    }
+
+    /**
+     * @param request Запрос, на который пришел ответ; ответ на запрос, уже завершенный
+     *                по таймауту, игнорируется (его поля снова в очереди)
+     */
+    private void onSent(Batch request) {
+        Array<CompletionCallback> callbacks;
+        synchronized (this) {
+            if (request != sending) return;
+            long drainNanos = System.nanoTime() - sending.queuedAt;
+            drainedCount++;
+            totalDrainNanos += drainNanos;
+            maxDrainNanos = Math.max(maxDrainNanos, drainNanos);
+
+            callbacks = sending.callbacks;
+            sending = null;
+            sendingUserId = null;
+            retryDelay = 0;
+            persist();
+        }
+
+        for (int i = 0; i < callbacks.size; i++) {
+            callbacks.get(i).onSuccess();
+        }
+        drain();
+    }
+
+    private void onFailed(Batch request, String error) {
+        synchronized (this) {
+            if (request != sending) return;
+            retryCount++;
+
+            // Возвращаем поля в очередь; значения, записанные во время запроса, новее
+            Batch newer = pending.get(sendingUserId);
+            if (newer == null) {
+                pending.put(sendingUserId, sending);
+            } else {
+                for (ObjectMap.Entry<String, Object> entry : sending.fields.entries()) {
+                    if (!newer.fields.containsKey(entry.key)) {
+                        newer.fields.put(entry.key, entry.value);
+                    }
+                }
+                newer.callbacks.addAll(sending.callbacks);
+                newer.queuedAt = Math.min(newer.queuedAt, sending.queuedAt);
+            }
+            sending = null;
+            sendingUserId = null;
+
+            retryDelay = retryDelay == 0 ? INITIAL_RETRY_DELAY : Math.min(retryDelay * 2, MAX_RETRY_DELAY);
+            Gdx.app.error("QueuedFirebase", "Ошибка записи: " + error + ", повтор через " + retryDelay + " с, в очереди "
+                + pendingFieldCount() + " полей");
+            if (!disposed) {
+                Timer.schedule(retryTask, retryDelay);
+            }
+        }
+    }
+
+    private int pendingFieldCount() {
+        int count = 0;
+        for (Batch batch : pending.values()) {
+            count += batch.fields.size;
+        }
+        return count;
+    }
+
+    /**
+     * Сохраняет очередь вместе с выполняющимся запросом: если приложение закроется
+     * до подтверждения, запрос будет отправлен снова при следующем запуске
+     */
+    private void persist() {
+        // После закрытия файл принадлежит следующей очереди (или следующему запуску)
+        if (disposed) return;
+        if (pending.size == 0 && sending == null) {
+            file.delete();
+            return;
+        }
+
+        JsonValue json = new JsonValue(JsonValue.ValueType.object);
+        if (sending != null) {
+            ObjectMap<String, Object> fields = new ObjectMap<>(sending.fields);
+            Batch newer = pending.get(sendingUserId);
+            if (newer != null) fields.putAll(newer.fields);
+            json.addChild(sendingUserId, JsonFields.toJson(fields));
+        }
+        for (ObjectMap.Entry<String, Batch> entry : pending.entries()) {
+            if (entry.key.equals(sendingUserId)) continue;
+            json.addChild(entry.key, JsonFields.toJson(entry.value.fields));
+        }
+
+        try {
+            FileHandle temp = file.sibling(QUEUE_FILE + ".tmp");
+            temp.writeString(json.toJson(JsonWriter.OutputType.json), false, "UTF-8");
+            temp.moveTo(file);
+        } catch (Exception e) {
+            Gdx.app.error("QueuedFirebase", "Не удалось сохранить очередь записи", e);
+        }
+    }
+
+    /**
+     * Загружает записи, не отправленные до закрытия приложения
+     */
+    private void restore() {
+        if (!file.exists()) return;
+
+        try {
+            int count = 0;
+            for (JsonValue user = new JsonReader().parse(file).child; user != null; user = user.next) {
+                Batch batch = new Batch();
+                batch.fields.putAll(JsonFields.fromJson(user));
+                pending.put(user.name, batch);
+                count += batch.fields.size;
+            }
+            Gdx.app.log("QueuedFirebase", "Восстановлена очередь записи: " + count + " полей, пользователей " + pending.size);
+        } catch (Exception e) {
+            Gdx.app.error("QueuedFirebase", "Очередь записи повреждена и удалена", e);
+            pending.clear();
+            file.delete();
+        }
+    }
+
+    /**
+     * Количество полей, ожидающих подтверждения сервера (в очереди и в выполняющемся запросе)
+     */
+    public synchronized int getQueueDepth() {
+        return pendingFieldCount() + (sending != null ? sending.fields.size : 0);
+    }
+
+    /**
+     * Средняя задержка отправки (от первого изменения до подтверждения сервера), мс
+     */
+    public synchronized long getAverageDrainMillis() {
+        return drainedCount > 0 ? totalDrainNanos / drainedCount / 1000000 : 0;
+    }
+
+    /**
+     * Максимальная задержка отправки, мс
+     */
+    public synchronized long getMaxDrainMillis() {
+        return maxDrainNanos / 1000000;
+    }
+
+    /**
+     * Выводит в лог статистику очереди
+     */
+    public synchronized void logStats() {
+        Gdx.app.log("QueuedFirebase", "Записей: " + writeCount + ", объединено полей: " + collapsedCount
+            + ", запросов: " + requestCount + ", повторов: " + retryCount + ", отклонено: " + rejectedCount
+            + ", в очереди: " + getQueueDepth() + " полей, задержка отправки средняя " + getAverageDrainMillis()
+            + " мс, максимальная " + getMaxDrainMillis() + " мс");
+    }
+
+    /**
+     * Останавливает повторы. Неподтвержденные записи остаются в файле очереди
+     * и отправляются при следующем запуске (повторная отправка безопасна:
+     * записываются те же значения полей).
+     */
+    @Override
+    public synchronized void dispose() {
+        disposed = true;
+        retryTask.cancel();
+        logStats();
+    }
+}
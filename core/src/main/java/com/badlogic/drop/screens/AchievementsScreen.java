@@ -53,9 +53,8 @@ public class AchievementsScreen implements Screen {
         camera = new OrthographicCamera();
         camera.setToOrtho(false, GAME_WIDTH, GAME_HEIGHT);
         
-        // Загружаем фон
-        backgroundImage = new Texture("background.png");
-        backgroundImage.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        // Фон общий для всех экранов: берем его из реестра ресурсов игры
+        backgroundImage = game.assets.acquireTexture(SpaceCourierGame.BACKGROUND_TEXTURE);
         
         // Создаем и настраиваем сцену с вертикальной ориентацией
         stage = new Stage(new FitViewport(GAME_WIDTH, GAME_HEIGHT, camera));
@@ -205,8 +204,8 @@ public class AchievementsScreen implements Screen {
         backButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                // Пересоздаем FontManager перед переходом обратно в главное меню
-                game.recreateFontManager();
+                // Сбрасываем масштаб и цвет шрифтов перед переходом обратно в главное меню
+                game.fontManager.resetFontStyles();
                 game.setScreen(new MainMenuScreen(game));
                 dispose();
             }
@@ -278,6 +277,9 @@ public class AchievementsScreen implements Screen {
             skin.dispose();
         }
         
-        backgroundImage.dispose();
+        if (backgroundImage != null) {
+            game.assets.release(SpaceCourierGame.BACKGROUND_TEXTURE);
+            backgroundImage = null;
+        }
     }
 } 
\ No newline at end of file
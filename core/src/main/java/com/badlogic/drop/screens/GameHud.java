@@ -0,0 +1,218 @@
+package com.badlogic.drop.screens;
+
+import com.badlogic.drop.SpaceCourierGame;
+import com.badlogic.drop.systems.DifficultySystem;
+import com.badlogic.drop.world.GameWorld;
+import com.badlogic.drop.world.PowerupType;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Align;
+
+/**
+ * Игровой интерфейс поверх игры: счет, уровень, сложность, топливо, жизни,
+ * активные бонусы и здоровье босса.
+ *
+ * Отрисовка разделена на два слоя: {@link #drawSprites} рисует иконки из атласа игры,
+ * {@link #drawText} - весь текст одним шрифтом. Так батч не переключает текстуру
+ * между иконками и надписями.
+ *
+ * Тексты хранятся в готовых {@link GlyphLayout} и пересобираются только при изменении
+ * отображаемого значения. Числа записываются в переиспользуемые буферы без форматирования
+ * строк, поэтому в обычном кадре интерфейс не выделяет память.
+ */
+public class GameHud {
+    private static final float GAME_HEIGHT = SpaceCourierGame.GAME_HEIGHT;
+    private static final float GAME_WIDTH = SpaceCourierGame.GAME_WIDTH;
+
+    private static final PowerupType[] POWERUP_TYPES = PowerupType.values();
+    private static final float POWERUP_ICON_SIZE = 40;
+
+    // Размеры и положение индикаторов
+    private static final float ICON_SIZE = 35;       // Иконка топлива и сердечки
+    private static final float HEART_SPACING = 5;
+    private static final float LEFT_X = 20;
+    private static final float FUEL_Y = 40;
+    private static final float HEARTS_Y = 85;        // Над индикатором топлива
+
+    // Цвета процентов: зеленый -> желтый -> красный
+    private static final Color COLOR_HIGH = new Color(0.2f, 0.8f, 0.2f, 1.0f);
+    private static final Color COLOR_MEDIUM = new Color(0.8f, 0.8f, 0.2f, 1.0f);
+    private static final Color COLOR_LOW = new Color(0.8f, 0.2f, 0.2f, 1.0f);
+
+    /**
+     * Текст с числовым значением: префикс, число и суффикс.
+     * Раскладка глифов пересобирается только при изменении числа.
+     */
+    private static class CachedText {
+        private final String prefix;
+        private final String suffix;
+        private final StringBuilder buffer = new StringBuilder(32);
+        private final GlyphLayout layout = new GlyphLayout();
+        private int value;
+        private boolean valid;
+
+        CachedText(String prefix, String suffix) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        /**
+         * Обновляет текст целым числом
+         * @return раскладка текста
+         */
+        GlyphLayout set(BitmapFont font, int newValue, Color color) {
+            if (valid && value == newValue) return layout;
+            value = newValue;
+            valid = true;
+
+            buffer.setLength(0);
+            buffer.append(prefix).append(newValue).append(suffix);
+            layout.setText(font, buffer, color, 0, Align.left, false);
+            return layout;
+        }
+
+        /**
+         * Обновляет текст числом с одним знаком после точки (значение передается в десятых)
+         * @return раскладка текста
+         */
+        GlyphLayout setTenths(BitmapFont font, int tenths, Color color) {
+            if (valid && value == tenths) return layout;
+            value = tenths;
+            valid = true;
+
+            buffer.setLength(0);
+            buffer.append(prefix).append(tenths / 10).append('.').append(tenths % 10).append(suffix);
+            layout.setText(font, buffer, color, 0, Align.left, false);
+            return layout;
+        }
+
+        void invalidate() {
+            valid = false;
+        }
+    }
+
+    private final BitmapFont font;
+    private final TextureRegion fuelIcon;
+    private final TextureRegion heartIcon;
+    // Иконки бонусов по типу (индекс - PowerupType.ordinal())
+    private final TextureRegion[] powerupIcons;
+
+    private final CachedText scoreText = new CachedText("Score: ", "");
+    private final CachedText levelText = new CachedText("Level: ", "");
+    private final CachedText difficultyText = new CachedText("Difficulty: ", "");
+    private final CachedText nextLevelText = new CachedText("Next level: ", "%");
+    private final CachedText fuelText = new CachedText("", "%");
+    private final CachedText bossHealthText = new CachedText("BOSS: ", "%");
+
+    /**
+     * Создает игровой интерфейс
+     * @param font Шрифт текста
+     * @param fuelIcon Иконка топлива
+     * @param heartIcon Иконка жизни
+     * @param powerupIcons Иконки бонусов по порядку {@link PowerupType}
+     */
+    public GameHud(BitmapFont font, TextureRegion fuelIcon, TextureRegion heartIcon, TextureRegion[] powerupIcons) {
+        this.font = font;
+        this.fuelIcon = fuelIcon;
+        this.heartIcon = heartIcon;
+        this.powerupIcons = powerupIcons;
+    }
+
+    /**
+     * Сбрасывает все закэшированные тексты (например, после смены шрифта)
+     */
+    public void invalidate() {
+        scoreText.invalidate();
+        levelText.invalidate();
+        difficultyText.invalidate();
+        nextLevelText.invalidate();
+        fuelText.invalidate();
+        bossHealthText.invalidate();
+    }
+
+    /**
+     * Отрисовывает иконки интерфейса: топливо, активные бонусы и жизни
+     */
+    public void drawSprites(SpriteBatch batch, GameWorld world) {
+        batch.draw(fuelIcon, LEFT_X, FUEL_Y, ICON_SIZE, ICON_SIZE);
+
+        // Активные бонусы над сердечками: проходим по таблице слотов один раз
+        float powerupX = LEFT_X;
+        float powerupY = HEARTS_Y + ICON_SIZE + 10;
+        for (int i = 0; i < POWERUP_TYPES.length; i++) {
+            PowerupType type = POWERUP_TYPES[i];
+            if (!world.isPowerupActive(type)) continue;
+
+            // Мерцание иконки перед окончанием действия
+            batch.setColor(1, 1, 1, world.getPowerupBlinkAlpha(type));
+            batch.draw(powerupIcons[i], powerupX, powerupY, POWERUP_ICON_SIZE, POWERUP_ICON_SIZE);
+            powerupX += POWERUP_ICON_SIZE + 10;
+        }
+
+        // Сердечки: полные для имеющихся жизней, прозрачные для потерянных
+        int lives = world.getLives();
+        for (int i = 0; i < GameWorld.MAX_LIVES; i++) {
+            batch.setColor(1, 1, 1, i < lives ? 1 : 0.3f);
+            batch.draw(heartIcon, LEFT_X + i * (ICON_SIZE + HEART_SPACING), HEARTS_Y, ICON_SIZE, ICON_SIZE);
+        }
+
+        batch.setColor(1, 1, 1, 1);
+    }
+
+    /**
+     * Отрисовывает надписи интерфейса: счет, уровень, сложность, процент топлива
+     * и здоровье босса, если он активен
+     */
+    public void drawText(SpriteBatch batch, GameWorld world) {
+        int score = world.getScore();
+        DifficultySystem difficultySystem = world.getDifficultySystem();
+        int currentLevel = difficultySystem.getCurrentLevel();
+
+        // Счет, уровень, сложность и прогресс до следующего уровня
+        font.draw(batch, scoreText.set(font, score, Color.WHITE), LEFT_X, GAME_HEIGHT - 20);
+        font.draw(batch, levelText.set(font, currentLevel, Color.WHITE), LEFT_X, GAME_HEIGHT - 60);
+
+        // Сложность с одним знаком после точки (от 1.0 до 15.0)
+        int difficultyTenths = Math.round(difficultySystem.getDifficulty() * 10);
+        font.draw(batch, difficultyText.setTenths(font, difficultyTenths, Color.WHITE), LEFT_X, GAME_HEIGHT - 90);
+        font.draw(batch, nextLevelText.set(font, getProgressToNextLevel(difficultySystem, score), Color.WHITE),
+            LEFT_X, GAME_HEIGHT - 120);
+
+        // Процент топлива справа от иконки в нижнем левом углу
+        int fuelPercent = (int) ((world.getFuel() / GameWorld.MAX_FUEL) * 100);
+        font.draw(batch, fuelText.set(font, fuelPercent, colorForPercent(fuelPercent)),
+            LEFT_X + ICON_SIZE + 10, FUEL_Y + ICON_SIZE / 2 + 5);
+
+        // Здоровье босса по центру верхней части экрана
+        if (world.isBossActive()) {
+            int healthPercent = (int) ((float) world.getBossHealth() / GameWorld.BOSS_HEALTH_MAX * 100);
+            GlyphLayout layout = bossHealthText.set(font, healthPercent, colorForPercent(healthPercent));
+            font.draw(batch, layout, GAME_WIDTH / 2 - layout.width / 2, GAME_HEIGHT - 20);
+        }
+    }
+
+    /**
+     * Вычисляет прогресс до следующего уровня в процентах
+     */
+    private static int getProgressToNextLevel(DifficultySystem difficultySystem, int score) {
+        int currentLevel = difficultySystem.getCurrentLevel();
+        int nextLevelScore = difficultySystem.getScoreForNextLevel();
+
+        if (currentLevel > 1) {
+            int prevLevelScore = difficultySystem.getLevelThreshold(currentLevel - 1);
+            float progress = (float) (score - prevLevelScore) / (nextLevelScore - prevLevelScore);
+            return (int) (progress * 100);
+        }
+        float progress = (float) score / nextLevelScore;
+        return (int) (progress * 100);
+    }
+
+    private static Color colorForPercent(int percent) {
+        if (percent > 60) return COLOR_HIGH;
+        if (percent > 30) return COLOR_MEDIUM;
+        return COLOR_LOW;
+    }
+}
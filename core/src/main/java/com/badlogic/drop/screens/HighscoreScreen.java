@@ -74,9 +74,8 @@ public class HighscoreScreen implements Screen {
         camera = new OrthographicCamera();
         camera.setToOrtho(false, GAME_WIDTH, GAME_HEIGHT);
         
-        // Загружаем фон
-        backgroundImage = new Texture("background.png");
-        backgroundImage.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        // Фон общий для всех экранов: берем его из реестра ресурсов игры
+        backgroundImage = game.assets.acquireTexture(SpaceCourierGame.BACKGROUND_TEXTURE);
         
         // Создаем сцену
         stage = new Stage(new FitViewport(GAME_WIDTH, GAME_HEIGHT, camera));
@@ -351,6 +350,9 @@ public class HighscoreScreen implements Screen {
         if (skin != null) {
             skin.dispose();
         }
-        backgroundImage.dispose();
+        if (backgroundImage != null) {
+            game.assets.release(SpaceCourierGame.BACKGROUND_TEXTURE);
+            backgroundImage = null;
+        }
     }
 } 
\ No newline at end of file
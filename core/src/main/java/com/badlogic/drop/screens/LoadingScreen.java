@@ -0,0 +1,111 @@
+package com.badlogic.drop.screens;
+
+import com.badlogic.drop.SpaceCourierGame;
+import com.badlogic.drop.util.AsyncLoader;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.utils.ScreenUtils;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+
+/**
+ * Экран загрузки при запуске игры.
+ * Пока шрифты растеризуются на пуле потоков, а текстуры и звуки декодируются в фоновом
+ * потоке реестра ресурсов, экран показывает полосу прогресса. Каждый кадр загрузке
+ * выделяется ограниченное время на загрузку готовых данных в GPU, поэтому экран не замирает.
+ *
+ * Шрифты на этом экране еще не готовы, поэтому он рисует только фигуры.
+ */
+public class LoadingScreen implements Screen {
+    private static final float GAME_WIDTH = SpaceCourierGame.GAME_WIDTH;
+    private static final float GAME_HEIGHT = SpaceCourierGame.GAME_HEIGHT;
+
+    // Время кадра на загрузку в GPU (мс), делится между реестром ресурсов и шрифтами
+    private static final int UPLOAD_BUDGET_MILLIS = 8;
+
+    // Размеры полосы прогресса
+    private static final float BAR_WIDTH = 480;
+    private static final float BAR_HEIGHT = 24;
+    private static final float BAR_BORDER = 3;
+
+    private final SpaceCourierGame game;
+    private final AsyncLoader loader;
+    private final OrthographicCamera camera;
+    private final FitViewport viewport;
+    private final ShapeRenderer shapeRenderer;
+    private boolean finished;
+
+    /**
+     * @param game Игра
+     * @param loader Загрузчик с уже добавленными задачами
+     */
+    public LoadingScreen(SpaceCourierGame game, AsyncLoader loader) {
+        this.game = game;
+        this.loader = loader;
+        camera = new OrthographicCamera();
+        viewport = new FitViewport(GAME_WIDTH, GAME_HEIGHT, camera);
+        viewport.apply(true);
+        shapeRenderer = new ShapeRenderer();
+    }
+
+    @Override
+    public void show() {
+    }
+
+    @Override
+    public void render(float delta) {
+        if (finished) return;
+
+        // Продолжаем загрузку: каждый загрузчик получает свою долю кадра
+        boolean assetsDone = game.assets.update(UPLOAD_BUDGET_MILLIS / 2);
+        boolean fontsDone = loader.update(UPLOAD_BUDGET_MILLIS / 2);
+        float progress = (game.assets.getProgress() + loader.getProgress()) / 2;
+
+        // Тот же цвет, что и у главного меню, чтобы переход был незаметным
+        ScreenUtils.clear(0.05f, 0.05f, 0.2f, 1);
+
+        camera.update();
+        shapeRenderer.setProjectionMatrix(camera.combined);
+        float barX = (GAME_WIDTH - BAR_WIDTH) / 2;
+        float barY = GAME_HEIGHT / 2 - BAR_HEIGHT / 2;
+
+        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
+        // Рамка и фон полосы
+        shapeRenderer.setColor(0.3f, 0.5f, 0.9f, 1);
+        shapeRenderer.rect(barX - BAR_BORDER, barY - BAR_BORDER, BAR_WIDTH + BAR_BORDER * 2, BAR_HEIGHT + BAR_BORDER * 2);
+        shapeRenderer.setColor(0.02f, 0.02f, 0.08f, 1);
+        shapeRenderer.rect(barX, barY, BAR_WIDTH, BAR_HEIGHT);
+        // Заполненная часть
+        shapeRenderer.setColor(0.4f, 0.8f, 1.0f, 1);
+        shapeRenderer.rect(barX, barY, BAR_WIDTH * progress, BAR_HEIGHT);
+        shapeRenderer.end();
+
+        if (assetsDone && fontsDone) {
+            finished = true;
+            game.onLoadingFinished();
+            dispose();
+        }
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        viewport.update(width, height, true);
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void hide() {
+    }
+
+    @Override
+    public void dispose() {
+        shapeRenderer.dispose();
+    }
+}
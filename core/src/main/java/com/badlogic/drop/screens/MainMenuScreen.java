@@ -30,6 +30,9 @@ public class MainMenuScreen implements Screen {
     // Используем виртуальное разрешение, которое будет масштабироваться
     private static final float GAME_WIDTH = 720; // Половина ширины S24 Ultra для улучшения производительности
     private static final float GAME_HEIGHT = 1560; // Масштабированная высота с сохранением пропорций
+
+    // Крупный корабль меню рисуется из исходной картинки, а не из уменьшенной в атласе
+    private static final String SHIP_TEXTURE = "ship.png";
     
     private final SpaceCourierGame game;
     private OrthographicCamera camera;
@@ -53,13 +56,11 @@ public class MainMenuScreen implements Screen {
         camera = new OrthographicCamera();
         camera.setToOrtho(false, GAME_WIDTH, GAME_HEIGHT);
         
-        // Загружаем фон
-        backgroundImage = new Texture("background.png");
-        backgroundImage.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        // Фон общий для всех экранов: берем его из реестра ресурсов игры
+        backgroundImage = game.assets.acquireTexture(SpaceCourierGame.BACKGROUND_TEXTURE);
         
         // Загружаем изображение корабля
-        shipImage = new Texture("ship.png");
-        shipImage.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        shipImage = game.assets.acquireTexture(SHIP_TEXTURE);
         
         // Создаем и настраиваем сцену с вертикальной ориентацией
         stage = new Stage(new FitViewport(GAME_WIDTH, GAME_HEIGHT, camera));
@@ -163,7 +164,8 @@ public class MainMenuScreen implements Screen {
         playButton.addListener(new ClickListener() {
             @Override
             public void clicked(InputEvent event, float x, float y) {
-                game.setScreen(new GameScreen(game));
+                game.beginTransition("Время до начала игры");
+                game.showGameScreen();
                 dispose();
             }
         });
@@ -291,6 +293,9 @@ public class MainMenuScreen implements Screen {
         // Отрисовываем UI
         stage.act(Math.min(Gdx.graphics.getDeltaTime(), 1/30f));
         stage.draw();
+
+        // Завершаем замер времени запуска, если он идет
+        game.reportScreenReady();
     }
 
     @Override
@@ -325,8 +330,14 @@ public class MainMenuScreen implements Screen {
     public void dispose() {
         // Освобождаем ресурсы
         stage.dispose();
-        backgroundImage.dispose();
-        shipImage.dispose();
+        if (backgroundImage != null) {
+            game.assets.release(SpaceCourierGame.BACKGROUND_TEXTURE);
+            backgroundImage = null;
+        }
+        if (shipImage != null) {
+            game.assets.release(SHIP_TEXTURE);
+            shipImage = null;
+        }
         
         if (skin != null) {
             // Перед освобождением скина, удаляем из него шрифты, чтобы они не были удалены
@@ -91,9 +91,8 @@ public class OptionsScreen implements Screen {
         camera = new OrthographicCamera();
         camera.setToOrtho(false, GAME_WIDTH, GAME_HEIGHT);
         
-        // Загружаем фон
-        backgroundImage = new Texture("background.png");
-        backgroundImage.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        // Фон общий для всех экранов: берем его из реестра ресурсов игры
+        backgroundImage = game.assets.acquireTexture(SpaceCourierGame.BACKGROUND_TEXTURE);
         
         // Создаем и настраиваем сцену с вертикальной ориентацией
         stage = new Stage(new FitViewport(GAME_WIDTH, GAME_HEIGHT, camera));
@@ -356,9 +355,10 @@ public class OptionsScreen implements Screen {
                 if (game.soundManager.isSfxEnabled() && sfxVolumeSlider.isDragging()) {
                     // Получаем звук из GameScreen (если это возможно)
                     try {
-                        Sound testSound = Gdx.audio.newSound(Gdx.files.internal("collect.wav"));
+                        // Звук общий и удерживается игрой, поэтому не загружается заново при каждом движении
+                        Sound testSound = game.assets.acquire(SpaceCourierGame.COLLECT_SOUND, Sound.class);
                         game.soundManager.playSound(testSound, 1.0f, 1.0f, 0.0f);
-                        testSound.dispose(); // Освобождаем ресурс после использования
+                        game.assets.release(SpaceCourierGame.COLLECT_SOUND);
                     } catch (Exception e) {
                         Gdx.app.log("OptionsScreen", "Не удалось воспроизвести тестовый звук");
                     }
@@ -430,7 +430,10 @@ public class OptionsScreen implements Screen {
     @Override
     public void dispose() {
         stage.dispose();
-        backgroundImage.dispose();
+        if (backgroundImage != null) {
+            game.assets.release(SpaceCourierGame.BACKGROUND_TEXTURE);
+            backgroundImage = null;
+        }
         
         if (skin != null) {
             // Удаляем шрифты из скина, чтобы они не были удалены
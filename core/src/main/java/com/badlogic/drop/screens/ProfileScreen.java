@@ -86,9 +86,8 @@ public class ProfileScreen implements Screen, GoogleAuthListener {
         camera = new OrthographicCamera();
         camera.setToOrtho(false, BASE_WIDTH, BASE_HEIGHT);
         
-        // Загружаем фон
-        backgroundImage = new Texture("background.png");
-        backgroundImage.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        // Фон общий для всех экранов: берем его из реестра ресурсов игры
+        backgroundImage = game.assets.acquireTexture(SpaceCourierGame.BACKGROUND_TEXTURE);
         
         // Создаем сцену с адаптивным viewport
         stage = new Stage(new ExtendViewport(BASE_WIDTH, BASE_HEIGHT, camera));
@@ -541,9 +540,9 @@ public class ProfileScreen implements Screen, GoogleAuthListener {
         
         game.batch.end();
         
-        // Проверяем, не началась ли загрузка достижений, и запускаем опрос
-        if (game.achievementSystem != null && game.achievementSystem.isLoading() && !isPolling) {
-            startLoadingPolling();
+        // Проверяем, не началась ли загрузка достижений, и ждем ее окончания
+        if (game.achievementSystem != null && game.achievementSystem.isLoading() && !waitingForLoad) {
+            waitForAchievements();
         }
         
         // Отрисовываем UI
@@ -606,15 +605,19 @@ public class ProfileScreen implements Screen, GoogleAuthListener {
 
     @Override
     public void dispose() {
-        // Останавливаем опрос загрузки
-        isPolling = false;
+        // Результат загрузки больше не нужен
+        waitingForLoad = false;
+        disposed = true;
         
         // Отписываемся от событий
         game.removeGoogleAuthListener(this);
         
         // Освобождаем ресурсы
         stage.dispose();
-        backgroundImage.dispose();
+        if (backgroundImage != null) {
+            game.assets.release(SpaceCourierGame.BACKGROUND_TEXTURE);
+            backgroundImage = null;
+        }
         
         if (skin != null) {
             // Удаляем шрифты из скина для предотвращения их освобождения
@@ -643,53 +646,37 @@ public class ProfileScreen implements Screen, GoogleAuthListener {
                 if (game.achievementSystem != null) {
                     updateAchievementsList();
                     
-                    // Запускаем периодическое обновление, если достижения загружаются
+                    // Обновляем список еще раз, когда достижения загрузятся
                     if (game.achievementSystem.isLoading()) {
-                        startLoadingPolling();
+                        waitForAchievements();
                     }
                 }
             }
         });
     }
     
-    // Периодическое обновление при загрузке
-    private boolean isPolling = false;
+    // Ожидание окончания загрузки достижений
+    private boolean waitingForLoad = false;
+    private boolean disposed = false;
     
     /**
-     * Запускает периодическое обновление списка достижений до окончания загрузки
+     * Обновляет список достижений, как только закончится их загрузка
      */
-    private void startLoadingPolling() {
-        if (isPolling) return;
+    private void waitForAchievements() {
+        if (waitingForLoad) return;
         
-        isPolling = true;
+        waitingForLoad = true;
         
-        new Thread(new Runnable() {
+        // Будущее завершается в потоке отрисовки, поэтому интерфейс можно обновлять сразу
+        game.achievementSystem.whenLoaded().thenRun(new Runnable() {
             @Override
             public void run() {
-                try {
-                    // Проверяем состояние загрузки каждые 500 мс
-                    while (isPolling && game.achievementSystem != null && game.achievementSystem.isLoading()) {
-                        Thread.sleep(500);
-                    }
-                    
-                    // Когда загрузка завершена, обновляем UI в главном потоке
-                    if (isPolling) {
-                        Gdx.app.postRunnable(new Runnable() {
-                            @Override
-                            public void run() {
-                                if (game.achievementSystem != null) {
-                                    updateAchievementsList();
-                                }
-                            }
-                        });
-                    }
-                } catch (InterruptedException e) {
-                    Gdx.app.error("ProfileScreen", "Ошибка при ожидании загрузки достижений", e);
-                } finally {
-                    isPolling = false;
+                waitingForLoad = false;
+                if (!disposed && game.achievementSystem != null) {
+                    updateAchievementsList();
                 }
             }
-        }).start();
+        });
     }
     
     @Override
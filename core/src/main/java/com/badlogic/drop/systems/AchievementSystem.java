@@ -5,14 +5,30 @@ import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.Timer;
 import com.badlogic.drop.SpaceCourierGame;
+import com.badlogic.drop.firebase.FirebaseAsync;
 import com.badlogic.drop.firebase.FirebaseInterface;
+import com.badlogic.drop.world.GameEvent;
+import com.badlogic.drop.world.GameEventBus;
+import com.badlogic.drop.world.GameEventListener;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 
 /**
  * Система достижений для игры Space Courier.
  * Отслеживает прогресс игрока и выдает награды за выполнение определенных условий.
  * Хранит состояние разблокированных достижений между сессиями игры.
  * Поддерживает сохранение достижений в Firebase для авторизованных пользователей.
+ *
+ * Условия достижений за партию проверяются правилами, подписанными на события игрового
+ * процесса ({@link GameEventBus}). Индекс правил хранит для каждого события только те правила,
+ * которые от него зависят, а правило открытого достижения удаляется из индекса совсем.
  */
 public class AchievementSystem implements Disposable {
     
@@ -44,12 +60,62 @@ public class AchievementSystem implements Disposable {
     private static final String PREFS_NAME = "spacecourier_achievements";
     private static final String UNLOCKED_SUFFIX = "_unlocked";
     private static final String PROGRESS_SUFFIX = "_progress";
+    private static final String UPDATED_SUFFIX = "_updated";
     
     // Firebase для онлайн-сохранений
     private FirebaseInterface firebase;
     private boolean isUsingFirebase = false;
     private String userId = null;
     private SpaceCourierGame game;
+    // Отложенная запись изменений в Firebase
+    private AchievementWriter writer;
+    // Асинхронные запросы к Firebase с таймаутом
+    private FirebaseAsync firebaseAsync;
+    // Время ожидания загрузки достижений
+    private static final float LOAD_TIMEOUT_SECONDS = 5f;
+    // Выполняющаяся загрузка и ожидающие ее окончания (только поток отрисовки)
+    private CompletableFuture<ObjectMap<String, Object>> pendingLoad;
+    private CompletableFuture<Void> loaded;
+    // Повтор неудачной загрузки: задержка растет от первой до максимальной
+    private static final float LOAD_RETRY_SECONDS = 5f;
+    private static final float MAX_LOAD_RETRY_SECONDS = 60f;
+    private float loadRetryDelay = LOAD_RETRY_SECONDS;
+    private final Timer.Task loadRetryTask = new Timer.Task() {
+        @Override
+        public void run() {
+            loadFromFirebase();
+        }
+    };
+    
+    // Правила открытия достижений по событиям игрового процесса
+    private final Array<Rule> rules = new Array<Rule>();
+    // Индекс: для каждого события - правила еще не открытых достижений, которые от него зависят
+    private final Array<Rule>[] ruleIndex;
+    private GameEventBus eventBus;
+    private UnlockListener unlockListener;
+    
+    // Единственный подписчик на шину: передает события правилам из индекса
+    private final GameEventListener ruleDispatcher = new GameEventListener() {
+        @Override
+        public void onGameEvent(GameEvent event, int value) {
+            dispatchRuleEvent(event, value);
+        }
+    };
+    
+    // Перестройка индекса после загрузки достижений (выполняется в потоке отрисовки)
+    private final Runnable rebuildRuleIndexTask = new Runnable() {
+        @Override
+        public void run() {
+            rebuildRuleIndex();
+        }
+    };
+    
+    /**
+     * Получатель уведомлений о достижениях, открытых правилами
+     */
+    public interface UnlockListener {
+        void onAchievementUnlocked(Achievement achievement);
+    }
     
     /**
      * Класс для хранения информации о достижении
@@ -61,6 +127,16 @@ public class AchievementSystem implements Disposable {
         public boolean unlocked;
         public int progress;
         public int maxProgress;
+        // Время последнего изменения (мс), по нему разрешаются конфликты при загрузке
+        public long updatedAt;
+        
+        // Ключи полей в Firebase и пути для частичного обновления вычисляются один раз
+        final String unlockedKey;
+        final String progressKey;
+        final String updatedKey;
+        final String unlockedPath;
+        final String progressPath;
+        final String updatedPath;
         
         public Achievement(String id, String title, String description, int maxProgress) {
             this.id = id;
@@ -69,6 +145,13 @@ public class AchievementSystem implements Disposable {
             this.unlocked = false;
             this.progress = 0;
             this.maxProgress = maxProgress;
+            
+            unlockedKey = id + UNLOCKED_SUFFIX;
+            progressKey = id + PROGRESS_SUFFIX;
+            updatedKey = id + UPDATED_SUFFIX;
+            unlockedPath = FirebaseInterface.ACHIEVEMENTS_PATH + "/" + unlockedKey;
+            progressPath = FirebaseInterface.ACHIEVEMENTS_PATH + "/" + progressKey;
+            updatedPath = FirebaseInterface.ACHIEVEMENTS_PATH + "/" + updatedKey;
         }
         
         /**
@@ -82,15 +165,22 @@ public class AchievementSystem implements Disposable {
     /**
      * Конструктор системы достижений
      */
+    @SuppressWarnings({"unchecked", "rawtypes"})
     public AchievementSystem() {
         achievements = new ObjectMap<String, Achievement>();
         unlockedThisSession = new Array<String>();
         
+        ruleIndex = new Array[GameEvent.values().length];
+        for (int i = 0; i < ruleIndex.length; i++) {
+            ruleIndex[i] = new Array<Rule>();
+        }
+        
         // Проверяем, что Gdx.app инициализирован
         if (Gdx.app == null) {
             System.err.println("AchievementSystem: Gdx.app не инициализирован!");
             // Инициализируем только достижения без загрузки прогресса
             initializeAchievements();
+            initializeRules();
             return;
         }
         
@@ -99,6 +189,7 @@ public class AchievementSystem implements Disposable {
         
         // Инициализируем достижения
         initializeAchievements();
+        initializeRules();
         
         // Загружаем прогресс из локального хранилища
         loadProgress();
@@ -114,6 +205,10 @@ public class AchievementSystem implements Disposable {
         this.game = game;
         this.firebase = firebase;
         this.isUsingFirebase = (firebase != null);
+        if (isUsingFirebase) {
+            writer = new AchievementWriter(this, firebase);
+            firebaseAsync = new FirebaseAsync(firebase);
+        }
     }
     
     /**
@@ -130,9 +225,13 @@ public class AchievementSystem implements Disposable {
         // Если у нас был предыдущий пользователь, сохраняем его достижения
         if (isUsingFirebase && this.userId != null) {
             // Сохраняем текущие достижения перед переключением
-            saveProgress();
+            flush();
         }
         
+        // Загрузка данных прежнего пользователя больше не нужна
+        cancelLoad();
+        loadRetryDelay = LOAD_RETRY_SECONDS;
+        
         // Сохраняем новый ID пользователя
         String oldUserId = this.userId;
         this.userId = userId;
@@ -147,6 +246,9 @@ public class AchievementSystem implements Disposable {
             // Сначала сбрасываем все прогрессы на исходные 
             resetAllAchievements();
             
+            // До загрузки сброшенные значения не должны попасть на сервер
+            writer.hold();
+            
             // Затем загружаем достижения пользователя из Firebase
             loadFromFirebase();
             
@@ -160,7 +262,7 @@ public class AchievementSystem implements Disposable {
             resetAllAchievements();
             
             // Сбрасываем состояние загрузки
-            isLoading = false;
+            finishLoading();
             
             // Если пользователь вышел из аккаунта, полностью очищаем все достижения
             if (userId == null && oldUserId != null) {
@@ -183,9 +285,11 @@ public class AchievementSystem implements Disposable {
             Achievement achievement = achievements.get(id);
             achievement.progress = 0;
             achievement.unlocked = false;
+            achievement.updatedAt = 0;
         }
         
         unlockedThisSession.clear();
+        requestRuleIndexRebuild();
         Gdx.app.log("AchievementSystem", "Все достижения сброшены");
     }
     
@@ -204,129 +308,147 @@ public class AchievementSystem implements Disposable {
         // Устанавливаем флаг загрузки
         isLoading = true;
         
-        final long startTime = System.currentTimeMillis();
-        final boolean[] loadingCompleted = {false};
+        final long startTime = TimeUtils.millis();
+        final String loadingUserId = userId;
         
-        // Запускаем асинхронную загрузку
-        firebase.getAchievements(userId, new FirebaseInterface.AchievementsCallback() {
+        // Запускаем асинхронную загрузку; результат приходит в потоке отрисовки
+        pendingLoad = firebaseAsync.getAchievements(userId, LOAD_TIMEOUT_SECONDS);
+        pendingLoad.whenComplete(new BiConsumer<ObjectMap<String, Object>, Throwable>() {
             @Override
-            public void onAchievementsLoaded(ObjectMap<String, Object> achievementsData) {
-                // Отмечаем, что загрузка завершена
-                loadingCompleted[0] = true;
-                isLoading = false;
-                
-                if (achievementsData == null || achievementsData.size == 0) {
-                    Gdx.app.log("AchievementSystem", "Нет данных достижений в Firebase для пользователя: " + userId);
+            public void accept(ObjectMap<String, Object> achievementsData, Throwable error) {
+                // Загрузка отменена сменой пользователя: ее результат больше не нужен
+                if (error instanceof CancellationException) {
                     return;
                 }
+                pendingLoad = null;
                 
-                Gdx.app.log("AchievementSystem", "Получены данные из Firebase: " + achievementsData.size + " записей");
-                
-                // Обновляем достижения из Firebase
-                int updatedCount = 0;
-                
-                for (String id : achievements.keys()) {
-                    Achievement achievement = achievements.get(id);
-                    
-                    // Проверяем, есть ли данные для этого достижения
-                    if (achievementsData.containsKey(id + UNLOCKED_SUFFIX)) {
-                        Object unlockedValue = achievementsData.get(id + UNLOCKED_SUFFIX);
-                        if (unlockedValue instanceof Boolean) {
-                            boolean unlocked = (Boolean) unlockedValue;
-                            achievement.unlocked = unlocked;
-                            updatedCount++;
-                        }
-                    }
-                    
-                    if (achievementsData.containsKey(id + PROGRESS_SUFFIX)) {
-                        Object progressValue = achievementsData.get(id + PROGRESS_SUFFIX);
-                        if (progressValue instanceof Number) {
-                            int progress = ((Number) progressValue).intValue();
-                            achievement.progress = progress;
-                            updatedCount++;
-                        }
-                    }
+                if (error instanceof TimeoutException) {
+                    Gdx.app.error("AchievementSystem", "Тайм-аут загрузки достижений из Firebase для пользователя " +
+                              loadingUserId + " после " + TimeUtils.timeSinceMillis(startTime) + " мс");
+                    scheduleLoadRetry();
+                } else if (error != null) {
+                    Gdx.app.error("AchievementSystem", "Ошибка загрузки достижений из Firebase: " + error.getMessage());
+                    scheduleLoadRetry();
+                } else {
+                    applyLoadedAchievements(achievementsData, startTime);
+                    // Прогресс с сервера учтен - изменения, накопленные за время загрузки, можно записать
+                    loadRetryDelay = LOAD_RETRY_SECONDS;
+                    writer.release();
                 }
                 
-                // Сохраняем данные в локальное хранилище для резервного доступа
-                saveProgressToLocal();
-                
-                // Журналируем статистику загрузки
-                long loadTime = System.currentTimeMillis() - startTime;
-                Gdx.app.log("AchievementSystem", "Достижения успешно загружены из Firebase для пользователя: " + 
-                          userId + ". Обновлено " + updatedCount + " полей за " + loadTime + " мс");
-            }
-            
-            @Override
-            public void onError(String error) {
-                // Отмечаем, что загрузка завершена с ошибкой
-                loadingCompleted[0] = true;
-                isLoading = false;
-                
-                Gdx.app.error("AchievementSystem", "Ошибка загрузки достижений из Firebase: " + error);
-                
-                // Если возникла ошибка, используем локальные данные
-                loadProgressFromLocal();
+                finishLoading();
             }
         });
-        
-        // Добавим таймаут для загрузки, чтобы не зависать если Firebase не отвечает
-        // Это будет работать, только если метод вызывается из UI потока
-        if (Gdx.app != null) {
-            Gdx.app.postRunnable(new Runnable() {
-                @Override
-                public void run() {
-                    // Проверяем через 5 секунд
-                    long elapsedTime = System.currentTimeMillis() - startTime;
-                    if (!loadingCompleted[0] && elapsedTime > 5000) {
-                        Gdx.app.error("AchievementSystem", "Тайм-аут загрузки достижений из Firebase для пользователя " + 
-                                  userId + " после " + elapsedTime + " мс");
-                        
-                        // Если таймаут, загружаем локальные данные
-                        loadProgressFromLocal();
-                    }
-                }
-            });
-        }
     }
     
     /**
-     * Сохраняет достижения в Firebase
+     * Повторяет загрузку позже. Запись достижений остается отложенной: локальное состояние
+     * сброшено и без данных сервера перезаписало бы сохраненный прогресс.
      */
-    private void saveToFirebase() {
-        if (!isUsingFirebase || userId == null) {
-            Gdx.app.log("AchievementSystem", "Невозможно сохранить данные в Firebase: " +
-                        (userId == null ? "userId == null" : "Firebase не активирован"));
+    private void scheduleLoadRetry() {
+        Gdx.app.log("AchievementSystem", "Повтор загрузки достижений через " + loadRetryDelay + " с");
+        Timer.schedule(loadRetryTask, loadRetryDelay);
+        loadRetryDelay = Math.min(loadRetryDelay * 2, MAX_LOAD_RETRY_SECONDS);
+    }
+    
+    /**
+     * Объединяет загруженные из Firebase достижения с локальными
+     * @param startTime Время начала загрузки (для лога)
+     */
+    private void applyLoadedAchievements(ObjectMap<String, Object> achievementsData, long startTime) {
+        if (achievementsData == null || achievementsData.size == 0) {
+            Gdx.app.log("AchievementSystem", "Нет данных достижений в Firebase для пользователя: " + userId);
             return;
         }
         
-        Gdx.app.log("AchievementSystem", "Сохранение достижений в Firebase для пользователя: " + userId);
-        final long startTime = System.currentTimeMillis();
-        
-        ObjectMap<String, Object> achievementsData = new ObjectMap<String, Object>();
+        Gdx.app.log("AchievementSystem", "Получены данные из Firebase: " + achievementsData.size + " записей");
         
-        // Преобразуем достижения в формат для Firebase
-        for (String id : achievements.keys()) {
-            Achievement achievement = achievements.get(id);
-            achievementsData.put(id + UNLOCKED_SUFFIX, achievement.unlocked);
-            achievementsData.put(id + PROGRESS_SUFFIX, achievement.progress);
-        }
+        // Объединяем с локальными данными без потери прогресса: открытое с любой стороны
+        // достижение остается открытым, из прогресса берется больший. Изменения, сделанные
+        // во время загрузки, остаются и будут отправлены следующей записью.
+        int updatedCount = 0;
+        int keptLocalCount = 0;
         
-        // Сохраняем в Firebase
-        firebase.saveAchievements(userId, achievementsData, new FirebaseInterface.CompletionCallback() {
-            @Override
-            public void onSuccess() {
-                long saveTime = System.currentTimeMillis() - startTime;
-                Gdx.app.log("AchievementSystem", "Достижения успешно сохранены в Firebase для пользователя: " + 
-                          userId + " за " + saveTime + " мс");
-            }
+        for (Achievement achievement : achievements.values()) {
+            // Записи без метки времени (сохраненные до ее появления) старше любых локальных изменений
+            Object updatedValue = achievementsData.get(achievement.updatedKey);
+            long remoteUpdatedAt = updatedValue instanceof Number ? ((Number) updatedValue).longValue() : 0;
+            Object unlockedValue = achievementsData.get(achievement.unlockedKey);
+            Object progressValue = achievementsData.get(achievement.progressKey);
             
-            @Override
-            public void onError(String error) {
-                Gdx.app.error("AchievementSystem", "Ошибка сохранения достижений в Firebase для пользователя " + 
-                           userId + ": " + error);
+            if (Boolean.TRUE.equals(unlockedValue) && !achievement.unlocked) {
+                achievement.unlocked = true;
+                updatedCount++;
             }
-        });
+            if (progressValue instanceof Number && ((Number) progressValue).intValue() > achievement.progress) {
+                achievement.progress = ((Number) progressValue).intValue();
+                updatedCount++;
+            }
+            if (achievement.updatedAt > remoteUpdatedAt) {
+                keptLocalCount++;
+            } else {
+                achievement.updatedAt = remoteUpdatedAt;
+            }
+        }
+        
+        // Правила открытых достижений больше не нужны
+        requestRuleIndexRebuild();
+        
+        // Сохраняем данные в локальное хранилище для резервного доступа
+        saveProgressToLocal();
+        
+        // Журналируем статистику загрузки
+        long loadTime = TimeUtils.timeSinceMillis(startTime);
+        Gdx.app.log("AchievementSystem", "Достижения успешно загружены из Firebase для пользователя: " + 
+                  userId + ". Обновлено " + updatedCount + " полей, локальных изменений новее сервера: " +
+                  keptLocalCount + ", за " + loadTime + " мс");
+    }
+    
+    /**
+     * Отменяет загрузку достижений, если она выполняется
+     */
+    private void cancelLoad() {
+        loadRetryTask.cancel();
+        if (pendingLoad != null) {
+            pendingLoad.cancel(false);
+            pendingLoad = null;
+        }
+    }
+    
+    /**
+     * Сбрасывает флаг загрузки и сообщает ожидающим об ее окончании
+     */
+    private void finishLoading() {
+        isLoading = false;
+        if (loaded != null) {
+            CompletableFuture<Void> finished = loaded;
+            loaded = null;
+            finished.complete(null);
+        }
+    }
+    
+    /**
+     * Возвращает ID текущего пользователя (null, если пользователь не авторизован)
+     */
+    String getUserId() {
+        return userId;
+    }
+    
+    /**
+     * Собирает изменения достижений для частичного обновления в Firebase
+     * @param ids Измененные достижения
+     * @return значения полей по путям относительно узла пользователя
+     */
+    ObjectMap<String, Object> createPatch(ObjectSet<String> ids) {
+        ObjectMap<String, Object> updates = new ObjectMap<String, Object>(ids.size * 3);
+        for (String id : ids) {
+            Achievement achievement = achievements.get(id);
+            if (achievement == null) continue;
+            updates.put(achievement.unlockedPath, achievement.unlocked);
+            updates.put(achievement.progressPath, achievement.progress);
+            updates.put(achievement.updatedPath, achievement.updatedAt);
+        }
+        return updates;
     }
     
     /**
@@ -462,6 +584,219 @@ public class AchievementSystem implements Disposable {
         achievements.put(ACHIEVEMENT_TOTAL_SCORE_50000, totalScore50000);
     }
     
+    /**
+     * Создает правила открытия достижений по событиям партии
+     */
+    private void initializeRules() {
+        // Первый полет - при начале любой партии
+        rules.add(new Rule(ACHIEVEMENT_FIRST_FLIGHT, GameEvent.GAME_STARTED) {
+            @Override
+            boolean evaluate(GameEvent event, int value) {
+                return unlockAchievement(id);
+            }
+        });
+        
+        // Выжить 5 минут (300 секунд)
+        rules.add(new ThresholdRule(ACHIEVEMENT_SURVIVE_5_MIN, GameEvent.TIME_MILESTONE, 300));
+        
+        // Набрать 10000 очков
+        rules.add(new ThresholdRule(ACHIEVEMENT_SCORE_10000, GameEvent.SCORE_CHANGED, 10000));
+        
+        // Неуязвимый: 3000 очков без потери жизней в текущей партии
+        rules.add(new Rule(ACHIEVEMENT_NO_DAMAGE, GameEvent.SCORE_CHANGED, GameEvent.DAMAGE_TAKEN) {
+            private boolean damageTaken;
+            
+            @Override
+            void reset() {
+                damageTaken = false;
+            }
+            
+            @Override
+            boolean evaluate(GameEvent event, int value) {
+                if (event == GameEvent.DAMAGE_TAKEN) {
+                    damageTaken = true;
+                    return false;
+                }
+                return value >= 3000 && !damageTaken && unlockAchievement(id);
+            }
+        });
+        
+        // Достижения за уровни
+        rules.add(new ThresholdRule(ACHIEVEMENT_LEVEL_5, GameEvent.LEVEL_CHANGED, 5));
+        rules.add(new ThresholdRule(ACHIEVEMENT_LEVEL_10, GameEvent.LEVEL_CHANGED, 10));
+    }
+    
+    /**
+     * Подключает правила достижений к шине событий партии.
+     * Предыдущая шина (если была) отключается.
+     * @param bus Шина событий игрового мира
+     * @param listener Получатель уведомлений об открытых достижениях
+     */
+    public void attach(GameEventBus bus, UnlockListener listener) {
+        if (eventBus != null) {
+            eventBus.unsubscribeAll(ruleDispatcher);
+        }
+        eventBus = bus;
+        unlockListener = listener;
+        rebuildRuleIndex();
+    }
+    
+    /**
+     * Отключает правила от шины событий, если подключены именно к ней
+     */
+    public void detach(GameEventBus bus) {
+        if (eventBus != bus || bus == null) return;
+        eventBus.unsubscribeAll(ruleDispatcher);
+        eventBus = null;
+        unlockListener = null;
+    }
+    
+    /**
+     * Перестраивает индекс правил: в него попадают только правила неоткрытых достижений
+     */
+    private void rebuildRuleIndex() {
+        for (Array<Rule> list : ruleIndex) {
+            list.clear();
+        }
+        
+        int activeRules = 0;
+        for (Rule rule : rules) {
+            Achievement achievement = achievements.get(rule.id);
+            if (achievement == null || achievement.unlocked) continue;
+            for (GameEvent event : rule.events) {
+                ruleIndex[event.ordinal()].add(rule);
+            }
+            activeRules++;
+        }
+        
+        if (eventBus == null) return;
+        
+        // Подписываемся только на события, от которых зависят оставшиеся правила.
+        // Начало партии нужно всегда, пока есть правила: оно сбрасывает их состояние
+        for (GameEvent event : GameEvent.values()) {
+            boolean needed = ruleIndex[event.ordinal()].size > 0 ||
+                (event == GameEvent.GAME_STARTED && activeRules > 0);
+            if (needed) {
+                eventBus.subscribe(event, ruleDispatcher);
+            } else {
+                eventBus.unsubscribe(event, ruleDispatcher);
+            }
+        }
+    }
+    
+    /**
+     * Перестраивает индекс правил в потоке отрисовки
+     * (состояние достижений может меняться из обратных вызовов Firebase)
+     */
+    private void requestRuleIndexRebuild() {
+        if (Gdx.app != null) {
+            Gdx.app.postRunnable(rebuildRuleIndexTask);
+        } else {
+            rebuildRuleIndex();
+        }
+    }
+    
+    /**
+     * Передает событие правилам, которые от него зависят
+     */
+    private void dispatchRuleEvent(GameEvent event, int value) {
+        if (event == GameEvent.GAME_STARTED) {
+            for (Rule rule : rules) {
+                rule.reset();
+            }
+        }
+        
+        Array<Rule> list = ruleIndex[event.ordinal()];
+        // Обходим с конца: открытые правила удаляются прямо во время обхода
+        for (int i = list.size - 1; i >= 0; i--) {
+            if (i >= list.size) continue;
+            Rule rule = list.get(i);
+            Achievement achievement = achievements.get(rule.id);
+            
+            // Достижение могло быть открыто в обход правил
+            if (achievement == null || achievement.unlocked) {
+                removeRule(rule);
+                continue;
+            }
+            
+            if (rule.evaluate(event, value)) {
+                removeRule(rule);
+                if (unlockListener != null) {
+                    unlockListener.onAchievementUnlocked(achievement);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Удаляет правило из индекса и отписывается от событий, для которых правил не осталось
+     */
+    private void removeRule(Rule rule) {
+        for (GameEvent event : rule.events) {
+            Array<Rule> list = ruleIndex[event.ordinal()];
+            list.removeValue(rule, true);
+            if (list.size == 0 && eventBus != null && event != GameEvent.GAME_STARTED) {
+                eventBus.unsubscribe(event, ruleDispatcher);
+            }
+        }
+        
+        // Если правил не осталось совсем, начало партии тоже больше не нужно
+        if (eventBus != null) {
+            boolean anyLeft = false;
+            for (Array<Rule> list : ruleIndex) {
+                if (list.size > 0) {
+                    anyLeft = true;
+                    break;
+                }
+            }
+            if (!anyLeft) {
+                eventBus.unsubscribe(GameEvent.GAME_STARTED, ruleDispatcher);
+            }
+        }
+    }
+    
+    /**
+     * Правило открытия достижения: зависит от набора событий и проверяет условие по их значениям
+     */
+    private abstract class Rule {
+        final String id;
+        final GameEvent[] events;
+        
+        Rule(String id, GameEvent... events) {
+            this.id = id;
+            this.events = events;
+        }
+        
+        /**
+         * Сбрасывает состояние правила в начале партии
+         */
+        void reset() {
+        }
+        
+        /**
+         * Обрабатывает событие
+         * @return true, если достижение открыто этим событием
+         */
+        abstract boolean evaluate(GameEvent event, int value);
+    }
+    
+    /**
+     * Правило "значение события достигло порога" (счет, уровень, время)
+     */
+    private class ThresholdRule extends Rule {
+        private final int threshold;
+        
+        ThresholdRule(String id, GameEvent event, int threshold) {
+            super(id, event);
+            this.threshold = threshold;
+        }
+        
+        @Override
+        boolean evaluate(GameEvent event, int value) {
+            return value >= threshold && unlockAchievement(id);
+        }
+    }
+    
     /**
      * Загружает прогресс достижений из настроек
      */
@@ -487,6 +822,7 @@ public class AchievementSystem implements Disposable {
                 achievement.unlocked = false;
                 achievement.progress = 0;
             }
+            requestRuleIndexRebuild();
         }
     }
     
@@ -501,14 +837,17 @@ public class AchievementSystem implements Disposable {
     }
     
     /**
-     * Сохраняет прогресс достижений
+     * Отмечает достижение как измененное. Изменения сохраняются пачкой
+     * через {@link AchievementWriter#FLUSH_DELAY_SECONDS} секунд или при {@link #flush()}.
      */
-    private void saveProgress() {
+    private void markDirty(Achievement achievement) {
+        achievement.updatedAt = System.currentTimeMillis();
+        
         // Временно: пропускаем локальное сохранение
         
         // Если включен Firebase и пользователь авторизован, сохраняем туда
         if (isUsingFirebase && userId != null) {
-            saveToFirebase();
+            writer.markDirty(achievement.id);
         } else {
             Gdx.app.log("AchievementSystem", "Данные не сохранены: Firebase " + 
                     (isUsingFirebase ? "активирован" : "не активирован") + 
@@ -542,12 +881,12 @@ public class AchievementSystem implements Disposable {
             if (achievement.progress >= achievement.maxProgress) {
                 achievement.unlocked = true;
                 unlockedThisSession.add(id);
-                saveProgress();
+                markDirty(achievement);
                 return true;
             }
             
             // Сохраняем прогресс
-            saveProgress();
+            markDirty(achievement);
         }
         
         return false;
@@ -577,12 +916,12 @@ public class AchievementSystem implements Disposable {
         if (achievement.progress >= achievement.maxProgress) {
             achievement.unlocked = true;
             unlockedThisSession.add(id);
-            saveProgress();
+            markDirty(achievement);
             return true;
         }
         
         // Сохраняем прогресс
-        saveProgress();
+        markDirty(achievement);
         return false;
     }
     
@@ -607,7 +946,7 @@ public class AchievementSystem implements Disposable {
         achievement.progress = achievement.maxProgress;
         achievement.unlocked = true;
         unlockedThisSession.add(id);
-        saveProgress();
+        markDirty(achievement);
         return true;
     }
     
@@ -676,11 +1015,26 @@ public class AchievementSystem implements Disposable {
      */
     @Override
     public void dispose() {
-        saveProgress();
+        // Мир, который еще держит шину событий, больше не передает события этой системе
+        detach(eventBus);
+        cancelLoad();
+        finishLoading();
+        if (writer != null) {
+            // Сохраняет оставшиеся изменения и дожидается отправки
+            writer.dispose();
+            writer = null;
+        }
         achievements.clear();
         unlockedThisSession.clear();
     }
     
+    /**
+     * Проверяет, сохраняются ли достижения в Firebase
+     */
+    public boolean isUsingFirebase() {
+        return isUsingFirebase;
+    }
+    
     /**
      * Проверяет, выполняется ли в данный момент загрузка достижений
      * @return true, если идет асинхронная загрузка достижений
@@ -689,6 +1043,21 @@ public class AchievementSystem implements Disposable {
         return isLoading;
     }
     
+    /**
+     * Возвращает будущее, которое завершится в потоке отрисовки, когда закончится
+     * текущая загрузка достижений (успешно, с ошибкой или по таймауту).
+     * Если загрузка не идет, будущее уже завершено.
+     */
+    public CompletableFuture<Void> whenLoaded() {
+        if (!isLoading) {
+            return CompletableFuture.completedFuture(null);
+        }
+        if (loaded == null) {
+            loaded = new CompletableFuture<Void>();
+        }
+        return loaded;
+    }
+    
     /**
      * Сбрасывает достижение в начальное состояние
      * @param id идентификатор достижения для сброса
@@ -706,6 +1075,9 @@ public class AchievementSystem implements Disposable {
         // Удаляем из списка разблокированных в этой сессии, если оно там есть
         unlockedThisSession.removeValue(id, false);
         
+        // Правило достижения снова должно отслеживаться
+        requestRuleIndexRebuild();
+        
         Gdx.app.log("AchievementSystem", "Достижение сброшено: " + id);
         return true;
     }
@@ -715,6 +1087,16 @@ public class AchievementSystem implements Disposable {
      * Публичный метод для принудительной синхронизации
      */
     public void syncProgress() {
-        saveProgress();
+        flush();
+    }
+    
+    /**
+     * Сразу сохраняет изменения, накопленные с последней записи.
+     * Вызывается в конце партии и при сворачивании приложения.
+     */
+    public void flush() {
+        if (writer != null) {
+            writer.flush("принудительно");
+        }
     }
 } 
\ No newline at end of file
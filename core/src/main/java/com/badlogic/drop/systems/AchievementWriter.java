@@ -0,0 +1,213 @@
+package com.badlogic.drop.systems;
+
+import com.badlogic.drop.firebase.FirebaseInterface;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.Timer;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Отложенное сохранение достижений (write-behind).
+ *
+ * Изменение прогресса только отмечает достижение как измененное. Первое изменение открывает
+ * окно в {@link #FLUSH_DELAY_SECONDS} секунд, и все изменения за это время сохраняются одной
+ * записью. Отправляются только поля измененных достижений (частичное обновление
+ * {@link FirebaseInterface#patchUserData}). Изменения собираются в потоке отрисовки,
+ * а отправка выполняется на отдельном фоновом потоке, поэтому игровой кадр не ждет сохранения.
+ *
+ * {@link #flush(String)} сохраняет изменения сразу: в конце партии, при сворачивании
+ * приложения, при смене пользователя и при завершении.
+ *
+ * Пока достижения пользователя не загружены ({@link #hold()}), изменения только копятся:
+ * отправленные поверх сброшенного состояния, они затерли бы прогресс на сервере.
+ */
+class AchievementWriter implements Disposable {
+    // Окно объединения изменений
+    static final float FLUSH_DELAY_SECONDS = 3f;
+
+    private final AchievementSystem system;
+    private final FirebaseInterface firebase;
+    private final AsyncExecutor executor = new AsyncExecutor(1, "AchievementWriter");
+
+    // Достижения, измененные с последней записи (только поток отрисовки)
+    private final ObjectSet<String> dirtyIds = new ObjectSet<String>();
+    // Запись отложена до загрузки достижений пользователя
+    private boolean held;
+
+    private final Timer.Task flushTask = new Timer.Task() {
+        @Override
+        public void run() {
+            flush("таймер");
+        }
+    };
+
+    // Метрики. Завершение записи приходит из потока Firebase
+    private int changeCount;
+    private int flushCount;
+    private int fieldCount;
+    private final AtomicInteger completedCount = new AtomicInteger();
+    private final AtomicInteger failedCount = new AtomicInteger();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    /**
+     * @param system Система достижений, из которой собирается снимок
+     * @param firebase Хранилище достижений
+     */
+    AchievementWriter(AchievementSystem system, FirebaseInterface firebase) {
+        this.system = system;
+        this.firebase = firebase;
+    }
+
+    /**
+     * Отмечает достижение как измененное и при необходимости открывает окно записи
+     */
+    void markDirty(String id) {
+        changeCount++;
+        dirtyIds.add(id);
+        if (!held && !flushTask.isScheduled()) {
+            Timer.schedule(flushTask, FLUSH_DELAY_SECONDS);
+        }
+    }
+
+    /**
+     * Откладывает запись до {@link #release()}. Изменения, которые еще не удалось записать,
+     * относятся к прежнему пользователю и отбрасываются.
+     */
+    void hold() {
+        flushTask.cancel();
+        held = true;
+        if (dirtyIds.size > 0) {
+            Gdx.app.log("AchievementWriter", "Отброшено несохраненных изменений: " + dirtyIds.size);
+            dirtyIds.clear();
+        }
+    }
+
+    /**
+     * Снова разрешает запись и сохраняет изменения, накопленные за время загрузки
+     */
+    void release() {
+        held = false;
+        flush("после загрузки");
+    }
+
+    /**
+     * Есть ли несохраненные изменения
+     */
+    boolean isDirty() {
+        return dirtyIds.size > 0;
+    }
+
+    /**
+     * Сохраняет накопленные изменения сразу
+     * @param reason Причина записи (для лога)
+     */
+    void flush(String reason) {
+        flushTask.cancel();
+        if (dirtyIds.size == 0) return;
+        if (held) {
+            Gdx.app.log("AchievementWriter", "Запись (" + reason + ") отложена до загрузки достижений, изменено "
+                + dirtyIds.size);
+            return;
+        }
+
+        final String userId = system.getUserId();
+        if (userId == null) {
+            // Без пользователя достижения не сохраняются (как и раньше)
+            dirtyIds.clear();
+            Gdx.app.log("AchievementWriter", "Изменения не сохранены: пользователь не авторизован");
+            return;
+        }
+
+        final ObjectMap<String, Object> patch = system.createPatch(dirtyIds);
+        final Array<String> ids = new Array<String>(dirtyIds.size);
+        for (String id : dirtyIds) {
+            ids.add(id);
+        }
+        dirtyIds.clear();
+
+        flushCount++;
+        fieldCount += patch.size;
+        final long start = System.nanoTime();
+        Gdx.app.log("AchievementWriter", "Запись достижений (" + reason + "): изменено " + ids.size
+            + ", полей " + patch.size + ", изменений с начала сессии " + changeCount);
+
+        executor.submit(new AsyncTask<Void>() {
+            @Override
+            public Void call() {
+                firebase.patchUserData(userId, patch, new FirebaseInterface.CompletionCallback() {
+                    @Override
+                    public void onSuccess() {
+                        long latency = System.nanoTime() - start;
+                        completedCount.incrementAndGet();
+                        totalLatencyNanos.addAndGet(latency);
+                        updateMaxLatency(latency);
+                        Gdx.app.log("AchievementWriter", "Достижения сохранены для пользователя " + userId
+                            + " за " + latency / 1000000 + " мс");
+                    }
+
+                    @Override
+                    public void onError(String error) {
+                        failedCount.incrementAndGet();
+                        Gdx.app.error("AchievementWriter", "Ошибка сохранения достижений для пользователя "
+                            + userId + ": " + error);
+                        requeue(userId, ids);
+                    }
+                });
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Возвращает в очередь достижения, которые не удалось записать. Они уйдут со следующей
+     * записью; отдельный таймер не заводится, чтобы без сети не повторять запись постоянно.
+     */
+    private void requeue(final String userId, final Array<String> ids) {
+        Gdx.app.postRunnable(new Runnable() {
+            @Override
+            public void run() {
+                // Пока шла запись, пользователь мог смениться
+                if (!userId.equals(system.getUserId())) return;
+                for (int i = 0; i < ids.size; i++) {
+                    dirtyIds.add(ids.get(i));
+                }
+            }
+        });
+    }
+
+    private void updateMaxLatency(long latency) {
+        long max = maxLatencyNanos.get();
+        while (latency > max && !maxLatencyNanos.compareAndSet(max, latency)) {
+            max = maxLatencyNanos.get();
+        }
+    }
+
+    /**
+     * Выводит в лог статистику записи
+     */
+    void logStats() {
+        int completed = completedCount.get();
+        long average = completed > 0 ? totalLatencyNanos.get() / completed / 1000000 : 0;
+        Gdx.app.log("AchievementWriter", "Изменений: " + changeCount + ", записей: " + flushCount
+            + ", отправлено полей: " + fieldCount + ", успешно: " + completed + ", ошибок: " + failedCount.get()
+            + ", задержка средняя " + average + " мс, максимальная " + maxLatencyNanos.get() / 1000000 + " мс");
+    }
+
+    /**
+     * Сохраняет оставшиеся изменения и дожидается отправки всех записей
+     */
+    @Override
+    public void dispose() {
+        flush("завершение");
+        executor.dispose();
+        logStats();
+    }
+}
@@ -0,0 +1,178 @@
+package com.badlogic.drop.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * Общий реестр ресурсов игры на основе {@link AssetManager} со счетчиком ссылок.
+ *
+ * Экран берет ресурс через {@link #acquire} и возвращает через {@link #release}.
+ * Ресурс загружается при первом запросе, повторные запросы получают уже загруженный объект,
+ * а освобождается он, когда его вернул последний владелец. Ресурсы, которые нужны почти
+ * всем экранам, игра удерживает сама, поэтому они декодируются и загружаются в GPU
+ * один раз за запуск.
+ *
+ * Ресурсы можно также поставить в очередь ({@link #queue}) и загружать по частям
+ * через {@link #update(int)}: декодирование выполняется в фоновом потоке AssetManager,
+ * а в потоке отрисовки остается только загрузка в GPU.
+ *
+ * Объекты из реестра нельзя освобождать через dispose() - только через {@link #release}.
+ */
+public class AssetRegistry implements Disposable {
+    private final AssetManager manager;
+    private final ObjectIntMap<String> refCounts = new ObjectIntMap<>();
+
+    // Параметры текстур по умолчанию: сглаживание при масштабировании
+    private final TextureLoader.TextureParameter linearTextureParameter;
+
+    // Статистика для логов
+    private int loadCount;
+    private int unloadCount;
+
+    public AssetRegistry() {
+        manager = new AssetManager();
+        linearTextureParameter = new TextureLoader.TextureParameter();
+        linearTextureParameter.minFilter = Texture.TextureFilter.Linear;
+        linearTextureParameter.magFilter = Texture.TextureFilter.Linear;
+    }
+
+    /**
+     * Берет ресурс и увеличивает счетчик ссылок. При первом запросе ресурс загружается сразу.
+     * @param path Путь к ресурсу в assets
+     * @param type Класс ресурса (Texture, Sound, Music и т.д.)
+     */
+    public <T> T acquire(String path, Class<T> type) {
+        return acquire(path, type, null);
+    }
+
+    /**
+     * Берет ресурс и увеличивает счетчик ссылок.
+     * Параметры загрузки учитываются только при первой загрузке ресурса.
+     * @param path Путь к ресурсу в assets
+     * @param type Класс ресурса
+     * @param parameters Параметры загрузчика (может быть null)
+     */
+    public <T> T acquire(String path, Class<T> type, AssetLoaderParameters<T> parameters) {
+        int count = refCounts.get(path, 0);
+        if (count == 0 && !manager.isLoaded(path, type)) {
+            manager.load(path, type, parameters);
+            loadCount++;
+            Gdx.app.debug("AssetRegistry", "Загружен ресурс: " + path);
+        }
+        // Ресурс мог стоять в очереди фоновой загрузки - дожидаемся только его
+        if (!manager.isLoaded(path, type)) {
+            manager.finishLoadingAsset(path);
+        }
+        refCounts.put(path, count + 1);
+        return manager.get(path, type);
+    }
+
+    /**
+     * Ставит ресурс в очередь фоновой загрузки и сразу увеличивает счетчик ссылок.
+     * Объект доступен через {@link #get} после завершения {@link #update(int)}.
+     * @param path Путь к ресурсу в assets
+     * @param type Класс ресурса
+     * @param parameters Параметры загрузчика (может быть null)
+     */
+    public <T> void queue(String path, Class<T> type, AssetLoaderParameters<T> parameters) {
+        int count = refCounts.get(path, 0);
+        if (count == 0 && !manager.isLoaded(path, type)) {
+            manager.load(path, type, parameters);
+            loadCount++;
+        }
+        refCounts.put(path, count + 1);
+    }
+
+    /**
+     * Ставит текстуру со сглаживанием в очередь фоновой загрузки
+     */
+    public void queueTexture(String path) {
+        queue(path, Texture.class, linearTextureParameter);
+    }
+
+    /**
+     * Продолжает фоновую загрузку очереди, не дольше указанного времени.
+     * Вызывается из потока отрисовки каждый кадр.
+     * @return true, если очередь пуста
+     */
+    public boolean update(int millis) {
+        return manager.update(millis);
+    }
+
+    /**
+     * Загружает всю очередь, блокируя поток отрисовки
+     */
+    public void finishLoading() {
+        manager.finishLoading();
+    }
+
+    /**
+     * Возвращает долю загруженной очереди (от 0 до 1)
+     */
+    public float getProgress() {
+        return manager.getProgress();
+    }
+
+    /**
+     * Возвращает уже полученный ресурс без изменения счетчика ссылок
+     */
+    public <T> T get(String path, Class<T> type) {
+        return manager.get(path, type);
+    }
+
+    /**
+     * Берет текстуру со сглаживанием (фильтр Linear)
+     * @param path Путь к текстуре в assets
+     */
+    public Texture acquireTexture(String path) {
+        return acquire(path, Texture.class, linearTextureParameter);
+    }
+
+    /**
+     * Возвращает ресурс и уменьшает счетчик ссылок.
+     * Когда ссылок не остается, ресурс выгружается.
+     * @param path Путь, с которым ресурс был получен
+     */
+    public void release(String path) {
+        int count = refCounts.get(path, 0);
+        if (count <= 0) {
+            Gdx.app.error("AssetRegistry", "Попытка вернуть ресурс, который не был получен: " + path);
+            return;
+        }
+
+        if (count == 1) {
+            refCounts.remove(path, 0);
+            manager.unload(path);
+            unloadCount++;
+            Gdx.app.debug("AssetRegistry", "Выгружен ресурс: " + path);
+        } else {
+            refCounts.put(path, count - 1);
+        }
+    }
+
+    /**
+     * Возвращает количество владельцев ресурса (0 - ресурс не загружен)
+     */
+    public int getReferenceCount(String path) {
+        return refCounts.get(path, 0);
+    }
+
+    /**
+     * Выводит статистику загрузок в лог
+     */
+    public void logStats() {
+        Gdx.app.log("AssetRegistry", "Ресурсов в памяти: " + refCounts.size +
+            ", загрузок: " + loadCount + ", выгрузок: " + unloadCount);
+    }
+
+    @Override
+    public void dispose() {
+        refCounts.clear();
+        manager.dispose();
+    }
+}
@@ -0,0 +1,147 @@
+package com.badlogic.drop.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/**
+ * Фоновая загрузка ресурсов на пуле потоков.
+ *
+ * Каждая задача делится на две части: {@link Job#prepare()} выполняется в рабочем потоке
+ * (чтение файлов, декодирование, растеризация) и не должна обращаться к OpenGL,
+ * а {@link Job#finish()} выполняется в потоке отрисовки и только загружает готовые данные в GPU.
+ * Завершение задач ограничено по времени за кадр ({@link #update(int)}), поэтому
+ * экран загрузки продолжает отрисовываться, пока ресурсы готовятся.
+ *
+ * Задачи завершаются в порядке добавления.
+ */
+public class AsyncLoader implements Disposable {
+    // Один поток оставляем потоку отрисовки; больше четырех потоков загрузке не нужно
+    private static final int MAX_THREADS = 4;
+
+    /**
+     * Задача загрузки одного ресурса
+     */
+    public abstract static class Job {
+        /**
+         * Подготовка в рабочем потоке. Вызовы OpenGL здесь запрещены.
+         */
+        protected abstract void prepare() throws Exception;
+
+        /**
+         * Завершение в потоке отрисовки (загрузка в GPU)
+         */
+        protected abstract void finish();
+
+        /**
+         * Вызывается в потоке отрисовки, если подготовка завершилась ошибкой
+         */
+        protected void failed(Throwable error) {
+            Gdx.app.error("AsyncLoader", "Ошибка фоновой загрузки", error);
+        }
+    }
+
+    private final AsyncExecutor executor;
+    private final int threadCount;
+    private final Array<Job> jobs = new Array<>();
+    private final Array<AsyncResult<Void>> results = new Array<>();
+    private int finishedCount;
+
+    // Время, потраченное на завершение задач в потоке отрисовки
+    private long finishNanos;
+
+    public AsyncLoader() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        threadCount = Math.max(1, Math.min(MAX_THREADS, processors - 1));
+        executor = new AsyncExecutor(threadCount, "AsyncLoader");
+    }
+
+    /**
+     * Добавляет задачу и сразу запускает ее подготовку в рабочем потоке
+     */
+    public void submit(final Job job) {
+        jobs.add(job);
+        results.add(executor.submit(new AsyncTask<Void>() {
+            @Override
+            public Void call() throws Exception {
+                job.prepare();
+                return null;
+            }
+        }));
+    }
+
+    /**
+     * Завершает подготовленные задачи, пока не истечет бюджет времени.
+     * Вызывается из потока отрисовки каждый кадр.
+     * @param millis Бюджет времени на кадр в миллисекундах
+     * @return true, если все задачи завершены
+     */
+    public boolean update(int millis) {
+        long start = TimeUtils.nanoTime();
+        long deadline = start + millis * 1000000L;
+        while (finishedCount < jobs.size) {
+            AsyncResult<Void> result = results.get(finishedCount);
+            if (!result.isDone()) break;
+
+            finishJob(finishedCount, result);
+            if (TimeUtils.nanoTime() >= deadline) break;
+        }
+        finishNanos += TimeUtils.nanoTime() - start;
+        return isDone();
+    }
+
+    /**
+     * Ждет и завершает все задачи (блокирует поток отрисовки)
+     */
+    public void finishLoading() {
+        long start = TimeUtils.nanoTime();
+        while (finishedCount < jobs.size) {
+            finishJob(finishedCount, results.get(finishedCount));
+        }
+        finishNanos += TimeUtils.nanoTime() - start;
+    }
+
+    public boolean isDone() {
+        return finishedCount == jobs.size;
+    }
+
+    /**
+     * Возвращает долю завершенных задач (от 0 до 1)
+     */
+    public float getProgress() {
+        return jobs.size == 0 ? 1f : (float) finishedCount / jobs.size;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Возвращает время, проведенное в потоке отрисовки за завершением задач (мс)
+     */
+    public long getFinishMillis() {
+        return finishNanos / 1000000L;
+    }
+
+    @Override
+    public void dispose() {
+        executor.dispose();
+    }
+
+    private void finishJob(int index, AsyncResult<Void> result) {
+        Job job = jobs.get(index);
+        finishedCount++;
+        try {
+            // Если подготовка еще идет, get() дождется ее окончания
+            result.get();
+        } catch (Exception e) {
+            job.failed(e.getCause() != null ? e.getCause() : e);
+            return;
+        }
+        job.finish();
+    }
+}
@@ -0,0 +1,134 @@
+package com.badlogic.drop.util;
+
+/**
+ * Накопитель времени для симуляции с фиксированным шагом.
+ * Время кадра (переменное) накапливается, а симуляция выполняется целым числом
+ * шагов одинаковой длины. Остаток меньше шага используется для интерполяции
+ * при отрисовке между предыдущим и текущим состоянием.
+ *
+ * Количество шагов за кадр ограничено: после долгой паузы (сворачивание приложения,
+ * сборка мусора) лишнее время отбрасывается, а не догоняется десятками шагов.
+ */
+public class FixedTimestep {
+    public static final int DEFAULT_TICK_RATE = 60;
+    public static final int DEFAULT_MAX_SUBSTEPS = 5;
+
+    // Допустимые пределы настроек
+    public static final int MIN_TICK_RATE = 15;
+    public static final int MAX_TICK_RATE = 240;
+
+    private int tickRate;
+    private float step;
+    private int maxSubsteps;
+
+    // Накопленное, но еще не просимулированное время
+    private float accumulator;
+
+    // Статистика
+    private long totalSteps;
+    private long droppedFrames; // Кадры, в которых часть времени была отброшена
+
+    /**
+     * Создает накопитель с частотой 60 Гц и ограничением 5 шагов за кадр
+     */
+    public FixedTimestep() {
+        this(DEFAULT_TICK_RATE, DEFAULT_MAX_SUBSTEPS);
+    }
+
+    /**
+     * Создает накопитель
+     * @param tickRate Частота симуляции (шагов в секунду)
+     * @param maxSubsteps Максимальное количество шагов за один кадр
+     */
+    public FixedTimestep(int tickRate, int maxSubsteps) {
+        setTickRate(tickRate);
+        setMaxSubsteps(maxSubsteps);
+    }
+
+    /**
+     * Задает частоту симуляции. Значение ограничивается пределами MIN_TICK_RATE..MAX_TICK_RATE.
+     * @param tickRate Шагов в секунду
+     */
+    public void setTickRate(int tickRate) {
+        this.tickRate = Math.max(MIN_TICK_RATE, Math.min(MAX_TICK_RATE, tickRate));
+        this.step = 1f / this.tickRate;
+        accumulator = 0;
+    }
+
+    /**
+     * Задает максимальное количество шагов за кадр (не меньше 1)
+     */
+    public void setMaxSubsteps(int maxSubsteps) {
+        this.maxSubsteps = Math.max(1, maxSubsteps);
+    }
+
+    /**
+     * Добавляет время кадра и возвращает количество шагов, которые нужно выполнить
+     * @param delta Время кадра в секундах
+     * @return Количество шагов длиной {@link #getStep()}
+     */
+    public int advance(float delta) {
+        if (delta > 0) {
+            accumulator += delta;
+        }
+
+        int steps = (int) (accumulator / step);
+        if (steps > maxSubsteps) {
+            // Не пытаемся догнать слишком долгий кадр: отбрасываем лишнее время
+            steps = maxSubsteps;
+            accumulator = step * steps;
+            droppedFrames++;
+        }
+
+        accumulator -= steps * step;
+        if (accumulator < 0) {
+            accumulator = 0;
+        }
+        totalSteps += steps;
+        return steps;
+    }
+
+    /**
+     * Возвращает долю шага, накопленную сверх выполненных шагов (0..1).
+     * Используется как коэффициент интерполяции между предыдущим и текущим состоянием.
+     */
+    public float getAlpha() {
+        return Math.min(1f, accumulator / step);
+    }
+
+    /**
+     * Сбрасывает накопленное время
+     */
+    public void reset() {
+        accumulator = 0;
+    }
+
+    /**
+     * Возвращает длительность одного шага в секундах
+     */
+    public float getStep() {
+        return step;
+    }
+
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    public int getMaxSubsteps() {
+        return maxSubsteps;
+    }
+
+    /**
+     * Возвращает общее количество выполненных шагов
+     */
+    public long getTotalSteps() {
+        return totalSteps;
+    }
+
+    /**
+     * Возвращает количество кадров, в которых время было отброшено из-за ограничения шагов
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+}
@@ -0,0 +1,262 @@
+package com.badlogic.drop.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.PixmapIO;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
+import com.badlogic.gdx.utils.Array;
+
+import java.nio.charset.Charset;
+import java.util.zip.CRC32;
+
+/**
+ * Дисковый кэш шрифтов, сгенерированных FreeType. Шрифт сохраняется в формате BMFont
+ * (описание глифов и страницы PNG) в локальное хранилище и при следующих запусках
+ * загружается вместо повторной растеризации.
+ *
+ * Ключ записи включает хэш файла шрифта и все параметры генерации, влияющие на глифы,
+ * поэтому при изменении шрифта или параметров старые записи не используются
+ * и удаляются {@link #prune(String[])}.
+ *
+ * Методы можно вызывать из рабочих потоков: OpenGL не используется.
+ */
+class FontCache {
+    private static final String CACHE_DIR = "cache/fonts";
+
+    // Меняется при изменении формата записи, чтобы старый кэш не читался
+    private static final int FORMAT_VERSION = 1;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    /**
+     * Загруженная запись кэша: описание шрифта и страницы глифов
+     */
+    static final class Entry {
+        final BitmapFontData data;
+        final Pixmap[] pages;
+
+        Entry(BitmapFontData data, Pixmap[] pages) {
+            this.data = data;
+            this.pages = pages;
+        }
+    }
+
+    private final FileHandle root;
+    private final FileHandle directory;
+    private final String fontHash;
+
+    /**
+     * @param fontFile Файл TTF, из которого генерируются шрифты
+     */
+    FontCache(FileHandle fontFile) {
+        root = Gdx.files.local(CACHE_DIR);
+        fontHash = crc(fontFile.readBytes());
+        directory = root.child(fontHash);
+    }
+
+    /**
+     * Возвращает ключ записи для параметров генерации
+     */
+    String key(FreeTypeFontParameter parameter) {
+        StringBuilder description = new StringBuilder();
+        description.append(FORMAT_VERSION)
+            .append('|').append(parameter.size)
+            .append('|').append(parameter.mono)
+            .append('|').append(parameter.hinting)
+            .append('|').append(color(parameter.color))
+            .append('|').append(parameter.gamma)
+            .append('|').append(parameter.renderCount)
+            .append('|').append(parameter.borderWidth)
+            .append('|').append(color(parameter.borderColor))
+            .append('|').append(parameter.borderStraight)
+            .append('|').append(parameter.borderGamma)
+            .append('|').append(parameter.shadowOffsetX)
+            .append('|').append(parameter.shadowOffsetY)
+            .append('|').append(color(parameter.shadowColor))
+            .append('|').append(parameter.spaceX)
+            .append('|').append(parameter.spaceY)
+            .append('|').append(parameter.padTop).append(',').append(parameter.padRight)
+            .append(',').append(parameter.padBottom).append(',').append(parameter.padLeft)
+            .append('|').append(parameter.kerning)
+            .append('|').append(parameter.characters);
+        return parameter.size + "-" + crc(description.toString().getBytes(UTF8));
+    }
+
+    private static String color(Color color) {
+        return color == null ? "-" : color.toString();
+    }
+
+    private static String crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return String.format("%08x", crc.getValue());
+    }
+
+    /**
+     * Удаляет записи другого файла шрифта и записи, не входящие в список ключей
+     */
+    void prune(String[] keys) {
+        if (!root.isDirectory()) return;
+
+        for (FileHandle fontDirectory : root.list()) {
+            if (!fontDirectory.name().equals(fontHash)) {
+                fontDirectory.deleteDirectory();
+                Gdx.app.log("FontCache", "Removed stale font cache " + fontDirectory.name());
+            }
+        }
+        if (!directory.isDirectory()) return;
+
+        for (FileHandle file : directory.list()) {
+            if (!belongsToAny(file.name(), keys)) {
+                file.delete();
+            }
+        }
+    }
+
+    private static boolean belongsToAny(String fileName, String[] keys) {
+        for (String key : keys) {
+            if (fileName.startsWith(key + ".") || fileName.startsWith(key + "_")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Загружает запись кэша
+     * @return запись или null, если ее нет или она повреждена
+     */
+    Entry load(String key) {
+        FileHandle fontFile = directory.child(key + ".fnt");
+        if (!fontFile.exists()) return null;
+
+        Pixmap[] pages = null;
+        try {
+            BitmapFontData data = new BitmapFontData(fontFile, false);
+            pages = new Pixmap[data.getImagePaths().length];
+            for (int i = 0; i < pages.length; i++) {
+                pages[i] = new Pixmap(Gdx.files.local(data.getImagePath(i)));
+            }
+            return new Entry(data, pages);
+        } catch (Exception e) {
+            Gdx.app.error("FontCache", "Corrupted font cache entry " + key + ", regenerating", e);
+            if (pages != null) {
+                for (Pixmap page : pages) {
+                    if (page != null) page.dispose();
+                }
+            }
+            delete(key);
+            return null;
+        }
+    }
+
+    /**
+     * Сохраняет сгенерированный шрифт. Ошибки записи не мешают работе: шрифт
+     * просто будет сгенерирован заново при следующем запуске.
+     * @param data Описание шрифта
+     * @param pages Страницы упаковщика, в которые растеризованы глифы
+     */
+    void save(String key, BitmapFontData data, Array<PixmapPacker.Page> pages) {
+        try {
+            StringBuilder text = new StringBuilder();
+            writeHeader(text, data, pages);
+            for (int i = 0; i < pages.size; i++) {
+                String pageName = key + "_" + i + ".png";
+                PixmapIO.writePNG(directory.child(pageName), pages.get(i).getPixmap());
+                text.append("page id=").append(i).append(" file=\"").append(pageName).append("\"\n");
+            }
+            writeGlyphs(text, data);
+
+            // Описание записывается последним и переименовывается целиком:
+            // без него запись не считается сохраненной
+            FileHandle temp = directory.child(key + ".tmp");
+            temp.writeString(text.toString(), false, "UTF-8");
+            temp.moveTo(directory.child(key + ".fnt"));
+        } catch (Exception e) {
+            Gdx.app.error("FontCache", "Failed to save font cache entry " + key, e);
+            delete(key);
+        }
+    }
+
+    private static void writeHeader(StringBuilder text, BitmapFontData data, Array<PixmapPacker.Page> pages) {
+        Pixmap firstPage = pages.first().getPixmap();
+        text.append("info face=\"").append(data.name).append("\" size=0 bold=0 italic=0 charset=\"\" unicode=1")
+            .append(" stretchH=100 smooth=1 aa=1 padding=")
+            .append((int) data.padTop).append(',').append((int) data.padRight).append(',')
+            .append((int) data.padBottom).append(',').append((int) data.padLeft)
+            .append(" spacing=0,0\n");
+        // Базовая линия FreeType - верхняя граница заглавных букв плюс ascent
+        text.append("common lineHeight=").append(Math.round(data.lineHeight))
+            .append(" base=").append(Math.round(data.ascent + data.capHeight))
+            .append(" scaleW=").append(firstPage.getWidth())
+            .append(" scaleH=").append(firstPage.getHeight())
+            .append(" pages=").append(pages.size)
+            .append(" packed=0\n");
+    }
+
+    private static void writeGlyphs(StringBuilder text, BitmapFontData data) {
+        Array<Glyph> glyphs = new Array<>();
+        for (Glyph[] page : data.glyphs) {
+            if (page == null) continue;
+            for (Glyph glyph : page) {
+                if (glyph != null) glyphs.add(glyph);
+            }
+        }
+
+        text.append("chars count=").append(glyphs.size).append('\n');
+        for (Glyph glyph : glyphs) {
+            // В формате BMFont yoffset отсчитывается вниз от верха строки
+            text.append("char id=").append(glyph.id)
+                .append(" x=").append(glyph.srcX)
+                .append(" y=").append(glyph.srcY)
+                .append(" width=").append(glyph.width)
+                .append(" height=").append(glyph.height)
+                .append(" xoffset=").append(glyph.xoffset)
+                .append(" yoffset=").append(-(glyph.height + glyph.yoffset))
+                .append(" xadvance=").append(glyph.xadvance)
+                .append(" page=").append(glyph.page)
+                .append(" chnl=0\n");
+        }
+
+        StringBuilder kernings = new StringBuilder();
+        int kerningCount = 0;
+        for (int i = 0; i < glyphs.size; i++) {
+            Glyph first = glyphs.get(i);
+            for (int j = 0; j < glyphs.size; j++) {
+                Glyph second = glyphs.get(j);
+                int amount = first.getKerning((char) second.id);
+                if (amount != 0) {
+                    kernings.append("kerning first=").append(first.id)
+                        .append(" second=").append(second.id)
+                        .append(" amount=").append(amount).append('\n');
+                    kerningCount++;
+                }
+            }
+        }
+        text.append("kernings count=").append(kerningCount).append('\n').append(kernings);
+
+        // Точные метрики FreeType: без этой строки BitmapFontData вычислил бы их по глифам
+        text.append("metrics ascent=").append(data.ascent)
+            .append(" descent=").append(data.descent)
+            .append(" down=").append(data.down)
+            .append(" capHeight=").append(data.capHeight)
+            .append(" lineHeight=").append(data.lineHeight)
+            .append(" spaceXAdvance=").append(data.spaceXadvance)
+            .append(" xHeight=").append(data.xHeight)
+            .append('\n');
+    }
+
+    private void delete(String key) {
+        if (!directory.isDirectory()) return;
+        for (FileHandle file : directory.list()) {
+            if (belongsToAny(file.name(), new String[] {key})) {
+                file.delete();
+            }
+        }
+    }
+}
@@ -1,44 +1,180 @@
 package com.badlogic.drop.util;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeBitmapFontData;
 import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 
 /**
  * Менеджер шрифтов для улучшенного качества текста в игре
- * Поддерживает как стандартные BitmapFont, так и генерацию из TTF через FreeType
+ * Основной вариант - шрифты с полем расстояний ({@link SdfFont}) из атласа, собранного при сборке:
+ * все размеры используют одну текстуру и ничего не генерируется при запуске.
+ * Если атлас или шейдер недоступны, шрифты генерируются из TTF через FreeType
+ * или заменяются стандартными BitmapFont.
  */
 public class FontManager implements Disposable {
+    private static final String FONT_FILE = "fonts/roboto.ttf";
+    
+    // Атлас шрифта с полем расстояний (задача Gradle generateSdfFont)
+    private static final String SDF_FONT_FILE = "fonts/sdf/roboto-sdf.fnt";
+    private static final String SDF_PAGE_FILE = "fonts/sdf/roboto-sdf.png";
+
+    // Полный набор символов, включая кириллицу
+    private static final String ALL_CHARS = FreeTypeFontGenerator.DEFAULT_CHARS
+            + "АБВГДЕЁЖЗИЙКЛМНОПРСТУФХЦЧШЩЪЫЬЭЮЯабвгдеёжзийклмнопрстуфхцчшщъыьэюя"
+            + "ІЇҐЄіїґє";  // Украинские символы
+
+    // Номера шрифтов (порядок параметров в createFontParameters)
+    private static final int TITLE = 0;
+    private static final int UI = 1;
+    private static final int GAME = 2;
+    private static final int SMALL = 3;
+    private static final int FONT_COUNT = 4;
+    
+    // Размеры и ширина обводки шрифтов (TITLE, UI, GAME, SMALL)
+    private static final int[] FONT_SIZES = {72, 36, 28, 18};
+    private static final float[] BORDER_WIDTHS = {2f, 1.5f, 1f, 0.5f};
+    
+    // Тень заголовков
+    private static final float TITLE_SHADOW_OFFSET = 3;
+    private static final Color TITLE_SHADOW_COLOR = new Color(0, 0, 0, 0.5f);
+
+    // Масштабы стандартного шрифта, если FreeType недоступен (TITLE, UI, GAME, SMALL)
+    private static final float[] FALLBACK_SCALES = {3.0f, 2.5f, 2.0f, 1.5f};
+
+    // Размер страницы глифов при фоновой генерации
+    private static final int PACKER_PAGE_SIZE = 1024;
+
     // Шрифты
     private BitmapFont titleFont;
     private BitmapFont uiFont;
     private BitmapFont gameFont;
     private BitmapFont smallFont;
     
-    // Генератор шрифтов (используется, если доступна библиотека FreeType)
-    private FreeTypeFontGenerator fontGenerator;
+    // Исходный масштаб каждого шрифта (у стандартных шрифтов он больше 1)
+    private final float[] baseScales = {1f, 1f, 1f, 1f};
+    
+    // Используется ли библиотека FreeType
     private boolean freeTypeAvailable;
     
+    // Дисковый кэш шрифтов FreeType
+    private FontCache fontCache;
+    
+    // Общая страница и шейдер шрифтов с полем расстояний
+    private Texture distanceFieldPage;
+    private ShaderProgram distanceFieldShader;
+    
     /**
      * Создает менеджер шрифтов и инициализирует базовые шрифты
      */
     public FontManager() {
-        // Проверяем доступность FreeType
+        if (initializeWithDistanceField()) return;
+        checkFreeType();
+        initializeFonts();
+    }
+    
+    /**
+     * Создает менеджер шрифтов с фоновой генерацией: растеризация глифов FreeType выполняется
+     * на пуле потоков загрузчика, в потоке отрисовки остается только загрузка страниц в GPU.
+     * Шрифты доступны после завершения задач загрузчика.
+     * @param loader Загрузчик, на котором выполняется генерация
+     */
+    public FontManager(AsyncLoader loader) {
+        // Атлас полей расстояний загружается сразу: генерировать нечего
+        if (initializeWithDistanceField()) return;
+        checkFreeType();
+        if (!freeTypeAvailable) {
+            initializeWithBitmapFonts();
+            return;
+        }
+        
+        for (FontJob job : createFontJobs()) {
+            loader.submit(job);
+        }
+    }
+    
+    /**
+     * Загружает шрифты с полем расстояний: одна страница атласа на все размеры,
+     * обводка и тень рисуются шейдером.
+     * @return false, если атлас не собран или шейдер не поддерживается
+     */
+    private boolean initializeWithDistanceField() {
+        FileHandle fontFile = Gdx.files.internal(SDF_FONT_FILE);
+        if (!fontFile.exists()) {
+            Gdx.app.log("FontManager", "Distance field font not found, falling back to FreeType");
+            return false;
+        }
+        
+        long start = System.nanoTime();
+        distanceFieldShader = GameBatch.compileShader();
+        if (distanceFieldShader == null) {
+            return false;
+        }
+        
+        try {
+            // Шейдеру нужна только альфа: поле расстояний хранится в одном канале
+            distanceFieldPage = new Texture(Gdx.files.internal(SDF_PAGE_FILE), Pixmap.Format.Alpha, false);
+            distanceFieldPage.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+            TextureRegion page = new TextureRegion(distanceFieldPage);
+            
+            for (int i = 0; i < FONT_COUNT; i++) {
+                float shadowOffset = i == TITLE ? TITLE_SHADOW_OFFSET : 0;
+                SdfFont font = new SdfFont(fontFile, page, distanceFieldShader, FONT_SIZES[i],
+                        BORDER_WIDTHS[i], Color.BLACK, shadowOffset, TITLE_SHADOW_COLOR);
+                font.setUseIntegerPositions(false);
+                setFont(i, font);
+            }
+        } catch (Exception e) {
+            Gdx.app.error("FontManager", "Error loading distance field fonts", e);
+            disposeDistanceField();
+            return false;
+        }
+        
+        Gdx.app.log("FontManager", String.format("Distance field fonts loaded in %.1f ms, page %dx%d",
+                (System.nanoTime() - start) / 1e6, distanceFieldPage.getWidth(), distanceFieldPage.getHeight()));
+        return true;
+    }
+    
+    /**
+     * Освобождает страницу и шейдер шрифтов с полем расстояний
+     */
+    private void disposeDistanceField() {
+        for (int i = 0; i < FONT_COUNT; i++) {
+            setFont(i, null);
+        }
+        if (distanceFieldPage != null) {
+            distanceFieldPage.dispose();
+            distanceFieldPage = null;
+        }
+        if (distanceFieldShader != null) {
+            distanceFieldShader.dispose();
+            distanceFieldShader = null;
+        }
+    }
+    
+    /**
+     * Проверяет доступность FreeType
+     */
+    private void checkFreeType() {
         try {
-            // Пробуем создать генератор - если не получается, 
+            // Пробуем найти генератор - если не получается, 
             // будем использовать стандартные шрифты
             Class.forName("com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator");
             freeTypeAvailable = true;
         } catch (ClassNotFoundException e) {
             freeTypeAvailable = false;
         }
-        
-        initializeFonts();
     }
     
     /**
@@ -53,101 +189,213 @@ public class FontManager implements Disposable {
     }
     
     /**
-     * Инициализирует шрифты с использованием FreeType (если доступен)
+     * Инициализирует шрифты с использованием FreeType (если доступен).
+     * Задачи генерации выполняются сразу в потоке отрисовки; шрифт, который
+     * не удалось сгенерировать, заменяется стандартным.
      */
     private void initializeWithFreeType() {
-        try {
-            // Создаем внутренний шрифт, который встроен в LibGDX
-            fontGenerator = new FreeTypeFontGenerator(Gdx.files.internal("fonts/roboto.ttf"));
-            
-            // Полный набор символов, включая кириллицу
-            String allChars = FreeTypeFontGenerator.DEFAULT_CHARS 
-                    + "АБВГДЕЁЖЗИЙКЛМНОПРСТУФХЦЧШЩЪЫЬЭЮЯабвгдеёжзийклмнопрстуфхцчшщъыьэюя"
-                    + "ІЇҐЄіїґє";  // Украинские символы
-            
-            // Параметры для заголовков
-            FreeTypeFontParameter titleParams = new FreeTypeFontParameter();
-            titleParams.size = 72;
-            titleParams.color = Color.WHITE;
-            titleParams.borderWidth = 2;
-            titleParams.borderColor = Color.BLACK;
-            titleParams.shadowOffsetX = 3;
-            titleParams.shadowOffsetY = 3;
-            titleParams.shadowColor = new Color(0, 0, 0, 0.5f);
-            titleParams.minFilter = Texture.TextureFilter.Linear;
-            titleParams.magFilter = Texture.TextureFilter.Linear;
-            titleParams.characters = allChars;
-            
-            // Параметры для UI шрифта
-            FreeTypeFontParameter uiParams = new FreeTypeFontParameter();
-            uiParams.size = 36;
-            uiParams.color = Color.WHITE;
-            uiParams.borderWidth = 1.5f;
-            uiParams.borderColor = Color.BLACK;
-            uiParams.minFilter = Texture.TextureFilter.Linear;
-            uiParams.magFilter = Texture.TextureFilter.Linear;
-            uiParams.characters = allChars;
-            
-            // Параметры для игрового шрифта
-            FreeTypeFontParameter gameParams = new FreeTypeFontParameter();
-            gameParams.size = 28;
-            gameParams.color = Color.WHITE;
-            gameParams.borderWidth = 1;
-            gameParams.borderColor = Color.BLACK;
-            gameParams.minFilter = Texture.TextureFilter.Linear;
-            gameParams.magFilter = Texture.TextureFilter.Linear;
-            gameParams.characters = allChars;
-            
-            // Параметры для маленького шрифта
-            FreeTypeFontParameter smallParams = new FreeTypeFontParameter();
-            smallParams.size = 18;
-            smallParams.color = Color.WHITE;
-            smallParams.borderWidth = 0.5f;
-            smallParams.borderColor = Color.BLACK;
-            smallParams.minFilter = Texture.TextureFilter.Linear;
-            smallParams.magFilter = Texture.TextureFilter.Linear;
-            smallParams.characters = allChars;
-            
-            // Генерируем шрифты
-            titleFont = fontGenerator.generateFont(titleParams);
-            uiFont = fontGenerator.generateFont(uiParams);
-            gameFont = fontGenerator.generateFont(gameParams);
-            smallFont = fontGenerator.generateFont(smallParams);
-            
-        } catch (Exception e) {
-            // В случае ошибки, переходим на стандартные шрифты
-            Gdx.app.error("FontManager", "Error initializing FreeType fonts", e);
-            initializeWithBitmapFonts();
+        for (FontJob job : createFontJobs()) {
+            try {
+                job.prepare();
+            } catch (Exception e) {
+                job.failed(e);
+                continue;
+            }
+            job.finish();
         }
     }
     
     /**
-     * Инициализирует стандартные шрифты LibGDX с улучшенным качеством
+     * Создает задачи генерации всех шрифтов и удаляет из кэша записи,
+     * которые им больше не соответствуют
      */
-    private void initializeWithBitmapFonts() {
-        // Создаем шрифты из стандартного BitmapFont
-        titleFont = new BitmapFont();
-        uiFont = new BitmapFont();
-        gameFont = new BitmapFont();
-        smallFont = new BitmapFont();
+    private FontJob[] createFontJobs() {
+        fontCache = new FontCache(Gdx.files.internal(FONT_FILE));
+        FreeTypeFontParameter[] parameters = createFontParameters();
+        FontJob[] jobs = new FontJob[FONT_COUNT];
+        String[] keys = new String[FONT_COUNT];
+        for (int i = 0; i < FONT_COUNT; i++) {
+            keys[i] = fontCache.key(parameters[i]);
+            jobs[i] = new FontJob(i, parameters[i], keys[i]);
+        }
+        fontCache.prune(keys);
+        return jobs;
+    }
+    
+    /**
+     * Создает параметры генерации всех шрифтов (индексы TITLE, UI, GAME, SMALL)
+     */
+    private static FreeTypeFontParameter[] createFontParameters() {
+        FreeTypeFontParameter[] parameters = new FreeTypeFontParameter[FONT_COUNT];
         
-        // Устанавливаем масштаб для каждого шрифта
-        titleFont.getData().setScale(3.0f);
-        uiFont.getData().setScale(2.5f);
-        gameFont.getData().setScale(2.0f);
-        smallFont.getData().setScale(1.5f);
+        // Параметры для заголовков
+        FreeTypeFontParameter titleParams = new FreeTypeFontParameter();
+        titleParams.size = FONT_SIZES[TITLE];
+        titleParams.color = Color.WHITE;
+        titleParams.borderWidth = BORDER_WIDTHS[TITLE];
+        titleParams.borderColor = Color.BLACK;
+        titleParams.shadowOffsetX = (int) TITLE_SHADOW_OFFSET;
+        titleParams.shadowOffsetY = (int) TITLE_SHADOW_OFFSET;
+        titleParams.shadowColor = TITLE_SHADOW_COLOR;
+        titleParams.minFilter = Texture.TextureFilter.Linear;
+        titleParams.magFilter = Texture.TextureFilter.Linear;
+        titleParams.characters = ALL_CHARS;
+        parameters[TITLE] = titleParams;
         
-        // Применяем линейную фильтрацию для сглаживания
-        titleFont.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        uiFont.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        gameFont.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
-        smallFont.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        // Параметры для UI шрифта
+        FreeTypeFontParameter uiParams = new FreeTypeFontParameter();
+        uiParams.size = FONT_SIZES[UI];
+        uiParams.color = Color.WHITE;
+        uiParams.borderWidth = BORDER_WIDTHS[UI];
+        uiParams.borderColor = Color.BLACK;
+        uiParams.minFilter = Texture.TextureFilter.Linear;
+        uiParams.magFilter = Texture.TextureFilter.Linear;
+        uiParams.characters = ALL_CHARS;
+        parameters[UI] = uiParams;
+        
+        // Параметры для игрового шрифта
+        FreeTypeFontParameter gameParams = new FreeTypeFontParameter();
+        gameParams.size = FONT_SIZES[GAME];
+        gameParams.color = Color.WHITE;
+        gameParams.borderWidth = BORDER_WIDTHS[GAME];
+        gameParams.borderColor = Color.BLACK;
+        gameParams.minFilter = Texture.TextureFilter.Linear;
+        gameParams.magFilter = Texture.TextureFilter.Linear;
+        gameParams.characters = ALL_CHARS;
+        parameters[GAME] = gameParams;
         
+        // Параметры для маленького шрифта
+        FreeTypeFontParameter smallParams = new FreeTypeFontParameter();
+        smallParams.size = FONT_SIZES[SMALL];
+        smallParams.color = Color.WHITE;
+        smallParams.borderWidth = BORDER_WIDTHS[SMALL];
+        smallParams.borderColor = Color.BLACK;
+        smallParams.minFilter = Texture.TextureFilter.Linear;
+        smallParams.magFilter = Texture.TextureFilter.Linear;
+        smallParams.characters = ALL_CHARS;
+        parameters[SMALL] = smallParams;
+        
+        return parameters;
+    }
+    
+    /**
+     * Генерация одного шрифта в фоне. В рабочем потоке шрифт читается из дискового кэша
+     * или глифы растеризуются в страницы собственного {@link PixmapPacker} и сохраняются
+     * в кэш (без OpenGL), в потоке отрисовки страницы загружаются в текстуры
+     * и собирается {@link BitmapFont}.
+     */
+    private class FontJob extends AsyncLoader.Job {
+        private final int index;
+        private final FreeTypeFontParameter parameter;
+        private final String cacheKey;
+        private PixmapPacker packer;
+        private FreeTypeBitmapFontData data;
+        private FontCache.Entry cached;
+        private long prepareNanos;
+        
+        FontJob(int index, FreeTypeFontParameter parameter, String cacheKey) {
+            this.index = index;
+            this.parameter = parameter;
+            this.cacheKey = cacheKey;
+        }
+        
+        @Override
+        protected void prepare() {
+            long start = System.nanoTime();
+            cached = fontCache.load(cacheKey);
+            if (cached == null) {
+                generate();
+                fontCache.save(cacheKey, data, packer.getPages());
+            }
+            prepareNanos = System.nanoTime() - start;
+        }
+        
+        private void generate() {
+            // Свой генератор на каждый поток: библиотека FreeType не потокобезопасна
+            FreeTypeFontGenerator generator = new FreeTypeFontGenerator(Gdx.files.internal(FONT_FILE));
+            try {
+                packer = new PixmapPacker(PACKER_PAGE_SIZE, PACKER_PAGE_SIZE, Pixmap.Format.RGBA8888, 1, false);
+                parameter.packer = packer;
+                data = generator.generateData(parameter);
+            } finally {
+                generator.dispose();
+            }
+        }
+        
+        @Override
+        protected void finish() {
+            long start = System.nanoTime();
+            BitmapFont font;
+            if (cached != null) {
+                font = createCachedFont();
+            } else {
+                Array<TextureRegion> regions = new Array<>();
+                packer.updateTextureRegions(regions, parameter.minFilter, parameter.magFilter, parameter.genMipMaps);
+                packer.dispose();
+                data.regions = regions;
+                font = new BitmapFont(data, regions, true);
+            }
+            font.setOwnsTexture(true);
+            setFont(index, font);
+            
+            Gdx.app.log("FontManager", String.format("Font %d: cache %s, loaded in %.1f ms",
+                    parameter.size, cached != null ? "hit" : "miss", (prepareNanos + System.nanoTime() - start) / 1e6));
+        }
+        
+        /**
+         * Собирает шрифт из записи кэша, загружая ее страницы в текстуры
+         */
+        private BitmapFont createCachedFont() {
+            Array<TextureRegion> regions = new Array<>(cached.pages.length);
+            for (Pixmap page : cached.pages) {
+                Texture texture = new Texture(page, parameter.genMipMaps);
+                texture.setFilter(parameter.minFilter, parameter.magFilter);
+                regions.add(new TextureRegion(texture));
+                page.dispose();
+            }
+            return new BitmapFont(cached.data, regions, true);
+        }
+        
+        @Override
+        protected void failed(Throwable error) {
+            Gdx.app.error("FontManager", "Error generating FreeType font " + parameter.size, error);
+            if (packer != null) packer.dispose();
+            baseScales[index] = FALLBACK_SCALES[index];
+            setFont(index, createBitmapFont(FALLBACK_SCALES[index]));
+        }
+    }
+    
+    private void setFont(int index, BitmapFont font) {
+        switch (index) {
+            case TITLE: titleFont = font; break;
+            case UI: uiFont = font; break;
+            case GAME: gameFont = font; break;
+            default: smallFont = font; break;
+        }
+    }
+    
+    /**
+     * Создает стандартный шрифт LibGDX с масштабом и сглаживанием
+     */
+    private static BitmapFont createBitmapFont(float scale) {
+        BitmapFont font = new BitmapFont();
+        font.getData().setScale(scale);
+        // Применяем линейную фильтрацию для сглаживания
+        font.getRegion().getTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
         // Отключаем привязку к целым пикселям для более гладкого рендеринга
-        titleFont.setUseIntegerPositions(false);
-        uiFont.setUseIntegerPositions(false);
-        gameFont.setUseIntegerPositions(false);
-        smallFont.setUseIntegerPositions(false);
+        font.setUseIntegerPositions(false);
+        return font;
+    }
+    
+    /**
+     * Инициализирует стандартные шрифты LibGDX с улучшенным качеством
+     */
+    private void initializeWithBitmapFonts() {
+        titleFont = createBitmapFont(FALLBACK_SCALES[TITLE]);
+        uiFont = createBitmapFont(FALLBACK_SCALES[UI]);
+        gameFont = createBitmapFont(FALLBACK_SCALES[GAME]);
+        smallFont = createBitmapFont(FALLBACK_SCALES[SMALL]);
+        System.arraycopy(FALLBACK_SCALES, 0, baseScales, 0, FONT_COUNT);
     }
     
     /**
@@ -207,6 +455,23 @@ public class FontManager implements Disposable {
         if (smallFont != null) smallFont.setColor(Color.WHITE);
     }
     
+    /**
+     * Возвращает шрифтам исходное состояние: белый цвет и исходный масштаб.
+     * Экраны меняют масштаб общих шрифтов под свои надписи, поэтому при выходе
+     * с экрана шрифты сбрасываются этим методом вместо повторной генерации.
+     */
+    public void resetFontStyles() {
+        resetFontColors();
+        resetScale(titleFont, TITLE);
+        resetScale(uiFont, UI);
+        resetScale(gameFont, GAME);
+        resetScale(smallFont, SMALL);
+    }
+    
+    private void resetScale(BitmapFont font, int index) {
+        if (font != null) font.getData().setScale(baseScales[index]);
+    }
+    
     /**
      * Освобождение ресурсов
      */
@@ -216,6 +481,8 @@ public class FontManager implements Disposable {
         if (uiFont != null) uiFont.dispose();
         if (gameFont != null) gameFont.dispose();
         if (smallFont != null) smallFont.dispose();
-        if (fontGenerator != null) fontGenerator.dispose();
+        // Страница шрифтов с полем расстояний общая и шрифтам не принадлежит
+        if (distanceFieldPage != null) distanceFieldPage.dispose();
+        if (distanceFieldShader != null) distanceFieldShader.dispose();
     }
 } 
\ No newline at end of file
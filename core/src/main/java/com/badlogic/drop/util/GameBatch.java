@@ -0,0 +1,151 @@
+package com.badlogic.drop.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+
+/**
+ * Основной батч игры. Его шейдер рисует обычные спрайты и, кроме того, текст шрифтов
+ * с полем расстояний ({@link SdfFont}).
+ *
+ * Режим поля расстояний включается, когда батч переключается на текстуру такого шрифта.
+ * Батч и так сбрасывает вершины при смене текстуры, поэтому текст не добавляет
+ * вызовов отрисовки. Отдельный сброс нужен только при смене оформления текста
+ * (шрифт другого размера, обводка, тень).
+ *
+ * Если шейдер не компилируется, батч работает как обычный SpriteBatch.
+ */
+public class GameBatch extends SpriteBatch {
+    private static final String VERTEX_SHADER =
+        "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+        "attribute vec4 " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" +
+        "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" +
+        "uniform mat4 u_projTrans;\n" +
+        "varying vec4 v_color;\n" +
+        "varying vec2 v_texCoords;\n" +
+        "void main() {\n" +
+        "    v_color = " + ShaderProgram.COLOR_ATTRIBUTE + ";\n" +
+        "    v_color.a = v_color.a * (255.0 / 254.0);\n" +
+        "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n" +
+        "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n" +
+        "}\n";
+
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\n" +
+        "#define LOWP lowp\n" +
+        "precision mediump float;\n" +
+        "#else\n" +
+        "#define LOWP\n" +
+        "#endif\n" +
+        "varying LOWP vec4 v_color;\n" +
+        "varying vec2 v_texCoords;\n" +
+        "uniform sampler2D u_texture;\n" +
+        "uniform float u_distanceField;\n" +   // 1 - текстура шрифта с полем расстояний
+        "uniform float u_smoothing;\n" +       // ширина сглаживания края в единицах поля
+        "uniform float u_outline;\n" +         // ширина обводки в единицах поля
+        "uniform vec4 u_outlineColor;\n" +
+        "uniform vec2 u_shadowOffset;\n" +     // смещение тени в координатах текстуры
+        "uniform vec4 u_shadowColor;\n" +
+        "void main() {\n" +
+        "    if (u_distanceField < 0.5) {\n" +
+        "        gl_FragColor = v_color * texture2D(u_texture, v_texCoords);\n" +
+        "        return;\n" +
+        "    }\n" +
+        "    float edge = 0.5 - u_outline;\n" +
+        "    float distance = texture2D(u_texture, v_texCoords).a;\n" +
+        "    float fill = smoothstep(0.5 - u_smoothing, 0.5 + u_smoothing, distance);\n" +
+        "    float body = smoothstep(edge - u_smoothing, edge + u_smoothing, distance);\n" +
+        "    vec4 text = vec4(mix(u_outlineColor.rgb, v_color.rgb, fill), body * mix(u_outlineColor.a, 1.0, fill) * v_color.a);\n" +
+        // Тень - тот же глиф с обводкой, смещенный и залитый цветом тени; текст рисуется поверх
+        "    float shadowDistance = texture2D(u_texture, v_texCoords - u_shadowOffset).a;\n" +
+        "    float shadow = smoothstep(edge - u_smoothing, edge + u_smoothing, shadowDistance) * u_shadowColor.a * v_color.a;\n" +
+        "    float alpha = text.a + shadow * (1.0 - text.a);\n" +
+        "    vec3 color = (text.rgb * text.a + u_shadowColor.rgb * shadow * (1.0 - text.a)) / max(alpha, 0.001);\n" +
+        "    gl_FragColor = vec4(color, alpha);\n" +
+        "}\n";
+
+    // Шейдер батча (null - шейдеры полей расстояний недоступны)
+    private final ShaderProgram combinedShader;
+
+    // Текущее состояние uniform-переменных шейдера
+    private boolean distanceFieldActive;
+    private SdfFont styleFont;
+    private float styleScale;
+
+    public GameBatch() {
+        this(compileShader());
+    }
+
+    private GameBatch(ShaderProgram shader) {
+        super(1000, shader);
+        combinedShader = shader;
+    }
+
+    /**
+     * Компилирует шейдер спрайтов с поддержкой полей расстояний.
+     * Подходит и как пользовательский шейдер обычного SpriteBatch.
+     * @return шейдер или null, если он не компилируется
+     */
+    public static ShaderProgram compileShader() {
+        try {
+            ShaderProgram program = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+            if (program.isCompiled()) {
+                return program;
+            }
+            Gdx.app.error("GameBatch", "Шейдер полей расстояний не скомпилирован: " + program.getLog());
+            program.dispose();
+        } catch (Exception e) {
+            Gdx.app.error("GameBatch", "Шейдеры недоступны", e);
+        }
+        return null;
+    }
+
+    /**
+     * Возвращает true, если батч умеет рисовать шрифты с полем расстояний
+     */
+    public boolean isDistanceFieldSupported() {
+        return combinedShader != null;
+    }
+
+    /**
+     * Подготавливает оформление текста шрифта перед отрисовкой.
+     * Сбрасывает батч, только если оформление отличается от текущего.
+     * @return false, если батч не может рисовать этот шрифт сам (пользовательский шейдер)
+     */
+    boolean applyTextStyle(SdfFont font) {
+        if (combinedShader == null || getShader() != combinedShader || !isDrawing()) {
+            return false;
+        }
+
+        float scale = font.getScaleX();
+        if (font != styleFont || scale != styleScale) {
+            flush();
+            font.applyStyle(combinedShader);
+            styleFont = font;
+            styleScale = scale;
+        }
+        return true;
+    }
+
+    @Override
+    protected void switchTexture(Texture texture) {
+        super.switchTexture(texture);
+
+        // Вершины предыдущей текстуры уже отрисованы - переключаем режим шейдера
+        if (combinedShader == null || getShader() != combinedShader) return;
+        boolean distanceField = styleFont != null && texture == styleFont.getRegion().getTexture();
+        if (distanceField != distanceFieldActive) {
+            combinedShader.setUniformf("u_distanceField", distanceField ? 1f : 0f);
+            distanceFieldActive = distanceField;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        if (combinedShader != null) {
+            combinedShader.dispose();
+        }
+    }
+}
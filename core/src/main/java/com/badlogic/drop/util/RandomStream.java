@@ -0,0 +1,87 @@
+package com.badlogic.drop.util;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+/**
+ * Отдельный поток случайных чисел с собственным зерном.
+ * Основан на генераторе xorshift128+ из libGDX ({@link RandomXS128}): быстрый,
+ * без синхронизации и полностью воспроизводимый при одинаковом зерне.
+ *
+ * Методы повторяют поведение одноименных методов {@link com.badlogic.gdx.math.MathUtils},
+ * чтобы замена глобального генератора не меняла распределения в игровом коде.
+ */
+public class RandomStream extends RandomXS128 {
+    private static final long serialVersionUID = 1L;
+
+    // Для перемешивания зерен разных потоков (золотое сечение, как в SplitMix64)
+    private static final long STREAM_INCREMENT = 0x9E3779B97F4A7C15L;
+
+    private long seed;
+
+    public RandomStream(long seed) {
+        super(seed);
+        this.seed = seed;
+    }
+
+    /**
+     * Задает зерно потока и начинает последовательность сначала
+     */
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        this.seed = seed;
+    }
+
+    /**
+     * Возвращает зерно, с которым поток был запущен
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Вычисляет зерно отдельного потока из общего зерна сессии.
+     * Разные номера потоков дают независимые последовательности.
+     * @param sessionSeed Зерно сессии
+     * @param stream Номер потока
+     */
+    public static long deriveSeed(long sessionSeed, int stream) {
+        return sessionSeed + (stream + 1) * STREAM_INCREMENT;
+    }
+
+    /**
+     * Случайное число от 0 до 1 (не включая 1)
+     */
+    public float random() {
+        return nextFloat();
+    }
+
+    /**
+     * Случайное целое число от 0 до range включительно
+     */
+    public int random(int range) {
+        return nextInt(range + 1);
+    }
+
+    /**
+     * Случайное целое число от start до end включительно
+     */
+    public int random(int start, int end) {
+        return start + nextInt(end - start + 1);
+    }
+
+    /**
+     * Случайное число от start до end (не включая end)
+     */
+    public float random(float start, float end) {
+        return start + nextFloat() * (end - start);
+    }
+
+    /**
+     * Возвращает true с указанной вероятностью
+     * @param chance Вероятность от 0 до 1
+     */
+    public boolean randomBoolean(float chance) {
+        return nextFloat() < chance;
+    }
+}
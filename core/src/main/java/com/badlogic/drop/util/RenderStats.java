@@ -0,0 +1,105 @@
+package com.badlogic.drop.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+
+/**
+ * Счетчики отрисовки для проверки батчинга.
+ *
+ * Для основного прохода берется {@link SpriteBatch#renderCalls} (сколько раз батч сбросил
+ * вершины на GPU), для всего кадра - вызовы отрисовки и привязки текстур из {@link GLProfiler}.
+ * Раз в секунду в лог выводятся среднее и максимум за интервал, а также число игровых
+ * объектов в самом загруженном кадре.
+ *
+ * Профайлер оборачивает все вызовы OpenGL, поэтому счетчики включаются только по настройке.
+ */
+public class RenderStats {
+    private static final float REPORT_INTERVAL = 1f;
+
+    private final GLProfiler profiler;
+    private final String tag;
+
+    // Накопленные значения за интервал отчета
+    private float timeSinceReport;
+    private int frames;
+    private long batchCallsSum;
+    private int batchCallsMax;
+    private long drawCallsSum;
+    private int drawCallsMax;
+    private long textureBindsSum;
+    private int textureBindsMax;
+    private int objectsAtMax;
+
+    /**
+     * @param tag Тег для записи в лог (обычно имя экрана)
+     */
+    public RenderStats(String tag) {
+        this.tag = tag;
+        profiler = new GLProfiler(Gdx.graphics);
+        profiler.enable();
+    }
+
+    /**
+     * Сбрасывает счетчики OpenGL перед отрисовкой кадра
+     */
+    public void beginFrame() {
+        profiler.reset();
+    }
+
+    /**
+     * Учитывает кадр после отрисовки
+     * @param delta Время кадра
+     * @param batch Батч основного прохода (после end())
+     * @param objects Количество игровых объектов в кадре
+     */
+    public void endFrame(float delta, SpriteBatch batch, int objects) {
+        int batchCalls = batch.renderCalls;
+        int drawCalls = profiler.getDrawCalls();
+        int textureBinds = profiler.getTextureBindings();
+
+        frames++;
+        batchCallsSum += batchCalls;
+        drawCallsSum += drawCalls;
+        textureBindsSum += textureBinds;
+        if (batchCalls > batchCallsMax) {
+            batchCallsMax = batchCalls;
+            objectsAtMax = objects;
+        }
+        drawCallsMax = Math.max(drawCallsMax, drawCalls);
+        textureBindsMax = Math.max(textureBindsMax, textureBinds);
+
+        timeSinceReport += delta;
+        if (timeSinceReport >= REPORT_INTERVAL) {
+            report();
+        }
+    }
+
+    /**
+     * Отключает профайлер
+     */
+    public void dispose() {
+        profiler.disable();
+    }
+
+    private void report() {
+        Gdx.app.log(tag, "Отрисовка за " + frames + " кадров: батч " + average(batchCallsSum) + " (макс. " +
+            batchCallsMax + " на " + objectsAtMax + " объектов), всего вызовов " + average(drawCallsSum) +
+            " (макс. " + drawCallsMax + "), привязок текстур " + average(textureBindsSum) +
+            " (макс. " + textureBindsMax + ")");
+
+        timeSinceReport = 0;
+        frames = 0;
+        batchCallsSum = 0;
+        batchCallsMax = 0;
+        drawCallsSum = 0;
+        drawCallsMax = 0;
+        textureBindsSum = 0;
+        textureBindsMax = 0;
+        objectsAtMax = 0;
+    }
+
+    private String average(long sum) {
+        return String.format("%.1f", (float) sum / frames);
+    }
+}
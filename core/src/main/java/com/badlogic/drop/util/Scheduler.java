@@ -0,0 +1,194 @@
+package com.badlogic.drop.util;
+
+/**
+ * Планировщик отложенных задач на игровом времени.
+ * Время продвигается только вызовом {@link #advance(float)}, поэтому на паузе
+ * (когда симуляция не обновляется) все таймеры естественным образом стоят.
+ *
+ * Задачи хранятся в двоичной куче по времени срабатывания. Если ни одна задача
+ * не наступила, {@link #advance(float)} выполняет одно сравнение с вершиной кучи.
+ * Задачи - заранее созданные объекты {@link Task}, которые можно планировать повторно
+ * без выделения памяти. Одна задача может стоять в очереди только один раз:
+ * повторное планирование переносит время срабатывания.
+ */
+public class Scheduler {
+    /**
+     * Задача планировщика. Экземпляр создается один раз и планируется многократно.
+     */
+    public abstract static class Task {
+        // Положение в куче (-1, если задача не запланирована)
+        private int heapIndex = -1;
+        // Время срабатывания в наносекундах игрового времени
+        private long dueTime;
+        // Порядковый номер планирования (для стабильного порядка задач с одинаковым временем)
+        private long sequence;
+
+        /**
+         * Выполняется, когда наступает время задачи. Задача уже удалена из очереди
+         * и может запланировать себя снова.
+         */
+        public abstract void run();
+
+        /**
+         * Проверяет, стоит ли задача в очереди
+         */
+        public boolean isScheduled() {
+            return heapIndex >= 0;
+        }
+    }
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private Task[] heap = new Task[INITIAL_CAPACITY];
+    private int size;
+
+    // Текущее время в наносекундах
+    private long now;
+    private long nextSequence;
+
+    /**
+     * Продвигает время и выполняет все наступившие задачи в порядке их времени
+     * @param delta Шаг времени в секундах
+     */
+    public void advance(float delta) {
+        if (delta > 0) {
+            now += (long) (delta * NANOS_PER_SECOND);
+        }
+
+        while (size > 0 && heap[0].dueTime <= now) {
+            Task task = heap[0];
+            removeAt(0);
+            task.run();
+        }
+    }
+
+    /**
+     * Планирует задачу через указанное время. Если задача уже запланирована, ее время переносится.
+     * @param task Задача
+     * @param delaySeconds Задержка в секундах от текущего времени
+     */
+    public void schedule(Task task, float delaySeconds) {
+        scheduleAt(task, now + (long) (Math.max(0f, delaySeconds) * NANOS_PER_SECOND));
+    }
+
+    /**
+     * Планирует задачу на указанный момент игрового времени
+     * @param task Задача
+     * @param timeNanos Время срабатывания в наносекундах
+     */
+    public void scheduleAt(Task task, long timeNanos) {
+        if (task.heapIndex >= 0) {
+            removeAt(task.heapIndex);
+        }
+        if (size == heap.length) {
+            Task[] newHeap = new Task[heap.length * 2];
+            System.arraycopy(heap, 0, newHeap, 0, size);
+            heap = newHeap;
+        }
+
+        task.dueTime = timeNanos;
+        task.sequence = nextSequence++;
+        task.heapIndex = size;
+        heap[size++] = task;
+        siftUp(task.heapIndex);
+    }
+
+    /**
+     * Отменяет задачу, если она запланирована
+     * @return true, если задача была в очереди
+     */
+    public boolean cancel(Task task) {
+        if (task.heapIndex < 0) return false;
+        removeAt(task.heapIndex);
+        return true;
+    }
+
+    /**
+     * Возвращает время до срабатывания задачи в секундах (0, если задача не запланирована)
+     */
+    public float getRemaining(Task task) {
+        if (task.heapIndex < 0) return 0;
+        return (task.dueTime - now) / (float) NANOS_PER_SECOND;
+    }
+
+    /**
+     * Отменяет все задачи и сбрасывает время к нулю
+     */
+    public void reset() {
+        for (int i = 0; i < size; i++) {
+            heap[i].heapIndex = -1;
+            heap[i] = null;
+        }
+        size = 0;
+        now = 0;
+    }
+
+    /**
+     * Возвращает текущее время в наносекундах
+     */
+    public long getTime() {
+        return now;
+    }
+
+    /**
+     * Возвращает количество запланированных задач
+     */
+    public int size() {
+        return size;
+    }
+
+    private void removeAt(int index) {
+        Task removed = heap[index];
+        removed.heapIndex = -1;
+        int last = --size;
+        if (index != last) {
+            Task moved = heap[last];
+            heap[index] = moved;
+            moved.heapIndex = index;
+            heap[last] = null;
+            // Перемещенный элемент может нарушать порядок в любую сторону
+            siftDown(index);
+            siftUp(moved.heapIndex);
+        } else {
+            heap[last] = null;
+        }
+    }
+
+    private void siftUp(int index) {
+        Task task = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            Task parentTask = heap[parent];
+            if (!before(task, parentTask)) break;
+            heap[index] = parentTask;
+            parentTask.heapIndex = index;
+            index = parent;
+        }
+        heap[index] = task;
+        task.heapIndex = index;
+    }
+
+    private void siftDown(int index) {
+        Task task = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && before(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!before(heap[child], task)) break;
+            heap[index] = heap[child];
+            heap[index].heapIndex = index;
+            index = child;
+        }
+        heap[index] = task;
+        task.heapIndex = index;
+    }
+
+    private static boolean before(Task a, Task b) {
+        if (a.dueTime != b.dueTime) return a.dueTime < b.dueTime;
+        return a.sequence < b.sequence;
+    }
+}
@@ -0,0 +1,184 @@
+package com.badlogic.drop.util;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.BufferedReader;
+
+/**
+ * Шрифт с полем расстояний (SDF). Глифы хранятся в одном атласе, сгенерированном при сборке
+ * (задача Gradle generateSdfFont), и остаются четкими при любом размере. Обводка и тень
+ * не запекаются в атлас, а рисуются шейдером, поэтому шрифты разных размеров и оформления
+ * используют одну текстуру.
+ *
+ * Масштаб шрифта включает переход от размера атласа к заданному размеру, так что
+ * setScale(1) соответствует размеру шрифта, как у шрифтов FreeType, и экраны задают масштаб так же.
+ * Метрики глифов остаются дробными (умножаются на масштаб при раскладке текста),
+ * до целых округляется только итоговое положение глифа.
+ *
+ * Текст рисуется шейдером {@link GameBatch}. Для других батчей (например, батчей сцен)
+ * на время отрисовки текста подставляется общий шейдер полей расстояний.
+ */
+public class SdfFont extends BitmapFont {
+    // Ширина сглаживания края в пикселях экрана (как в DistanceFieldFont из libGDX)
+    private static final float SMOOTHING = 0.25f;
+
+    private final ShaderProgram shader;
+    private final float spread;
+    private final float sizeScale;
+    private final float outline;
+    private final Color outlineColor;
+    private final float shadowOffsetU;
+    private final float shadowOffsetV;
+    private final Color shadowColor;
+
+    /**
+     * @param fontFile Описание атласа в формате BMFont
+     * @param page Страница атласа (общая для всех размеров)
+     * @param shader Шейдер {@link GameBatch#compileShader()} для батчей без поддержки полей расстояний
+     * @param size Размер шрифта в пикселях
+     * @param outlineWidth Ширина обводки в пикселях (0 - без обводки)
+     * @param outlineColor Цвет обводки
+     * @param shadowOffset Смещение тени вправо и вниз в пикселях (0 - без тени)
+     * @param shadowColor Цвет тени
+     */
+    public SdfFont(FileHandle fontFile, TextureRegion page, ShaderProgram shader, float size,
+                   float outlineWidth, Color outlineColor, float shadowOffset, Color shadowColor) {
+        super(new SdfFontData(fontFile), page, false);
+        this.shader = shader;
+
+        SdfFontData data = (SdfFontData) getData();
+        // Поле расстояний занимает отступ вокруг каждого глифа
+        spread = data.padTop;
+        sizeScale = size / readGeneratedSize(fontFile);
+        data.setSizeScale(sizeScale);
+
+        // Значение поля меняется от 0 до 1 на ширине 2 * spread пикселей атласа
+        outline = outlineWidth / sizeScale * 0.5f / spread;
+        this.outlineColor = new Color(outlineColor);
+        shadowOffsetU = shadowOffset / sizeScale / page.getTexture().getWidth();
+        shadowOffsetV = shadowOffset / sizeScale / page.getTexture().getHeight();
+        this.shadowColor = new Color(shadowColor);
+    }
+
+    /**
+     * Читает размер, с которым глифы записаны в атлас (параметр size первой строки BMFont)
+     */
+    private static float readGeneratedSize(FileHandle fontFile) {
+        BufferedReader reader = fontFile.reader(256, "UTF-8");
+        try {
+            String info = reader.readLine();
+            int start = info.indexOf(" size=") + 6;
+            int end = info.indexOf(' ', start);
+            return Math.abs(Integer.parseInt(info.substring(start, end)));
+        } catch (Exception e) {
+            throw new GdxRuntimeException("Не удалось прочитать размер шрифта: " + fontFile, e);
+        } finally {
+            StreamUtils.closeQuietly(reader);
+        }
+    }
+
+    /**
+     * Данные шрифта, у которых масштаб задается относительно размера шрифта, а не атласа.
+     * Целые метрики глифов (в пикселях атласа) не меняются: BitmapFontCache и GlyphLayout
+     * умножают их на масштаб в дробных числах.
+     */
+    private static class SdfFontData extends BitmapFontData {
+        // Пикселей шрифта заданного размера на пиксель атласа
+        private float sizeScale = 1f;
+
+        SdfFontData(FileHandle fontFile) {
+            super(fontFile, false);
+        }
+
+        void setSizeScale(float sizeScale) {
+            float userScaleX = scaleX / this.sizeScale;
+            float userScaleY = scaleY / this.sizeScale;
+            this.sizeScale = sizeScale;
+            setScale(userScaleX, userScaleY);
+        }
+
+        @Override
+        public void setScale(float scaleX, float scaleY) {
+            super.setScale(scaleX * sizeScale, scaleY * sizeScale);
+        }
+
+        @Override
+        public void scale(float amount) {
+            setScale(scaleX / sizeScale + amount, scaleY / sizeScale + amount);
+        }
+    }
+
+    /**
+     * Записывает оформление шрифта в uniform-переменные шейдера (шейдер должен быть привязан)
+     */
+    void applyStyle(ShaderProgram program) {
+        // Пикселей экрана на пиксель атласа (масштаб данных уже включает размер шрифта)
+        float texelScale = getScaleX();
+        program.setUniformf("u_smoothing", SMOOTHING / (spread * texelScale));
+        program.setUniformf("u_outline", outline);
+        program.setUniformf("u_outlineColor", outlineColor);
+        program.setUniformf("u_shadowOffset", shadowOffsetU, shadowOffsetV);
+        program.setUniformf("u_shadowColor", shadowColor);
+    }
+
+    @Override
+    public BitmapFontCache newFontCache() {
+        return new SdfFontCache(this, usesIntegerPositions());
+    }
+
+    /**
+     * Кэш текста, который перед отрисовкой настраивает шейдер батча
+     */
+    private static class SdfFontCache extends BitmapFontCache {
+        private final SdfFont font;
+
+        SdfFontCache(SdfFont font, boolean integer) {
+            super(font, integer);
+            this.font = font;
+        }
+
+        @Override
+        public void draw(Batch batch) {
+            if (batch instanceof GameBatch && ((GameBatch) batch).applyTextStyle(font)) {
+                super.draw(batch);
+                return;
+            }
+
+            ShaderProgram previous = beginForeignBatch(batch);
+            super.draw(batch);
+            batch.setShader(previous);
+        }
+
+        @Override
+        public void draw(Batch batch, int start, int end) {
+            if (batch instanceof GameBatch && ((GameBatch) batch).applyTextStyle(font)) {
+                super.draw(batch, start, end);
+                return;
+            }
+
+            ShaderProgram previous = beginForeignBatch(batch);
+            super.draw(batch, start, end);
+            batch.setShader(previous);
+        }
+
+        /**
+         * Подставляет шейдер полей расстояний в батч без их поддержки
+         * @return прежний шейдер батча
+         */
+        private ShaderProgram beginForeignBatch(Batch batch) {
+            ShaderProgram previous = batch.getShader();
+            batch.setShader(font.shader);
+            font.shader.setUniformf("u_distanceField", 1f);
+            font.applyStyle(font.shader);
+            return previous;
+        }
+    }
+}
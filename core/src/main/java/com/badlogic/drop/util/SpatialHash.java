@@ -0,0 +1,289 @@
+package com.badlogic.drop.util;
+
+/**
+ * Равномерная пространственная сетка (spatial hash) для широкой фазы поиска столкновений.
+ * Каждый объект попадает в одну ячейку по координатам своего центра, а пары-кандидаты
+ * берутся только из той же ячейки и из соседних. Размер ячейки должен быть не меньше
+ * максимального расстояния между центрами, на котором объекты могут взаимодействовать.
+ * Сетка перестраивается каждый тик и не создает объектов во время работы.
+ */
+public class SpatialHash {
+    /**
+     * Получатель пар-кандидатов, найденных в сетке
+     */
+    public interface PairListener {
+        /**
+         * Вызывается для каждой пары объектов из одной или соседних ячеек,
+         * типы которых разрешены маской столкновений
+         * @param idA идентификатор первого объекта
+         * @param typeA тип первого объекта
+         * @param idB идентификатор второго объекта
+         * @param typeB тип второго объекта
+         */
+        void onPair(int idA, int typeA, int idB, int typeB);
+    }
+
+    // Максимальное количество типов объектов (по числу бит в маске)
+    public static final int MAX_TYPES = 32;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // Размеры мира, покрываемого сеткой
+    private final float worldWidth;
+    private final float worldHeight;
+
+    // Параметры сетки
+    private float cellSize;
+    private float inverseCellSize;
+    private int columns;
+    private int rows;
+
+    // Первый объект в каждой ячейке (-1, если ячейка пуста)
+    private int[] cellHeads;
+
+    // Данные объектов, хранящиеся в параллельных массивах
+    private int[] ids;
+    private int[] types;
+    private int[] nextInCell;
+    private int size;
+
+    // Маски допустимых столкновений для каждого типа
+    private final int[] collisionMasks = new int[MAX_TYPES];
+
+    // Счетчики для проверки эффективности широкой фазы
+    private int candidatePairCount;   // Пары из одной или соседних ячеек
+    private int reportedPairCount;    // Пары, переданные получателю после фильтра масок
+    private int bruteForcePairCount;  // Пары, которые проверил бы полный перебор
+    private long totalCandidatePairs;
+    private long totalReportedPairs;
+    private long totalBruteForcePairs;
+
+    /**
+     * Создает сетку для мира заданного размера
+     * @param worldWidth Ширина мира
+     * @param worldHeight Высота мира
+     * @param cellSize Размер ячейки
+     */
+    public SpatialHash(float worldWidth, float worldHeight, float cellSize) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.ids = new int[INITIAL_CAPACITY];
+        this.types = new int[INITIAL_CAPACITY];
+        this.nextInCell = new int[INITIAL_CAPACITY];
+        setCellSize(cellSize);
+    }
+
+    /**
+     * Изменяет размер ячейки и перестраивает структуру сетки.
+     * Все добавленные объекты при этом удаляются.
+     * @param cellSize Новый размер ячейки
+     */
+    public void setCellSize(float cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Размер ячейки должен быть положительным: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1f / cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(worldWidth / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(worldHeight / cellSize));
+        this.cellHeads = new int[columns * rows];
+        clear();
+    }
+
+    /**
+     * Возвращает текущий размер ячейки
+     */
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     * Разрешает или запрещает столкновения между двумя типами объектов
+     * @param typeA первый тип
+     * @param typeB второй тип
+     * @param enabled true, если пары этих типов нужно сообщать получателю
+     */
+    public void setCollides(int typeA, int typeB, boolean enabled) {
+        if (enabled) {
+            collisionMasks[typeA] |= 1 << typeB;
+            collisionMasks[typeB] |= 1 << typeA;
+        } else {
+            collisionMasks[typeA] &= ~(1 << typeB);
+            collisionMasks[typeB] &= ~(1 << typeA);
+        }
+    }
+
+    /**
+     * Проверяет, разрешены ли столкновения между двумя типами
+     */
+    public boolean collides(int typeA, int typeB) {
+        return (collisionMasks[typeA] & (1 << typeB)) != 0;
+    }
+
+    /**
+     * Удаляет все объекты из сетки
+     */
+    public void clear() {
+        for (int i = 0; i < cellHeads.length; i++) {
+            cellHeads[i] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Добавляет объект в сетку по координатам его центра.
+     * Объекты за пределами мира попадают в крайние ячейки.
+     * @param id Идентификатор объекта (например, индекс в коллекции его типа)
+     * @param type Тип объекта
+     * @param centerX X-координата центра
+     * @param centerY Y-координата центра
+     */
+    public void insert(int id, int type, float centerX, float centerY) {
+        if (size == ids.length) {
+            grow();
+        }
+
+        int column = clampCell((int) Math.floor(centerX * inverseCellSize), columns);
+        int row = clampCell((int) Math.floor(centerY * inverseCellSize), rows);
+        int cell = row * columns + column;
+
+        ids[size] = id;
+        types[size] = type;
+        nextInCell[size] = cellHeads[cell];
+        cellHeads[cell] = size;
+        size++;
+    }
+
+    /**
+     * Перебирает все пары-кандидаты: объекты в одной ячейке и в соседних ячейках.
+     * Каждая пара сообщается ровно один раз, соседние ячейки обходятся только
+     * "вперед" (справа, сверху-слева, сверху, сверху-справа).
+     * @param listener Получатель пар
+     */
+    public void forEachPair(PairListener listener) {
+        candidatePairCount = 0;
+        reportedPairCount = 0;
+        bruteForcePairCount = size * (size - 1) / 2;
+
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int cell = row * columns + column;
+                for (int a = cellHeads[cell]; a != -1; a = nextInCell[a]) {
+                    // Пары внутри той же ячейки
+                    for (int b = nextInCell[a]; b != -1; b = nextInCell[b]) {
+                        testPair(a, b, listener);
+                    }
+
+                    // Пары с соседними ячейками
+                    testAgainstCell(a, column + 1, row, listener);
+                    testAgainstCell(a, column - 1, row + 1, listener);
+                    testAgainstCell(a, column, row + 1, listener);
+                    testAgainstCell(a, column + 1, row + 1, listener);
+                }
+            }
+        }
+
+        totalCandidatePairs += candidatePairCount;
+        totalReportedPairs += reportedPairCount;
+        totalBruteForcePairs += bruteForcePairCount;
+    }
+
+    private void testAgainstCell(int a, int column, int row, PairListener listener) {
+        if (column < 0 || column >= columns || row >= rows) {
+            return;
+        }
+        for (int b = cellHeads[row * columns + column]; b != -1; b = nextInCell[b]) {
+            testPair(a, b, listener);
+        }
+    }
+
+    private void testPair(int a, int b, PairListener listener) {
+        candidatePairCount++;
+        int typeA = types[a];
+        int typeB = types[b];
+        if ((collisionMasks[typeA] & (1 << typeB)) != 0) {
+            reportedPairCount++;
+            listener.onPair(ids[a], typeA, ids[b], typeB);
+        }
+    }
+
+    private static int clampCell(int cell, int count) {
+        if (cell < 0) return 0;
+        if (cell >= count) return count - 1;
+        return cell;
+    }
+
+    private void grow() {
+        int newCapacity = ids.length * 2;
+        int[] newIds = new int[newCapacity];
+        int[] newTypes = new int[newCapacity];
+        int[] newNext = new int[newCapacity];
+        System.arraycopy(ids, 0, newIds, 0, size);
+        System.arraycopy(types, 0, newTypes, 0, size);
+        System.arraycopy(nextInCell, 0, newNext, 0, size);
+        ids = newIds;
+        types = newTypes;
+        nextInCell = newNext;
+    }
+
+    /**
+     * Возвращает количество объектов в сетке
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Возвращает количество пар из одной или соседних ячеек за последний проход
+     */
+    public int getCandidatePairCount() {
+        return candidatePairCount;
+    }
+
+    /**
+     * Возвращает количество пар, переданных получателю за последний проход
+     */
+    public int getReportedPairCount() {
+        return reportedPairCount;
+    }
+
+    /**
+     * Возвращает количество пар, которые проверил бы полный перебор, за последний проход
+     */
+    public int getBruteForcePairCount() {
+        return bruteForcePairCount;
+    }
+
+    /**
+     * Возвращает суммарное количество пар-кандидатов с момента последнего сброса
+     */
+    public long getTotalCandidatePairs() {
+        return totalCandidatePairs;
+    }
+
+    /**
+     * Возвращает суммарное количество переданных пар с момента последнего сброса
+     */
+    public long getTotalReportedPairs() {
+        return totalReportedPairs;
+    }
+
+    /**
+     * Возвращает суммарное количество пар полного перебора с момента последнего сброса
+     */
+    public long getTotalBruteForcePairs() {
+        return totalBruteForcePairs;
+    }
+
+    /**
+     * Сбрасывает накопленные счетчики пар
+     */
+    public void resetStats() {
+        candidatePairCount = 0;
+        reportedPairCount = 0;
+        bruteForcePairCount = 0;
+        totalCandidatePairs = 0;
+        totalReportedPairs = 0;
+        totalBruteForcePairs = 0;
+    }
+}
@@ -5,72 +5,266 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
 
 /**
  * Класс для создания и отображения анимированного звездного поля с эффектом падающих звезд.
  * Создает плавную анимацию звезд разных размеров и яркости, движущихся с разной скоростью.
+ *
+ * Звезды распределены по слоям параллакса ({@link Layer}): дальние слои мельче, тусклее
+ * и медленнее ближних, плотность каждого слоя задается отдельно.
+ *
+ * Если видеокарта поддерживает шейдеры, поле работает в GPU-режиме ({@link StarMesh}):
+ * звезды считаются в вершинном шейдере и рисуются одним вызовом на буфер, а {@link #update(float)}
+ * только продвигает время. Иначе звезды обновляются и рисуются через SpriteBatch.
+ * Параметры звезд хранятся в параллельных массивах, поэтому обновление не выделяет память.
  */
 public class StarField implements Disposable {
-    // Структура для хранения данных о звезде
-    private class Star {
-        float x, y;            // Позиция
-        float size;            // Размер
-        float speed;           // Скорость падения
-        float alpha;           // Прозрачность
-        float trailLength;     // Длина следа (для падающих звезд)
+    /**
+     * Слой параллакса: диапазоны размера, скорости и прозрачности звезд и их плотность
+     */
+    public static final class Layer {
+        private final float density;
+        private final float minSize, maxSize;
+        private final float minSpeed, maxSpeed;
+        private final float minAlpha, maxAlpha;
+
+        /**
+         * @param density Количество звезд на миллион квадратных единиц поля
+         * @param minSize Минимальный размер звезды
+         * @param maxSize Максимальный размер звезды
+         * @param minSpeed Скорость падения самой маленькой звезды
+         * @param maxSpeed Скорость падения самой крупной звезды
+         * @param minAlpha Минимальная прозрачность
+         * @param maxAlpha Максимальная прозрачность
+         */
+        public Layer(float density, float minSize, float maxSize, float minSpeed, float maxSpeed,
+                     float minAlpha, float maxAlpha) {
+            this.density = density;
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            this.minSpeed = minSpeed;
+            this.maxSpeed = maxSpeed;
+            this.minAlpha = minAlpha;
+            this.maxAlpha = maxAlpha;
+        }
+
+        /**
+         * Количество звезд слоя на поле заданной площади
+         */
+        int getStarCount(float area) {
+            return Math.round(density * area / 1000000f);
+        }
     }
     
-    // Константы
-    private static final int DEFAULT_STAR_COUNT = 250; // Больше звезд для лучшего эффекта
-    private static final float MIN_STAR_SIZE = 0.5f;   // Уменьшаем минимальный размер (было 1.0f)
-    private static final float MAX_STAR_SIZE = 1.8f;   // Уменьшаем максимальный размер (было 3.0f)
-    private static final float MIN_STAR_SPEED = 25.0f; // Увеличиваем минимальную скорость
-    private static final float MAX_STAR_SPEED = 80.0f; // Увеличиваем максимальную скорость
-    private static final float MIN_ALPHA = 0.5f;       // Увеличиваем минимальную прозрачность
-    private static final float MAX_ALPHA = 1.0f;
+    // Слои по умолчанию: дальний, средний, ближний. Вместе дают около 250 звезд на экран игры
+    // с теми же размерами (0.5-1.8) и скоростями (25-80), что и раньше
+    private static final Layer[] DEFAULT_LAYERS = {
+        new Layer(120, 0.5f, 0.9f, 25, 40, 0.5f, 0.7f),
+        new Layer(75, 0.9f, 1.4f, 40, 60, 0.6f, 0.9f),
+        new Layer(30, 1.4f, 1.8f, 60, 80, 0.8f, 1.0f)
+    };
+    
+    // Длина следа пропорциональна размеру звезды относительно этого размера
+    private static final float TRAIL_REFERENCE_SIZE = 1.8f;
     
     // Константы для следов звезд
     private static final float MIN_TRAIL_LENGTH = 3.0f;  // Уменьшаем минимальную длину следа
     private static final float MAX_TRAIL_LENGTH = 10.0f; // Уменьшаем максимальную длину следа
+    private static final float TRAIL_WIDTH = 4.0f;
+    private static final float TRAIL_ALPHA = 0.6f;
+    
+    // Высота над экраном, откуда появляются новые звезды
+    private static final float SPAWN_MARGIN = 10.0f;
+    
+    // Сдвиг звезды по X при переносе наверх (доля ширины), как в шейдере GPU-режима
+    private static final float GOLDEN_RATIO = 0.618034f;
+    
+    // Мерцание в GPU-режиме (частота в радианах в секунду)
+    private static final float MIN_TWINKLE_SPEED = 1.0f;
+    private static final float MAX_TWINKLE_SPEED = 3.0f;
+    
+    // Раз в этот интервал (секунды) время GPU-режима уменьшается, а звезды переносятся вперед:
+    // так время в шейдере остается небольшим и не теряет точность в долгой игре
+    private static final float GPU_TIME_REBASE_INTERVAL = 300f;
     
-    private final Array<Star> stars;
-    private final Texture starTexture;
-    private final Texture trailTexture;
+    // Параметры звезд (индекс - номер звезды, слои идут от дальнего к ближнему)
+    private final int starCount;
+    private final float[] x;
+    private final float[] y;
+    private final float[] size;
+    private final float[] speed;
+    private final float[] alpha;
+    private final float[] trail;
+    // Готовые упакованные цвета звезды и следа для SpriteBatch
+    private final float[] starColor;
+    private final float[] trailColor;
+    
+    private Texture starTexture;
+    private Texture trailTexture;
     private final float screenWidth;
     private final float screenHeight;
     private float deltaAccumulator = 0; // Для плавной анимации
+    private final RandomStream random;  // Источник случайности для параметров звезд
+    
+    // GPU-режим: вершинный буфер со звездами (null - звезды рисуются через SpriteBatch)
+    private StarMesh mesh;
+    private float time;
+    
+    /**
+     * Создает звездное поле со слоями по умолчанию
+     * @param width Ширина экрана
+     * @param height Высота экрана
+     */
+    public StarField(float width, float height) {
+        this(width, height, new RandomStream(MathUtils.random.nextLong()));
+    }
+
+    /**
+     * Создает звездное поле со слоями по умолчанию и заданным потоком случайных чисел
+     * @param width Ширина экрана
+     * @param height Высота экрана
+     * @param random Поток случайных чисел (косметический поток игровой сессии)
+     */
+    public StarField(float width, float height, RandomStream random) {
+        this(width, height, DEFAULT_LAYERS, random, true);
+    }
     
     /**
      * Создает звездное поле с указанным количеством звезд
+     * (распределяются по слоям по умолчанию пропорционально их плотности)
      * @param width Ширина экрана
      * @param height Высота экрана
      * @param starCount Количество звезд
+     * @param random Поток случайных чисел
      */
-    public StarField(float width, float height, int starCount) {
+    public StarField(float width, float height, int starCount, RandomStream random) {
+        this(width, height, starCount, random, true);
+    }
+    
+    /**
+     * Создает звездное поле с указанным количеством звезд и выбором режима
+     * @param width Ширина экрана
+     * @param height Высота экрана
+     * @param starCount Количество звезд
+     * @param random Поток случайных чисел
+     * @param useGpu Считать звезды на видеокарте, если шейдеры доступны
+     */
+    public StarField(float width, float height, int starCount, RandomStream random, boolean useGpu) {
+        this(width, height, DEFAULT_LAYERS, distributeStars(DEFAULT_LAYERS, starCount), random, useGpu);
+    }
+    
+    /**
+     * Создает звездное поле с заданными слоями параллакса
+     * @param width Ширина экрана
+     * @param height Высота экрана
+     * @param layers Слои от дальнего к ближнему
+     * @param random Поток случайных чисел
+     * @param useGpu Считать звезды на видеокарте, если шейдеры доступны
+     */
+    public StarField(float width, float height, Layer[] layers, RandomStream random, boolean useGpu) {
+        this(width, height, layers, countStars(layers, width * height), random, useGpu);
+    }
+    
+    private StarField(float width, float height, Layer[] layers, int[] layerCounts, RandomStream random,
+                      boolean useGpu) {
         this.screenWidth = width;
         this.screenHeight = height;
-        this.stars = new Array<>(starCount);
+        this.random = random;
+        
+        int total = 0;
+        for (int count : layerCounts) {
+            total += count;
+        }
+        starCount = total;
+        x = new float[total];
+        y = new float[total];
+        size = new float[total];
+        speed = new float[total];
+        alpha = new float[total];
+        trail = new float[total];
+        starColor = new float[total];
+        trailColor = new float[total];
+        
+        // Инициализируем звезды слой за слоем: ближние рисуются поверх дальних
+        int index = 0;
+        for (int i = 0; i < layers.length; i++) {
+            for (int j = 0; j < layerCounts[i]; j++) {
+                initStar(index++, layers[i]);
+            }
+        }
+        
+        ShaderProgram shader = useGpu ? StarMesh.compileShader() : null;
+        if (shader != null) {
+            createMesh(shader);
+            return;
+        }
         
         // Создаем текстуры
         starTexture = createStarTexture();
         trailTexture = createTrailTexture();
+    }
+    
+    /**
+     * Количество звезд каждого слоя по его плотности
+     */
+    private static int[] countStars(Layer[] layers, float area) {
+        int[] counts = new int[layers.length];
+        for (int i = 0; i < layers.length; i++) {
+            counts[i] = layers[i].getStarCount(area);
+        }
+        return counts;
+    }
+    
+    /**
+     * Распределяет заданное количество звезд по слоям пропорционально их плотности
+     */
+    private static int[] distributeStars(Layer[] layers, int starCount) {
+        float totalDensity = 0;
+        for (Layer layer : layers) {
+            totalDensity += layer.density;
+        }
         
-        // Инициализируем звезды
-        for (int i = 0; i < starCount; i++) {
-            stars.add(createRandomStar());
+        int[] counts = new int[layers.length];
+        int assigned = 0;
+        for (int i = 0; i < layers.length - 1; i++) {
+            counts[i] = Math.round(starCount * layers[i].density / totalDensity);
+            assigned += counts[i];
         }
+        // Остаток - последнему слою, чтобы сумма совпала точно
+        counts[layers.length - 1] = Math.max(0, starCount - assigned);
+        return counts;
     }
     
     /**
-     * Создает звездное поле с количеством звезд по умолчанию
-     * @param width Ширина экрана
-     * @param height Высота экрана
+     * Заполняет вершинный буфер GPU-режима теми же звездами, что и в CPU-режиме
      */
-    public StarField(float width, float height) {
-        this(width, height, DEFAULT_STAR_COUNT);
+    private void createMesh(ShaderProgram shader) {
+        mesh = new StarMesh(shader, screenWidth, screenHeight, SPAWN_MARGIN, starCount);
+        for (int i = 0; i < mesh.getStarCount(); i++) {
+            float twinklePhase = random.random(0, MathUtils.PI2);
+            float twinkleSpeed = random.random(MIN_TWINKLE_SPEED, MAX_TWINKLE_SPEED);
+            mesh.setStar(i, x[i], y[i], speed[i], size[i], alpha[i], trail[i], twinklePhase, twinkleSpeed);
+        }
+        mesh.upload();
+        Gdx.app.log("StarField", "Звездное поле на GPU: " + mesh.getStarCount() + " звезд, буферов "
+            + mesh.getMeshCount());
+    }
+    
+    /**
+     * Возвращает true, если звезды считаются и рисуются на видеокарте
+     */
+    public boolean isGpuMode() {
+        return mesh != null;
+    }
+    
+    /**
+     * Возвращает количество звезд во всех слоях
+     */
+    public int getStarCount() {
+        return starCount;
     }
     
     /**
@@ -142,32 +336,30 @@ public class StarField implements Disposable {
     }
     
     /**
-     * Создает новую звезду со случайными параметрами
-     * @return Новая звезда
+     * Задает звезде случайные параметры в пределах слоя
+     * @param i Номер звезды
+     * @param layer Слой звезды
      */
-    private Star createRandomStar() {
-        Star star = new Star();
-        
-        // Случайная позиция по X на экране
-        star.x = MathUtils.random(0, screenWidth);
-        
-        // Позиция по Y - случайная для начального заполнения, потом будет сверху экрана
-        star.y = MathUtils.random(0, screenHeight);
+    private void initStar(int i, Layer layer) {
+        // Случайная позиция на экране для начального заполнения
+        x[i] = random.random(0, screenWidth);
+        y[i] = random.random(0, screenHeight);
         
         // Размер звезды
-        star.size = MathUtils.random(MIN_STAR_SIZE, MAX_STAR_SIZE);
+        size[i] = random.random(layer.minSize, layer.maxSize);
         
         // Длина следа зависит от размера звезды
-        star.trailLength = MathUtils.random(MIN_TRAIL_LENGTH, MAX_TRAIL_LENGTH) * (star.size / MAX_STAR_SIZE);
+        trail[i] = random.random(MIN_TRAIL_LENGTH, MAX_TRAIL_LENGTH) * (size[i] / TRAIL_REFERENCE_SIZE);
         
-        // Скорость зависит от размера (более крупные звезды падают быстрее)
-        float speedFactor = (star.size - MIN_STAR_SIZE) / (MAX_STAR_SIZE - MIN_STAR_SIZE);
-        star.speed = MIN_STAR_SPEED + speedFactor * (MAX_STAR_SPEED - MIN_STAR_SPEED);
+        // Скорость зависит от размера (более крупные звезды слоя падают быстрее)
+        float sizeRange = layer.maxSize - layer.minSize;
+        float speedFactor = sizeRange > 0 ? (size[i] - layer.minSize) / sizeRange : 0;
+        speed[i] = layer.minSpeed + speedFactor * (layer.maxSpeed - layer.minSpeed);
         
         // Случайная прозрачность
-        star.alpha = MathUtils.random(MIN_ALPHA, MAX_ALPHA);
-        
-        return star;
+        alpha[i] = random.random(layer.minAlpha, layer.maxAlpha);
+        starColor[i] = Color.toFloatBits(1f, 1f, 1f, alpha[i]);
+        trailColor[i] = Color.toFloatBits(1f, 1f, 1f, alpha[i] * TRAIL_ALPHA);
     }
     
     /**
@@ -175,6 +367,16 @@ public class StarField implements Disposable {
      * @param delta Время, прошедшее с предыдущего кадра
      */
     public void update(float delta) {
+        if (mesh != null) {
+            // Положение звезд вычисляет шейдер по времени
+            time += delta;
+            if (time >= GPU_TIME_REBASE_INTERVAL) {
+                mesh.rebaseTime(GPU_TIME_REBASE_INTERVAL);
+                time -= GPU_TIME_REBASE_INTERVAL;
+            }
+            return;
+        }
+        
         // Накапливаем дельту для плавной анимации
         deltaAccumulator += delta;
         
@@ -182,28 +384,21 @@ public class StarField implements Disposable {
         float smoothDelta = Math.min(deltaAccumulator, 1/30f);
         deltaAccumulator -= smoothDelta;
         
-        for (int i = 0; i < stars.size; i++) {
-            Star star = stars.get(i);
-            
+        float wrapShift = GOLDEN_RATIO * screenWidth;
+        for (int i = 0; i < starCount; i++) {
             // Движение звезды вниз
-            star.y -= star.speed * smoothDelta;
+            float newY = y[i] - speed[i] * smoothDelta;
             
-            // Если звезда вышла за пределы экрана, создаем новую
-            if (star.y < -star.size - star.trailLength) {
-                // Устанавливаем новую звезду сверху экрана
-                star.x = MathUtils.random(0, screenWidth);
-                star.y = screenHeight + MathUtils.random(0, 10);
-                
-                // Обновляем параметры звезды
-                star.size = MathUtils.random(MIN_STAR_SIZE, MAX_STAR_SIZE);
-                star.trailLength = MathUtils.random(MIN_TRAIL_LENGTH, MAX_TRAIL_LENGTH) * (star.size / MAX_STAR_SIZE);
-                
-                // Скорость зависит от размера
-                float speedFactor = (star.size - MIN_STAR_SIZE) / (MAX_STAR_SIZE - MIN_STAR_SIZE);
-                star.speed = MIN_STAR_SPEED + speedFactor * (MAX_STAR_SPEED - MIN_STAR_SPEED);
-                
-                star.alpha = MathUtils.random(MIN_ALPHA, MAX_ALPHA);
+            // Если звезда вышла за пределы экрана вместе со следом, переносим ее наверх.
+            // Параметры звезды сохраняются, а X сдвигается на долю ширины - так узор
+            // не повторяется без обращения к генератору случайных чисел (как в шейдере)
+            float bottom = -size[i] - trail[i];
+            if (newY < bottom) {
+                newY += screenHeight + SPAWN_MARGIN - bottom;
+                float newX = x[i] + wrapShift;
+                x[i] = newX >= screenWidth ? newX - screenWidth : newX;
             }
+            y[i] = newY;
         }
     }
     
@@ -212,34 +407,32 @@ public class StarField implements Disposable {
      * @param batch SpriteBatch для отрисовки
      */
     public void render(SpriteBatch batch) {
-        for (Star star : stars) {
+        if (mesh != null) {
+            if (!batch.isDrawing()) {
+                mesh.render(batch.getProjectionMatrix(), time);
+                return;
+            }
+            // Сбрасываем накопленные спрайты, рисуем звезды своим шейдером
+            // и снова привязываем шейдер батча с его матрицей
+            batch.flush();
+            mesh.render(batch.getProjectionMatrix(), time);
+            batch.getShader().bind();
+            batch.setProjectionMatrix(batch.getProjectionMatrix());
+            return;
+        }
+        
+        float halfTrailWidth = TRAIL_WIDTH / 2;
+        for (int i = 0; i < starCount; i++) {
             // Рисуем след звезды
-            if (star.trailLength > 0) {
-                batch.setColor(1, 1, 1, star.alpha * 0.6f);
-                batch.draw(
-                    trailTexture,
-                    star.x - trailTexture.getWidth()/4, // центрируем по ширине
-                    star.y,
-                    trailTexture.getWidth()/2,
-                    0,
-                    trailTexture.getWidth()/2,
-                    star.trailLength,
-                    1, 1, 0,
-                    0, 0,
-                    trailTexture.getWidth(),
-                    trailTexture.getHeight(),
-                    false, false
-                );
+            if (trail[i] > 0) {
+                batch.setPackedColor(trailColor[i]);
+                batch.draw(trailTexture, x[i] - halfTrailWidth, y[i], TRAIL_WIDTH, trail[i]);
             }
             
             // Рисуем саму звезду
-            batch.setColor(1, 1, 1, star.alpha);
-            batch.draw(
-                starTexture,
-                star.x - star.size/2,
-                star.y - star.size/2,
-                star.size, star.size
-            );
+            float starSize = size[i];
+            batch.setPackedColor(starColor[i]);
+            batch.draw(starTexture, x[i] - starSize / 2, y[i] - starSize / 2, starSize, starSize);
         }
         
         // Возвращаем исходный цвет
@@ -251,6 +444,9 @@ public class StarField implements Disposable {
      */
     @Override
     public void dispose() {
+        if (mesh != null) {
+            mesh.dispose();
+        }
         if (starTexture != null) {
             starTexture.dispose();
         }
@@ -258,4 +454,4 @@ public class StarField implements Disposable {
             trailTexture.dispose();
         }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,290 @@
+package com.badlogic.drop.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Звездное поле на видеокарте: параметры звезд один раз записываются в статический
+ * вершинный буфер, а движение, перенос наверх экрана и мерцание вычисляет вершинный шейдер
+ * по времени из uniform-переменной. Каждый кадр процессор передает только время и матрицу,
+ * а поле рисуется одним вызовом отрисовки на каждые {@link #STARS_PER_MESH} звезд
+ * (индексы 16-битные, поэтому большое поле делится на несколько буферов).
+ *
+ * Каждая звезда - два четырехугольника: след и сама звезда. Форма обоих считается
+ * во фрагментном шейдере, текстуры не нужны.
+ *
+ * Время в шейдере не растет бесконечно: {@link #rebaseTime(float)} переносит начальные
+ * положения и фазы звезд вперед, чтобы время можно было уменьшить без скачка картинки
+ * и без потери точности float в долгой игре.
+ */
+class StarMesh implements Disposable {
+    // Вершин и индексов на звезду (след + звезда)
+    private static final int VERTICES_PER_STAR = 8;
+    private static final int INDICES_PER_STAR = 12;
+    // Звезд в одном буфере: индексы 16-битные
+    static final int STARS_PER_MESH = 65536 / VERTICES_PER_STAR;
+
+    // Сдвиг звезды по X на каждом круге (доля ширины), как GOLDEN_RATIO в шейдере
+    private static final double GOLDEN_RATIO = 0.618034;
+
+    // a_star (4) + a_params (4) + a_corner (3)
+    private static final int FLOATS_PER_VERTEX = 11;
+
+    // Углы четырехугольников: x, y, тип (0 - звезда, 1 - след).
+    // У следа y идет от звезды (0) к концу следа (1)
+    private static final float[] CORNERS = {
+        -1, 0, 1,   1, 0, 1,   1, 1, 1,   -1, 1, 1,
+        -1, -1, 0,  1, -1, 0,  1, 1, 0,   -1, 1, 0
+    };
+
+    private static final String VERTEX_SHADER =
+        "uniform mat4 u_projTrans;\n" +
+        "uniform float u_time;\n" +
+        "uniform vec3 u_field;\n" +          // ширина, высота, запас сверху при переносе
+        "attribute vec4 a_star;\n" +         // x, y, скорость, размер
+        "attribute vec4 a_params;\n" +       // прозрачность, длина следа, фаза и частота мерцания
+        "attribute vec3 a_corner;\n" +
+        "varying vec2 v_local;\n" +
+        "varying float v_alpha;\n" +
+        "varying float v_kind;\n" +
+        "const float TRAIL_HALF_WIDTH = 2.0;\n" +
+        "const float TRAIL_ALPHA = 0.6;\n" +
+        "const float TWINKLE_DEPTH = 0.25;\n" +
+        "const float GOLDEN_RATIO = 0.618034;\n" +
+        "void main() {\n" +
+        "    float size = a_star.w;\n" +
+        "    float trail = a_params.y;\n" +
+        // Звезда падает до выхода за нижний край вместе со следом и появляется сверху
+        "    float bottom = -(size + trail);\n" +
+        "    float span = u_field.y + u_field.z - bottom;\n" +
+        "    float travel = a_star.y - bottom - a_star.z * u_time;\n" +
+        "    float cycle = floor(travel / span);\n" +
+        "    float y = bottom + travel - cycle * span;\n" +
+        // На каждом круге звезда смещается по X, чтобы узор не повторялся
+        "    float x = mod(a_star.x - cycle * GOLDEN_RATIO * u_field.x, u_field.x);\n" +
+        "    float twinkle = 1.0 - TWINKLE_DEPTH * (0.5 + 0.5 * sin(u_time * a_params.w + a_params.z));\n" +
+        "    vec2 position;\n" +
+        "    if (a_corner.z > 0.5) {\n" +
+        "        position = vec2(x + a_corner.x * TRAIL_HALF_WIDTH, y + a_corner.y * trail);\n" +
+        "        v_alpha = a_params.x * TRAIL_ALPHA * twinkle;\n" +
+        "    } else {\n" +
+        "        position = vec2(x, y) + a_corner.xy * (size * 0.5);\n" +
+        "        v_alpha = a_params.x * twinkle;\n" +
+        "    }\n" +
+        "    v_local = a_corner.xy;\n" +
+        "    v_kind = a_corner.z;\n" +
+        "    gl_Position = u_projTrans * vec4(position, 0.0, 1.0);\n" +
+        "}\n";
+
+    private static final String FRAGMENT_SHADER =
+        "#ifdef GL_ES\n" +
+        "precision mediump float;\n" +
+        "#endif\n" +
+        "varying vec2 v_local;\n" +
+        "varying float v_alpha;\n" +
+        "varying float v_kind;\n" +
+        "void main() {\n" +
+        "    float shape;\n" +
+        "    if (v_kind > 0.5) {\n" +
+        // След: ярче в центре и у звезды, к концу гаснет
+        "        shape = pow(1.0 - v_local.y, 0.7) * sqrt(1.0 - abs(v_local.x));\n" +
+        "    } else {\n" +
+        // Звезда: круг со сглаженным краем (как в текстуре звезды CPU-режима)
+        "        shape = 1.0 - smoothstep(0.5, 0.75, length(v_local));\n" +
+        "    }\n" +
+        "    gl_FragColor = vec4(1.0, 1.0, 1.0, v_alpha * shape);\n" +
+        "}\n";
+
+    // Смещения атрибутов звезды в вершине
+    private static final int STAR_X = 0;
+    private static final int STAR_Y = 1;
+    private static final int STAR_SPEED = 2;
+    private static final int STAR_SIZE = 3;
+    private static final int STAR_TRAIL = 5;
+    private static final int STAR_TWINKLE_PHASE = 6;
+    private static final int STAR_TWINKLE_SPEED = 7;
+
+    private final ShaderProgram shader;
+    // Буферы по STARS_PER_MESH звезд (последний может быть неполным)
+    private final Mesh[] meshes;
+    private final float[][] vertices;
+    private final float width;
+    private final float height;
+    private final float wrapMargin;
+    private final int starCount;
+
+    /**
+     * Компилирует шейдер звездного поля.
+     * @return шейдер или null, если видеокарта его не поддерживает
+     */
+    static ShaderProgram compileShader() {
+        try {
+            ShaderProgram program = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+            if (program.isCompiled()) {
+                return program;
+            }
+            Gdx.app.error("StarMesh", "Шейдер звездного поля не скомпилирован: " + program.getLog());
+            program.dispose();
+        } catch (Exception e) {
+            Gdx.app.error("StarMesh", "Шейдеры недоступны", e);
+        }
+        return null;
+    }
+
+    /**
+     * @param shader Скомпилированный шейдер ({@link #compileShader()}), переходит во владение
+     * @param width Ширина поля
+     * @param height Высота поля
+     * @param wrapMargin Запас над верхним краем, откуда появляются звезды
+     * @param starCount Количество звезд
+     */
+    StarMesh(ShaderProgram shader, float width, float height, float wrapMargin, int starCount) {
+        this.shader = shader;
+        this.width = width;
+        this.height = height;
+        this.wrapMargin = wrapMargin;
+        this.starCount = starCount;
+
+        int meshCount = (starCount + STARS_PER_MESH - 1) / STARS_PER_MESH;
+        meshes = new Mesh[meshCount];
+        vertices = new float[meshCount][];
+        for (int i = 0; i < meshCount; i++) {
+            int stars = Math.min(STARS_PER_MESH, starCount - i * STARS_PER_MESH);
+            meshes[i] = new Mesh(true, stars * VERTICES_PER_STAR, stars * INDICES_PER_STAR,
+                new VertexAttributes(
+                    new VertexAttribute(VertexAttributes.Usage.Generic, 4, "a_star"),
+                    new VertexAttribute(VertexAttributes.Usage.Generic, 4, "a_params"),
+                    new VertexAttribute(VertexAttributes.Usage.Generic, 3, "a_corner")));
+            vertices[i] = new float[stars * VERTICES_PER_STAR * FLOATS_PER_VERTEX];
+            meshes[i].setIndices(createIndices(stars));
+        }
+    }
+
+    private static short[] createIndices(int starCount) {
+        int quads = starCount * 2;
+        short[] indices = new short[quads * 6];
+        for (int quad = 0, i = 0; quad < quads; quad++) {
+            short first = (short) (quad * 4);
+            indices[i++] = first;
+            indices[i++] = (short) (first + 1);
+            indices[i++] = (short) (first + 2);
+            indices[i++] = (short) (first + 2);
+            indices[i++] = (short) (first + 3);
+            indices[i++] = first;
+        }
+        return indices;
+    }
+
+    int getStarCount() {
+        return starCount;
+    }
+
+    /**
+     * Количество вызовов отрисовки на кадр (по одному на буфер)
+     */
+    int getMeshCount() {
+        return meshes.length;
+    }
+
+    /**
+     * Записывает параметры звезды. Изменения попадают на видеокарту после {@link #upload()}
+     * @param twinklePhase Начальная фаза мерцания (радианы)
+     * @param twinkleSpeed Частота мерцания (радиан в секунду)
+     */
+    void setStar(int index, float x, float y, float speed, float size, float alpha, float trailLength,
+                 float twinklePhase, float twinkleSpeed) {
+        float[] vertices = this.vertices[index / STARS_PER_MESH];
+        int offset = (index % STARS_PER_MESH) * VERTICES_PER_STAR * FLOATS_PER_VERTEX;
+        for (int vertex = 0; vertex < VERTICES_PER_STAR; vertex++) {
+            vertices[offset++] = x;
+            vertices[offset++] = y;
+            vertices[offset++] = speed;
+            vertices[offset++] = size;
+            vertices[offset++] = alpha;
+            vertices[offset++] = trailLength;
+            vertices[offset++] = twinklePhase;
+            vertices[offset++] = twinkleSpeed;
+            vertices[offset++] = CORNERS[vertex * 3];
+            vertices[offset++] = CORNERS[vertex * 3 + 1];
+            vertices[offset++] = CORNERS[vertex * 3 + 2];
+        }
+    }
+
+    /**
+     * Загружает параметры звезд в вершинный буфер
+     */
+    void upload() {
+        for (int i = 0; i < meshes.length; i++) {
+            meshes[i].setVertices(vertices[i]);
+        }
+    }
+
+    /**
+     * Переносит звезды на заданное время вперед: после вызова кадр со временем t выглядит так же,
+     * как раньше кадр со временем t + elapsed. Повторяет вычисления вершинного шейдера
+     * (положение, номер круга со сдвигом по X, фаза мерцания) в двойной точности
+     * и загружает буфер заново.
+     * @param elapsed Время в секундах, на которое уменьшается время анимации
+     */
+    void rebaseTime(float elapsed) {
+        for (float[] vertices : this.vertices) {
+            for (int offset = 0; offset < vertices.length; offset += VERTICES_PER_STAR * FLOATS_PER_VERTEX) {
+                double bottom = -(vertices[offset + STAR_SIZE] + vertices[offset + STAR_TRAIL]);
+                double span = height + wrapMargin - bottom;
+                double travel = vertices[offset + STAR_Y] - bottom - (double) vertices[offset + STAR_SPEED] * elapsed;
+                double cycles = Math.floor(travel / span);
+
+                float y = (float) (bottom + travel - cycles * span);
+                float x = (float) positiveMod(vertices[offset + STAR_X] - cycles * GOLDEN_RATIO * width, width);
+                float phase = (float) positiveMod(vertices[offset + STAR_TWINKLE_PHASE]
+                    + (double) vertices[offset + STAR_TWINKLE_SPEED] * elapsed, MathUtils.PI2);
+
+                for (int vertex = 0; vertex < VERTICES_PER_STAR; vertex++) {
+                    int base = offset + vertex * FLOATS_PER_VERTEX;
+                    vertices[base + STAR_X] = x;
+                    vertices[base + STAR_Y] = y;
+                    vertices[base + STAR_TWINKLE_PHASE] = phase;
+                }
+            }
+        }
+        upload();
+    }
+
+    private static double positiveMod(double value, double modulus) {
+        double result = value % modulus;
+        return result < 0 ? result + modulus : result;
+    }
+
+    /**
+     * Рисует все звезды (один вызов отрисовки на буфер)
+     * @param projection Матрица проекции камеры
+     * @param time Время анимации в секундах
+     */
+    void render(Matrix4 projection, float time) {
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+
+        shader.bind();
+        shader.setUniformMatrix("u_projTrans", projection);
+        shader.setUniformf("u_time", time);
+        shader.setUniformf("u_field", width, height, wrapMargin);
+        for (Mesh mesh : meshes) {
+            mesh.render(shader, GL20.GL_TRIANGLES);
+        }
+    }
+
+    @Override
+    public void dispose() {
+        for (Mesh mesh : meshes) {
+            mesh.dispose();
+        }
+        shader.dispose();
+    }
+}
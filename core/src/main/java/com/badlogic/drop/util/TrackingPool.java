@@ -0,0 +1,169 @@
+package com.badlogic.drop.util;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Пул объектов на основе libGDX {@link Pool} со статистикой использования.
+ * Считает выданные и возвращенные объекты, запоминает максимальное количество
+ * одновременно используемых объектов (high-water mark) и в отладочном режиме
+ * обнаруживает повторный возврат одного и того же объекта (double-free).
+ *
+ * Объекты, реализующие {@link Pool.Poolable}, сбрасываются базовым пулом при возврате.
+ *
+ * @param <T> Тип объектов в пуле
+ */
+public abstract class TrackingPool<T> extends Pool<T> {
+    private final String name;
+
+    // Статистика
+    private int inUse;          // Объекты, выданные и еще не возвращенные
+    private int highWaterMark;  // Максимальное значение inUse
+    private int createdCount;   // Всего создано новых объектов
+    private long obtainCount;   // Всего выдано объектов
+    private long freeCount;     // Всего возвращено объектов
+
+    // Выданные объекты (только в отладочном режиме), сравнение по ссылке
+    private IdentityMap<T, Boolean> outstanding;
+
+    /**
+     * Создает пул с начальной емкостью и без ограничения размера
+     * @param name Имя пула для логов
+     * @param initialCapacity Начальная емкость списка свободных объектов
+     */
+    public TrackingPool(String name, int initialCapacity) {
+        this(name, initialCapacity, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Создает пул
+     * @param name Имя пула для логов
+     * @param initialCapacity Начальная емкость списка свободных объектов
+     * @param max Максимальное количество хранимых свободных объектов
+     */
+    public TrackingPool(String name, int initialCapacity, int max) {
+        super(initialCapacity, max);
+        this.name = name;
+    }
+
+    /**
+     * Включает или выключает обнаружение повторного возврата объектов.
+     * Включать стоит только для отладки: проверка требует хранения всех выданных объектов.
+     */
+    public void setDebug(boolean debug) {
+        if (debug && outstanding == null) {
+            outstanding = new IdentityMap<T, Boolean>();
+        } else if (!debug) {
+            outstanding = null;
+        }
+    }
+
+    /**
+     * Проверяет, включен ли отладочный режим
+     */
+    public boolean isDebug() {
+        return outstanding != null;
+    }
+
+    @Override
+    protected T newObject() {
+        createdCount++;
+        return createObject();
+    }
+
+    /**
+     * Создает новый объект, когда в пуле нет свободных
+     */
+    protected abstract T createObject();
+
+    @Override
+    public T obtain() {
+        T object = super.obtain();
+        obtainCount++;
+        inUse++;
+        if (inUse > highWaterMark) {
+            highWaterMark = inUse;
+        }
+        if (outstanding != null) {
+            outstanding.put(object, Boolean.TRUE);
+        }
+        return object;
+    }
+
+    @Override
+    public void free(T object) {
+        if (outstanding != null && outstanding.remove(object) == null) {
+            // Объект уже был возвращен или получен не из этого пула
+            throw new IllegalStateException("Повторный возврат объекта в пул " + name + ": " + object);
+        }
+        super.free(object);
+        freeCount++;
+        inUse--;
+    }
+
+    @Override
+    public void freeAll(Array<T> objects) {
+        // Базовая реализация не вызывает free(), поэтому возвращаем объекты по одному
+        for (int i = 0; i < objects.size; i++) {
+            T object = objects.get(i);
+            if (object != null) {
+                free(object);
+            }
+        }
+    }
+
+    /**
+     * Возвращает имя пула
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Возвращает количество выданных и еще не возвращенных объектов
+     */
+    public int getInUse() {
+        return inUse;
+    }
+
+    /**
+     * Возвращает максимальное количество одновременно используемых объектов
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Возвращает количество созданных пулом объектов
+     */
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * Возвращает общее количество выданных объектов
+     */
+    public long getObtainCount() {
+        return obtainCount;
+    }
+
+    /**
+     * Возвращает общее количество возвращенных объектов
+     */
+    public long getFreeCount() {
+        return freeCount;
+    }
+
+    /**
+     * Выводит статистику пула в лог
+     */
+    public void logStats() {
+        Gdx.app.log("TrackingPool", name + ": используется " + inUse +
+            ", максимум " + highWaterMark +
+            ", создано " + createdCount +
+            ", выдано " + obtainCount +
+            ", свободно " + getFree());
+    }
+}
@@ -0,0 +1,116 @@
+package com.badlogic.drop.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.NinePatch;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * Общий кэш текстур фонов интерфейса ({@link RoundedDrawable}, {@link SciFiDrawable}) со счетчиком ссылок.
+ *
+ * Фон растеризуется один раз для каждого набора параметров (форма, цвет, радиус, свечение, стиль)
+ * и хранится как {@link NinePatch}: углы и края рисуются в исходном размере, а середина
+ * растягивается, поэтому одна небольшая текстура подходит для кнопок любого размера.
+ *
+ * Drawable берет запись при создании и возвращает ее в dispose(). Текстура освобождается,
+ * когда ее вернул последний владелец. Новый экран создает свои стили до того, как прежний
+ * освобождает свои, поэтому общие фоны переживают переходы между экранами.
+ */
+public final class DrawableCache {
+    private static final class Entry {
+        final Texture texture;
+        final NinePatch patch;
+        int refCount;
+
+        Entry(Texture texture, NinePatch patch) {
+            this.texture = texture;
+            this.patch = patch;
+        }
+    }
+
+    private static final ObjectMap<String, Entry> entries = new ObjectMap<>();
+
+    // Статистика для логов
+    private static int bakeCount;
+    private static int hitCount;
+
+    private DrawableCache() {
+    }
+
+    /**
+     * Берет фон из кэша и увеличивает счетчик ссылок
+     * @param key Ключ параметров фона
+     * @return фон или null, если его нужно растеризовать и добавить через {@link #add}
+     */
+    static NinePatch acquire(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+
+        entry.refCount++;
+        hitCount++;
+        return entry.patch;
+    }
+
+    /**
+     * Добавляет растеризованный фон со счетчиком ссылок 1
+     * @param key Ключ параметров фона
+     * @param pixmap Изображение фона, освобождается после загрузки в текстуру
+     * @param left Ширина левого края, который не растягивается
+     * @param right Ширина правого края
+     * @param top Высота верхнего края
+     * @param bottom Высота нижнего края
+     */
+    static NinePatch add(String key, Pixmap pixmap, int left, int right, int top, int bottom) {
+        Texture texture = new Texture(pixmap);
+        pixmap.dispose();
+
+        Entry entry = new Entry(texture, new NinePatch(texture, left, right, top, bottom));
+        entry.refCount = 1;
+        entries.put(key, entry);
+        bakeCount++;
+        return entry.patch;
+    }
+
+    /**
+     * Возвращает фон. Когда ссылок не остается, текстура освобождается.
+     */
+    static void release(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            Gdx.app.error("DrawableCache", "Освобождение фона, которого нет в кэше: " + key);
+            return;
+        }
+
+        entry.refCount--;
+        if (entry.refCount <= 0) {
+            entries.remove(key);
+            entry.texture.dispose();
+        }
+    }
+
+    /**
+     * Количество фонов в кэше
+     */
+    public static int size() {
+        return entries.size;
+    }
+
+    /**
+     * Выводит в лог статистику кэша
+     */
+    public static void logStats() {
+        Gdx.app.log("DrawableCache", "Фонов в кэше: " + entries.size
+            + ", растеризовано: " + bakeCount + ", взято из кэша: " + hitCount);
+    }
+
+    /**
+     * Освобождает все текстуры кэша при завершении игры
+     */
+    public static void dispose() {
+        for (Entry entry : entries.values()) {
+            entry.texture.dispose();
+        }
+        entries.clear();
+    }
+}
@@ -2,17 +2,27 @@ package com.badlogic.drop.utils;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.NinePatch;
 import com.badlogic.gdx.scenes.scene2d.utils.BaseDrawable;
-import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Disposable;
 
 /**
  * Drawable для создания кнопок и других UI элементов с закругленными углами в космическом стиле.
+ * Текстура берется из {@link DrawableCache} и общая для всех drawable с теми же параметрами;
+ * после использования drawable нужно освободить через {@link #dispose()}.
  */
-public class RoundedDrawable extends BaseDrawable {
-    private final Texture texture;
+public class RoundedDrawable extends BaseDrawable implements Disposable {
+    // Размер растеризуемой текстуры
+    private static final int TEXTURE_WIDTH = 128;
+    private static final int TEXTURE_HEIGHT = 64;
+    // Ширина контура и подсветки у края, которые не должны растягиваться
+    private static final int EDGE_WIDTH = 2;
+    
+    private final NinePatch patch;
+    private final String cacheKey;
+    private boolean disposed;
     private final Color color;
     private final int cornerRadius;
     private final boolean withInnerShadow;
@@ -69,15 +79,21 @@ public class RoundedDrawable extends BaseDrawable {
         this.glowStrength = glowStrength;
         this.spaceStyle = spaceStyle;
         
-        // Создаем Pixmap с закругленными углами и космическими эффектами
-        Pixmap pixmap;
-        if (spaceStyle) {
-            pixmap = createSpaceRectangle(128, 64, cornerRadius, color, glowStrength);
-        } else {
-            pixmap = createRoundedRectangle(128, 64, cornerRadius, color, withInnerShadow, glowStrength);
+        cacheKey = "rounded:" + this.color + ":" + cornerRadius + ":" + withInnerShadow + ":" + glowStrength + ":" + spaceStyle;
+        NinePatch cached = DrawableCache.acquire(cacheKey);
+        if (cached == null) {
+            // Создаем Pixmap с закругленными углами и космическими эффектами
+            Pixmap pixmap;
+            if (spaceStyle) {
+                pixmap = createSpaceRectangle(TEXTURE_WIDTH, TEXTURE_HEIGHT, cornerRadius, color, glowStrength);
+            } else {
+                pixmap = createRoundedRectangle(TEXTURE_WIDTH, TEXTURE_HEIGHT, cornerRadius, color, withInnerShadow, glowStrength);
+            }
+            // Углы не растягиваются, поэтому остаются круглыми при любом размере кнопки
+            int split = Math.min(cornerRadius + EDGE_WIDTH, TEXTURE_HEIGHT / 2 - 1);
+            cached = DrawableCache.add(cacheKey, pixmap, split, split, split, split);
         }
-        texture = new Texture(pixmap);
-        pixmap.dispose();
+        patch = cached;
     }
     
     /**
@@ -134,13 +150,11 @@ public class RoundedDrawable extends BaseDrawable {
             // Создаем нелинейный переход для более естественного космического градиента
             t = smoothStep(t);
             
-            Color currentColor = new Color();
-            currentColor.r = topSpaceColor.r * (1 - t) + deepSpaceColor.r * t;
-            currentColor.g = topSpaceColor.g * (1 - t) + deepSpaceColor.g * t;
-            currentColor.b = topSpaceColor.b * (1 - t) + deepSpaceColor.b * t;
-            currentColor.a = 0.95f;
-            
-            pixmap.setColor(currentColor);
+            pixmap.setColor(
+                topSpaceColor.r * (1 - t) + deepSpaceColor.r * t,
+                topSpaceColor.g * (1 - t) + deepSpaceColor.g * t,
+                topSpaceColor.b * (1 - t) + deepSpaceColor.b * t,
+                0.95f);
             
             // Рисуем горизонтальные линии с учетом закругленных углов
             if (y < cornerRadius) {
@@ -179,13 +193,13 @@ public class RoundedDrawable extends BaseDrawable {
                 // Устанавливаем цвет звезды
                 if (MathUtils.randomBoolean(0.2f)) {
                     // Редкие голубоватые звезды
-                    pixmap.setColor(new Color(0.8f * brightness, 0.9f * brightness, 1.0f * brightness, 0.9f));
+                    pixmap.setColor(0.8f * brightness, 0.9f * brightness, 1.0f * brightness, 0.9f);
                 } else if (MathUtils.randomBoolean(0.15f)) {
                     // Редкие красноватые звезды
-                    pixmap.setColor(new Color(1.0f * brightness, 0.8f * brightness, 0.8f * brightness, 0.9f));
+                    pixmap.setColor(1.0f * brightness, 0.8f * brightness, 0.8f * brightness, 0.9f);
                 } else {
                     // Обычные белые звезды
-                    pixmap.setColor(new Color(brightness, brightness, brightness, 0.9f));
+                    pixmap.setColor(brightness, brightness, brightness, 0.9f);
                 }
                 
                 // Рисуем звезду
@@ -202,8 +216,7 @@ public class RoundedDrawable extends BaseDrawable {
                 
                 // Для очень ярких звезд добавляем свечение
                 if (brightness > 0.95f && MathUtils.randomBoolean(0.4f)) {
-                    Color glowColor = new Color(brightness, brightness, brightness, 0.4f);
-                    pixmap.setColor(glowColor);
+                    pixmap.setColor(brightness, brightness, brightness, 0.4f);
                     
                     // Добавляем свечение вокруг яркой звезды
                     for (int dx = -2; dx <= 2; dx++) {
@@ -270,10 +283,7 @@ public class RoundedDrawable extends BaseDrawable {
         for (int i = 1; i <= glowSize; i++) {
             // Экспоненциальное затухание для более естественного свечения
             float alpha = 0.6f * cosmicStrength * (float)Math.pow(0.8, i);
-            Color currentGlowColor = new Color(cosmicGlowColor);
-            currentGlowColor.a = alpha;
-            
-            pixmap.setColor(currentGlowColor);
+            pixmap.setColor(cosmicGlowColor.r, cosmicGlowColor.g, cosmicGlowColor.b, alpha);
             
             // Рисуем внешнее свечение с плавным переходом
             drawSoftOutline(pixmap, -i, -i, width + i * 2, height + i * 2, cornerRadius + i);
@@ -304,10 +314,7 @@ public class RoundedDrawable extends BaseDrawable {
             // Рисуем туманность с постепенным уменьшением прозрачности
             for (int i = 0; i < nebulaRadius; i++) {
                 float alpha = 0.03f * (1.0f - (float)i / nebulaRadius);
-                Color currentColor = new Color(nebulaColor);
-                currentColor.a = alpha;
-                
-                pixmap.setColor(currentColor);
+                pixmap.setColor(nebulaColor.r, nebulaColor.g, nebulaColor.b, alpha);
                 
                 // Рисуем круги разных радиусов для создания туманности
                 for (int y = -i; y <= i; y++) {
@@ -357,21 +364,17 @@ public class RoundedDrawable extends BaseDrawable {
             // Смягченный переход для устранения резких линий
             t = smoothStep(t);
             
-            Color currentColor = new Color();
-            currentColor.r = topColor.r * (1 - t) + bottomColor.r * t;
-            currentColor.g = topColor.g * (1 - t) + bottomColor.g * t;
-            currentColor.b = topColor.b * (1 - t) + bottomColor.b * t;
-            
             // Минимальный эффект объема без выступов
             float distFromCenter = Math.abs(t - 0.5f) * 2; // 0 в центре, 1 на краях
             // Очень слабое осветление в центре
             float lightFactor = 0.02f; // Уменьшили с 0.05f
-            currentColor.r += (1 - distFromCenter) * lightFactor;
-            currentColor.g += (1 - distFromCenter) * lightFactor;
-            currentColor.b += (1 - distFromCenter) * lightFactor;
+            float light = (1 - distFromCenter) * lightFactor;
             
-            currentColor.a = color.a;
-            pixmap.setColor(currentColor);
+            pixmap.setColor(
+                topColor.r * (1 - t) + bottomColor.r * t + light,
+                topColor.g * (1 - t) + bottomColor.g * t + light,
+                topColor.b * (1 - t) + bottomColor.b * t + light,
+                color.a);
             
             // Рисуем горизонтальные линии с улучшенным алгоритмом
             if (y < cornerRadius) {
@@ -432,10 +435,7 @@ public class RoundedDrawable extends BaseDrawable {
         for (int i = 1; i <= glowSize; i++) {
             // Экспоненциальное затухание альфа-канала
             float alpha = glowColor.a * (float)Math.pow(0.7, i);
-            Color currentGlowColor = new Color(glowColor);
-            currentGlowColor.a = alpha;
-            
-            pixmap.setColor(currentGlowColor);
+            pixmap.setColor(glowColor.r, glowColor.g, glowColor.b, alpha);
             
             // Рисуем внешнее свечение с плавным переходом
             drawSoftOutline(pixmap, -i, -i, width + i * 2, height + i * 2, cornerRadius + i);
@@ -522,8 +522,8 @@ public class RoundedDrawable extends BaseDrawable {
         Color oldColor = batch.getColor();
         batch.setColor(color);
         
-        // Рисуем текстуру с сохранением пропорций, но растягивая ее на всю область
-        batch.draw(texture, x, y, width, height);
+        // Углы рисуются в исходном размере, середина растягивается на всю область
+        patch.draw(batch, x, y, width, height);
         
         batch.setColor(oldColor);
     }
@@ -549,11 +549,13 @@ public class RoundedDrawable extends BaseDrawable {
     }
     
     /**
-     * Освобождает ресурсы
+     * Возвращает общую текстуру в кэш
      */
+    @Override
     public void dispose() {
-        if (texture != null) {
-            texture.dispose();
+        if (!disposed) {
+            disposed = true;
+            DrawableCache.release(cacheKey);
         }
     }
     
@@ -2,15 +2,30 @@ package com.badlogic.drop.utils;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Pixmap;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.NinePatch;
 import com.badlogic.gdx.scenes.scene2d.utils.BaseDrawable;
+import com.badlogic.gdx.utils.Disposable;
 
 /**
  * Drawable для создания кнопок и UI элементов в sci-fi стиле с металлическим контуром и свечением.
+ * Текстура берется из {@link DrawableCache} и общая для всех drawable с теми же параметрами;
+ * после использования drawable нужно освободить через {@link #dispose()}.
  */
-public class SciFiDrawable extends BaseDrawable {
-    private final Texture texture;
+public class SciFiDrawable extends BaseDrawable implements Disposable {
+    // Размер растеризуемой текстуры
+    private static final int TEXTURE_WIDTH = 200;
+    private static final int TEXTURE_HEIGHT = 80;
+    // Размер внешнего свечения
+    private static final int GLOW_SIZE = 6;
+    // Доля ширины, занятая скосами шестиугольника
+    private static final float HEXAGON_CORNER_RATIO = 0.3f;
+    // Высота акцентных полос сверху и снизу
+    private static final int ACCENT_LINES = 2;
+    
+    private final NinePatch patch;
+    private final String cacheKey;
+    private boolean disposed;
     private final Color baseColor;
     private final int borderThickness;
     private final ButtonShape shape;
@@ -56,10 +71,41 @@ public class SciFiDrawable extends BaseDrawable {
         this.shape = shape;
         this.borderThickness = borderThickness;
         
-        // Создаем Pixmap с sci-fi кнопкой
-        Pixmap pixmap = createSciFiButton(200, 80);
-        texture = new Texture(pixmap);
-        pixmap.dispose();
+        cacheKey = "scifi:" + baseColor + ":" + shape + ":" + borderThickness;
+        NinePatch cached = DrawableCache.acquire(cacheKey);
+        if (cached == null) {
+            // Создаем Pixmap с sci-fi кнопкой
+            Pixmap pixmap = createSciFiButton(TEXTURE_WIDTH, TEXTURE_HEIGHT);
+            cached = createPatch(pixmap);
+        }
+        patch = cached;
+    }
+    
+    /**
+     * Добавляет растеризованную кнопку в кэш. Скосы, контур и свечение попадают
+     * в нерастягиваемые края, растягивается только середина с голограммой.
+     */
+    private NinePatch createPatch(Pixmap pixmap) {
+        // Контур со свечением у прямых сторон
+        int edge = borderThickness + GLOW_SIZE + 1;
+        int accent = Math.max(ACCENT_LINES, borderThickness) + 1;
+        switch (shape) {
+            case HEXAGONAL: {
+                int corner = Math.round(TEXTURE_WIDTH * HEXAGON_CORNER_RATIO) + edge;
+                int slant = TEXTURE_HEIGHT / 4 + borderThickness + 1;
+                return DrawableCache.add(cacheKey, pixmap, corner, corner, slant, slant);
+            }
+            case ANGULAR_LEFT: {
+                int slant = TEXTURE_HEIGHT / 3 + edge;
+                return DrawableCache.add(cacheKey, pixmap, slant, edge, TEXTURE_HEIGHT / 3 + borderThickness + 1, accent);
+            }
+            case ANGULAR_RIGHT: {
+                int slant = TEXTURE_HEIGHT / 3 + edge;
+                return DrawableCache.add(cacheKey, pixmap, edge, slant, TEXTURE_HEIGHT / 3 + borderThickness + 1, accent);
+            }
+            default:
+                return DrawableCache.add(cacheKey, pixmap, edge, edge, accent, accent);
+        }
     }
     
     /**
@@ -95,13 +141,9 @@ public class SciFiDrawable extends BaseDrawable {
         glowColor.g = Math.min(glowColor.g * 1.5f, 1.0f);
         glowColor.b = Math.min(glowColor.b * 1.5f, 1.0f);
         
-        int glowSize = 6; // Размер свечения
-        
-        for (int i = glowSize; i > 0; i--) {
+        for (int i = GLOW_SIZE; i > 0; i--) {
             // Уменьшаем прозрачность к внешней части свечения
-            Color currentGlowColor = new Color(glowColor);
-            currentGlowColor.a = 0.1f * (float)i / glowSize;
-            pixmap.setColor(currentGlowColor);
+            pixmap.setColor(glowColor.r, glowColor.g, glowColor.b, 0.1f * (float)i / GLOW_SIZE);
             
             // Рисуем контур с учетом формы
             drawButtonShape(pixmap, width, height, borderThickness + i, false);
@@ -125,13 +167,12 @@ public class SciFiDrawable extends BaseDrawable {
         for (int y = 0; y < height / 2; y++) {
             // Плавно переходим от верхнего цвета к среднему
             float t = (float)y / (height / 2);
-            Color currentColor = new Color(
+            pixmap.setColor(
                 topBorderColor.r * (1 - t) + sideBorderColor.r * t,
                 topBorderColor.g * (1 - t) + sideBorderColor.g * t,
                 topBorderColor.b * (1 - t) + sideBorderColor.b * t,
                 1.0f
             );
-            pixmap.setColor(currentColor);
             
             // Рисуем только линию контура
             drawBorderLine(pixmap, width, height, y, borderThickness);
@@ -141,13 +182,12 @@ public class SciFiDrawable extends BaseDrawable {
         for (int y = height / 2; y < height; y++) {
             // Плавно переходим от среднего цвета к нижнему
             float t = (float)(y - height / 2) / (height / 2);
-            Color currentColor = new Color(
+            pixmap.setColor(
                 sideBorderColor.r * (1 - t) + bottomBorderColor.r * t,
                 sideBorderColor.g * (1 - t) + bottomBorderColor.g * t,
                 sideBorderColor.b * (1 - t) + bottomBorderColor.b * t,
                 1.0f
             );
-            pixmap.setColor(currentColor);
             
             // Рисуем только линию контура
             drawBorderLine(pixmap, width, height, y, borderThickness);
@@ -159,7 +199,7 @@ public class SciFiDrawable extends BaseDrawable {
         pixmap.setColor(highlightColor);
         
         // Верхняя и нижняя цветные полосы
-        for (int i = 0; i < 2; i++) {
+        for (int i = 0; i < ACCENT_LINES; i++) {
             drawAccentLine(pixmap, width, height, i, borderThickness);
             drawAccentLine(pixmap, width, height, height - i - 1, borderThickness);
         }
@@ -194,14 +234,12 @@ public class SciFiDrawable extends BaseDrawable {
         // Заливаем внутреннюю часть с градиентом
         for (int y = innerPadding; y < height - innerPadding; y++) {
             float t = (float)(y - innerPadding) / (height - innerPadding * 2);
-            Color currentColor = new Color(
+            pixmap.setColor(
                 topHoloColor.r * (1 - t) + bottomHoloColor.r * t,
                 topHoloColor.g * (1 - t) + bottomHoloColor.g * t,
                 topHoloColor.b * (1 - t) + bottomHoloColor.b * t,
                 topHoloColor.a * (1 - t) + bottomHoloColor.a * t
             );
-            
-            pixmap.setColor(currentColor);
             drawFillLine(pixmap, width, height, y, innerPadding);
         }
         
@@ -245,9 +283,7 @@ public class SciFiDrawable extends BaseDrawable {
                 
             case HEXAGONAL:
                 // Для шестиугольника проверяем скосы по краям
-                float centerX = width / 2f;
-                float ratio = 0.3f; // Насколько сильно скошены края (0.3 = 30% от ширины)
-                int cornerWidth = Math.round(width * ratio);
+                int cornerWidth = Math.round(width * HEXAGON_CORNER_RATIO);
                 
                 if (x < padding + cornerWidth) {
                     // Левый скос
@@ -306,8 +342,7 @@ public class SciFiDrawable extends BaseDrawable {
                 
             case HEXAGONAL:
                 // Для шестиугольника учитываем скосы
-                float ratio = 0.3f; // Насколько сильно скошены края (0.3 = 30% от ширины)
-                int cornerWidth = Math.round(width * ratio);
+                int cornerWidth = Math.round(width * HEXAGON_CORNER_RATIO);
                 
                 if (y < height / 4) {
                     // Верхняя часть с левым скосом
@@ -414,8 +449,7 @@ public class SciFiDrawable extends BaseDrawable {
                 
             case HEXAGONAL:
                 // Для шестиугольника учитываем скосы
-                float ratio = 0.3f;
-                int cornerWidth = Math.round(width * ratio);
+                int cornerWidth = Math.round(width * HEXAGON_CORNER_RATIO);
                 
                 if (y < height / 4 + padding) {
                     // Верхняя часть с левым скосом
@@ -497,8 +531,7 @@ public class SciFiDrawable extends BaseDrawable {
                 break;
                 
             case HEXAGONAL:
-                float ratio = 0.3f;
-                int cornerWidth = Math.round(width * ratio);
+                int cornerWidth = Math.round(width * HEXAGON_CORNER_RATIO);
                 
                 if (y < height / 4) {
                     // Верхняя часть
@@ -550,16 +583,19 @@ public class SciFiDrawable extends BaseDrawable {
     public void draw(Batch batch, float x, float y, float width, float height) {
         Color oldColor = batch.getColor();
         batch.setColor(Color.WHITE); // Рисуем текстуру как есть, без изменения цвета
-        batch.draw(texture, x, y, width, height);
+        // Скосы и контур рисуются в исходном размере, середина растягивается
+        patch.draw(batch, x, y, width, height);
         batch.setColor(oldColor);
     }
     
     /**
-     * Освобождает ресурсы
+     * Возвращает общую текстуру в кэш
      */
+    @Override
     public void dispose() {
-        if (texture != null) {
-            texture.dispose();
+        if (!disposed) {
+            disposed = true;
+            DrawableCache.release(cacheKey);
         }
     }
 } 
\ No newline at end of file
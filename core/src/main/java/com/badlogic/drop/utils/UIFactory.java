@@ -4,15 +4,31 @@ import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton.TextButtonStyle;
+import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
+import com.badlogic.gdx.utils.Disposable;
 
 /**
  * Фабричный класс для создания UI элементов с единым стилем по всему приложению
+ *
+ * Фоны кнопок берутся из общего {@link DrawableCache}. Методы create* передают их во владение
+ * скину: текстуры возвращаются в кэш, когда экран освобождает свой скин.
  */
 public class UIFactory {
     
     // Радиус скругления кнопок (в пикселях)
     private static final int BUTTON_CORNER_RADIUS = 20;
     
+    // Счетчик для уникальных имен фонов в скинах
+    private static int ownedCount;
+    
+    /**
+     * Добавляет drawable в скин, чтобы он освободился вместе со скином
+     */
+    private static <T extends Drawable & Disposable> T owned(Skin skin, T drawable) {
+        skin.add("ui-factory-drawable-" + ownedCount++, drawable);
+        return drawable;
+    }
+    
     /**
      * Создает стиль для кнопок с закругленными углами
      * 
@@ -37,9 +53,9 @@ public class UIFactory {
         
         // Создаем drawable со скругленными углами для разных состояний кнопки
         // Убираем все эффекты внутренней тени, оставляем только внешнее свечение
-        style.up = new RoundedDrawable(upColor, BUTTON_CORNER_RADIUS, false, 0.2f);
-        style.down = new RoundedDrawable(downColor, BUTTON_CORNER_RADIUS, false, 0.1f);
-        style.over = new RoundedDrawable(overColor, BUTTON_CORNER_RADIUS, false, 0.4f);
+        style.up = owned(skin, new RoundedDrawable(upColor, BUTTON_CORNER_RADIUS, false, 0.2f));
+        style.down = owned(skin, new RoundedDrawable(downColor, BUTTON_CORNER_RADIUS, false, 0.1f));
+        style.over = owned(skin, new RoundedDrawable(overColor, BUTTON_CORNER_RADIUS, false, 0.4f));
         
         return style;
     }
@@ -92,9 +108,9 @@ public class UIFactory {
         );
         
         // Создаем sci-fi drawable для разных состояний
-        style.up = new SciFiDrawable(upColor, shape);
-        style.down = new SciFiDrawable(downColor, shape);
-        style.over = new SciFiDrawable(overColor, shape);
+        style.up = owned(skin, new SciFiDrawable(upColor, shape));
+        style.down = owned(skin, new SciFiDrawable(downColor, shape));
+        style.over = owned(skin, new SciFiDrawable(overColor, shape));
         
         return style;
     }
@@ -155,9 +171,9 @@ public class UIFactory {
         Color overColor = new Color(0.1f, 0.2f, 0.4f, 0.9f);       // Освещенный космос
         
         // Создаем drawable с космическим стилем для разных состояний кнопки
-        style.up = new RoundedDrawable(upColor, BUTTON_CORNER_RADIUS, false, 0.6f, true);
-        style.down = new RoundedDrawable(downColor, BUTTON_CORNER_RADIUS, false, 0.4f, true);
-        style.over = new RoundedDrawable(overColor, BUTTON_CORNER_RADIUS, false, 1.0f, true);
+        style.up = owned(skin, new RoundedDrawable(upColor, BUTTON_CORNER_RADIUS, false, 0.6f, true));
+        style.down = owned(skin, new RoundedDrawable(downColor, BUTTON_CORNER_RADIUS, false, 0.4f, true));
+        style.over = owned(skin, new RoundedDrawable(overColor, BUTTON_CORNER_RADIUS, false, 1.0f, true));
         
         return style;
     }
@@ -198,9 +214,9 @@ public class UIFactory {
         overColor.b = overColor.b * 0.6f + baseColor.b * 0.4f;
         
         // Создаем drawable с космическим стилем и цветом туманности
-        style.up = new RoundedDrawable(upColor, BUTTON_CORNER_RADIUS, false, 0.6f, true);
-        style.down = new RoundedDrawable(downColor, BUTTON_CORNER_RADIUS, false, 0.4f, true);
-        style.over = new RoundedDrawable(overColor, BUTTON_CORNER_RADIUS, false, 1.0f, true);
+        style.up = owned(skin, new RoundedDrawable(upColor, BUTTON_CORNER_RADIUS, false, 0.6f, true));
+        style.down = owned(skin, new RoundedDrawable(downColor, BUTTON_CORNER_RADIUS, false, 0.4f, true));
+        style.over = owned(skin, new RoundedDrawable(overColor, BUTTON_CORNER_RADIUS, false, 1.0f, true));
         
         return style;
     }
@@ -228,15 +244,16 @@ public class UIFactory {
         Color overColor = baseColor.cpy().mul(1.15f, 1.15f, 1.15f, 1f); // Немного ярче
         
         // Создаем drawable со скругленными углами для разных состояний кнопки
-        style.up = new RoundedDrawable(upColor, BUTTON_CORNER_RADIUS, false, 0.2f);
-        style.down = new RoundedDrawable(downColor, BUTTON_CORNER_RADIUS, false, 0.1f);
-        style.over = new RoundedDrawable(overColor, BUTTON_CORNER_RADIUS, false, 0.4f);
+        style.up = owned(skin, new RoundedDrawable(upColor, BUTTON_CORNER_RADIUS, false, 0.2f));
+        style.down = owned(skin, new RoundedDrawable(downColor, BUTTON_CORNER_RADIUS, false, 0.1f));
+        style.over = owned(skin, new RoundedDrawable(overColor, BUTTON_CORNER_RADIUS, false, 0.4f));
         
         return style;
     }
     
     /**
      * Обновляет существующий стиль кнопок, делая их скругленными
+     * Новые фоны не принадлежат скину: вызывающий освобождает их через dispose()
      * 
      * @param style Существующий стиль кнопок
      */
@@ -254,6 +271,7 @@ public class UIFactory {
     
     /**
      * Обновляет существующий стиль кнопок, применяя космический стиль
+     * Новые фоны не принадлежат скину: вызывающий освобождает их через dispose()
      * 
      * @param style Существующий стиль кнопок
      */
@@ -276,6 +294,7 @@ public class UIFactory {
     
     /**
      * Обновляет существующий стиль кнопок, применяя sci-fi стиль
+     * Новые фоны не принадлежат скину: вызывающий освобождает их через dispose()
      * 
      * @param style Существующий стиль кнопок
      * @param shape Форма sci-fi кнопки
@@ -342,9 +361,9 @@ public class UIFactory {
         );
         
         // Создаем sci-fi drawable для разных состояний
-        style.up = new SciFiDrawable(upColor, SciFiDrawable.ButtonShape.RECTANGULAR);
-        style.down = new SciFiDrawable(downColor, SciFiDrawable.ButtonShape.RECTANGULAR);
-        style.over = new SciFiDrawable(overColor, SciFiDrawable.ButtonShape.RECTANGULAR);
+        style.up = owned(skin, new SciFiDrawable(upColor, SciFiDrawable.ButtonShape.RECTANGULAR));
+        style.down = owned(skin, new SciFiDrawable(downColor, SciFiDrawable.ButtonShape.RECTANGULAR));
+        style.over = owned(skin, new SciFiDrawable(overColor, SciFiDrawable.ButtonShape.RECTANGULAR));
         
         return style;
     }
@@ -0,0 +1,466 @@
+package com.badlogic.drop.world;
+
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Хранилище игровых объектов в виде структуры массивов (structure-of-arrays).
+ * Все параметры объектов лежат в параллельных примитивных массивах, поэтому
+ * обновление и отрисовка идут линейным проходом без обращения к отдельным объектам в куче.
+ *
+ * Удаление выполняется перестановкой последнего объекта на место удаляемого (swap-remove),
+ * поэтому плотные индексы объектов могут меняться. Для долговременных ссылок
+ * используются стабильные дескрипторы (handles) с номером поколения.
+ *
+ * Массивы prevX и prevY хранят позиции на начало последнего шага симуляции
+ * и используются для интерполяции при отрисовке.
+ *
+ * Массивы x, y, w, h, vx, vy, prevX, prevY, type и flags открыты для быстрого доступа по плотному индексу
+ * от 0 до {@link #size} - 1. Ссылки на сами массивы нельзя сохранять между вызовами
+ * {@link #create}, так как при росте хранилища они пересоздаются.
+ *
+ * Хранилище работает как набор пулов по типам объектов: слоты удаленных объектов
+ * переиспользуются без выделения памяти, а для каждого типа ведется статистика
+ * живых объектов и их максимального количества. В отладочном режиме повторное
+ * удаление объекта по устаревшему дескриптору, а также прямое удаление объекта,
+ * уже помеченного {@link #FLAG_DESTROYED}, приводит к исключению.
+ */
+public class EntityStore {
+    // Типы объектов
+    public static final int TYPE_ASTEROID = 0;
+    public static final int TYPE_ENEMY = 1;
+    public static final int TYPE_FUEL = 2;
+    public static final int TYPE_HEART = 3;
+    public static final int TYPE_BOSS_PROJECTILE = 4;
+    public static final int TYPE_PLAYER_PROJECTILE = 5;
+    public static final int TYPE_POWERUP_SHIELD = 6;
+    public static final int TYPE_POWERUP_MAGNET = 7;
+    public static final int TYPE_POWERUP_DOUBLE_SCORE = 8;
+    public static final int TYPE_COUNT = 9;
+
+    // Названия типов для логов
+    private static final String[] TYPE_NAMES = {
+        "asteroid", "enemy", "fuel", "heart", "bossProjectile", "playerProjectile",
+        "shield", "magnet", "doubleScore"
+    };
+
+    // Флаги объектов
+    public static final int FLAG_DESTROYED = 1; // Объект помечен на удаление в конце прохода
+
+    // Пустой дескриптор
+    public static final int INVALID_HANDLE = -1;
+
+    // Раскладка дескриптора: младшие биты - слот, старшие - поколение
+    private static final int SLOT_BITS = 20;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final int GENERATION_MASK = (1 << (31 - SLOT_BITS)) - 1;
+
+    private static final int DEFAULT_CAPACITY = 128;
+
+    // Данные объектов по плотному индексу
+    public float[] x;
+    public float[] y;
+    public float[] w;
+    public float[] h;
+    public float[] vx;
+    public float[] vy;
+    public float[] prevX;
+    public float[] prevY;
+    public int[] type;
+    public int[] flags;
+
+    // Количество живых объектов
+    public int size;
+
+    // Слот дескриптора для каждого плотного индекса
+    private int[] slotOfIndex;
+
+    // Плотный индекс и поколение для каждого слота
+    private int[] indexOfSlot;
+    private int[] generationOfSlot;
+
+    // Стек свободных слотов
+    private int[] freeSlots;
+    private int freeSlotCount;
+    private int slotCount;
+
+    // Статистика по типам объектов
+    private final int[] liveCountByType = new int[TYPE_COUNT];
+    private final int[] highWaterByType = new int[TYPE_COUNT];
+    private final long[] createdByType = new long[TYPE_COUNT];
+    private int highWaterMark;
+
+    // Отладочный режим: проверка повторного удаления
+    private boolean debug;
+
+    /**
+     * Создает хранилище с емкостью по умолчанию
+     */
+    public EntityStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает хранилище с указанной начальной емкостью
+     * @param capacity Начальная емкость
+     */
+    public EntityStore(int capacity) {
+        capacity = Math.max(1, capacity);
+        x = new float[capacity];
+        y = new float[capacity];
+        w = new float[capacity];
+        h = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        prevX = new float[capacity];
+        prevY = new float[capacity];
+        type = new int[capacity];
+        flags = new int[capacity];
+        slotOfIndex = new int[capacity];
+        indexOfSlot = new int[capacity];
+        generationOfSlot = new int[capacity];
+        freeSlots = new int[capacity];
+    }
+
+    /**
+     * Создает новый объект
+     * @param entityType Тип объекта
+     * @param posX Координата X левого нижнего угла
+     * @param posY Координата Y левого нижнего угла
+     * @param width Ширина
+     * @param height Высота
+     * @return Стабильный дескриптор объекта
+     */
+    public int create(int entityType, float posX, float posY, float width, float height) {
+        if (size == x.length) {
+            grow(x.length * 2);
+        }
+
+        // Статистика по типу
+        int live = ++liveCountByType[entityType];
+        if (live > highWaterByType[entityType]) {
+            highWaterByType[entityType] = live;
+        }
+        createdByType[entityType]++;
+        if (size + 1 > highWaterMark) {
+            highWaterMark = size + 1;
+        }
+
+        // Берем свободный слот или выделяем новый
+        int slot;
+        if (freeSlotCount > 0) {
+            slot = freeSlots[--freeSlotCount];
+        } else {
+            slot = slotCount++;
+            if (slot > SLOT_MASK) {
+                throw new IllegalStateException("Превышено максимальное количество объектов: " + SLOT_MASK);
+            }
+        }
+
+        int index = size++;
+        x[index] = posX;
+        y[index] = posY;
+        w[index] = width;
+        h[index] = height;
+        vx[index] = 0;
+        vy[index] = 0;
+        prevX[index] = posX;
+        prevY[index] = posY;
+        type[index] = entityType;
+        flags[index] = 0;
+
+        slotOfIndex[index] = slot;
+        indexOfSlot[slot] = index;
+
+        return (generationOfSlot[slot] << SLOT_BITS) | slot;
+    }
+
+    /**
+     * Удаляет объект по плотному индексу. На его место переносится последний объект,
+     * поэтому при обходе с удалением нужно идти от конца к началу.
+     * Объект, помеченный {@link #FLAG_DESTROYED}, уже ожидает удаления в {@link #removeDestroyed()}:
+     * в отладочном режиме его повторное удаление приводит к исключению.
+     * @param index Плотный индекс
+     */
+    public void removeAt(int index) {
+        if (debug) {
+            if (index < 0 || index >= size) {
+                throw new IllegalStateException("Удаление несуществующего объекта: индекс " + index + ", размер " + size);
+            }
+            if ((flags[index] & FLAG_DESTROYED) != 0) {
+                throw new IllegalStateException("Повторное удаление объекта: индекс " + index
+                    + " уже помечен на удаление, дескриптор " + handleAt(index));
+            }
+        }
+        release(index);
+    }
+
+    /**
+     * Освобождает слот объекта и переносит на его место последний объект
+     */
+    private void release(int index) {
+        liveCountByType[type[index]]--;
+        int slot = slotOfIndex[index];
+        int last = --size;
+
+        if (index != last) {
+            x[index] = x[last];
+            y[index] = y[last];
+            w[index] = w[last];
+            h[index] = h[last];
+            vx[index] = vx[last];
+            vy[index] = vy[last];
+            prevX[index] = prevX[last];
+            prevY[index] = prevY[last];
+            type[index] = type[last];
+            flags[index] = flags[last];
+
+            int movedSlot = slotOfIndex[last];
+            slotOfIndex[index] = movedSlot;
+            indexOfSlot[movedSlot] = index;
+        }
+
+        // Увеличиваем поколение, чтобы старые дескрипторы стали недействительными
+        generationOfSlot[slot] = (generationOfSlot[slot] + 1) & GENERATION_MASK;
+        indexOfSlot[slot] = -1;
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    /**
+     * Удаляет объект по дескриптору
+     * @param handle Дескриптор объекта
+     * @return true, если объект существовал и был удален
+     */
+    public boolean remove(int handle) {
+        int index = indexOf(handle);
+        if (index < 0) {
+            if (debug && handle != INVALID_HANDLE) {
+                // Объект с этим дескриптором уже был удален
+                throw new IllegalStateException("Повторное удаление объекта: дескриптор " + handle);
+            }
+            return false;
+        }
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Возвращает плотный индекс объекта по дескриптору
+     * @param handle Дескриптор объекта
+     * @return Плотный индекс или -1, если объект уже удален
+     */
+    public int indexOf(int handle) {
+        if (handle < 0) return -1;
+        int slot = handle & SLOT_MASK;
+        if (slot >= slotCount) return -1;
+        int generation = handle >>> SLOT_BITS;
+        if (generationOfSlot[slot] != generation) return -1;
+        return indexOfSlot[slot];
+    }
+
+    /**
+     * Возвращает стабильный дескриптор объекта по его текущему плотному индексу
+     */
+    public int handleAt(int index) {
+        int slot = slotOfIndex[index];
+        return (generationOfSlot[slot] << SLOT_BITS) | slot;
+    }
+
+    /**
+     * Проверяет, существует ли еще объект с данным дескриптором
+     */
+    public boolean isValid(int handle) {
+        return indexOf(handle) >= 0;
+    }
+
+    /**
+     * Удаляет все объекты, помеченные флагом {@link #FLAG_DESTROYED}
+     * @return Количество удаленных объектов
+     */
+    public int removeDestroyed() {
+        int removed = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            if ((flags[i] & FLAG_DESTROYED) != 0) {
+                release(i);
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Удаляет все объекты указанного типа
+     * @param entityType Тип объектов
+     */
+    public void removeAllOfType(int entityType) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (type[i] == entityType) {
+                release(i);
+            }
+        }
+    }
+
+    /**
+     * Возвращает количество объектов указанного типа
+     */
+    public int countOfType(int entityType) {
+        return liveCountByType[entityType];
+    }
+
+    /**
+     * Удаляет все объекты. Выданные ранее дескрипторы становятся недействительными.
+     */
+    public void clear() {
+        for (int i = size - 1; i >= 0; i--) {
+            release(i);
+        }
+    }
+
+    /**
+     * Возвращает X-координату центра объекта
+     */
+    public float centerX(int index) {
+        return x[index] + w[index] / 2;
+    }
+
+    /**
+     * Возвращает Y-координату центра объекта
+     */
+    public float centerY(int index) {
+        return y[index] + h[index] / 2;
+    }
+
+    /**
+     * Запоминает текущие позиции всех объектов как предыдущие.
+     * Вызывается в начале каждого шага симуляции.
+     */
+    public void savePreviousPositions() {
+        System.arraycopy(x, 0, prevX, 0, size);
+        System.arraycopy(y, 0, prevY, 0, size);
+    }
+
+    /**
+     * Возвращает X-координату объекта, интерполированную между предыдущим и текущим шагом
+     * @param index Плотный индекс
+     * @param alpha Доля шага (0 - предыдущая позиция, 1 - текущая)
+     */
+    public float interpolatedX(int index, float alpha) {
+        return prevX[index] + (x[index] - prevX[index]) * alpha;
+    }
+
+    /**
+     * Возвращает Y-координату объекта, интерполированную между предыдущим и текущим шагом
+     * @param index Плотный индекс
+     * @param alpha Доля шага (0 - предыдущая позиция, 1 - текущая)
+     */
+    public float interpolatedY(int index, float alpha) {
+        return prevY[index] + (y[index] - prevY[index]) * alpha;
+    }
+
+    /**
+     * Возвращает текущую емкость хранилища
+     */
+    public int capacity() {
+        return x.length;
+    }
+
+    /**
+     * Заранее увеличивает емкость, чтобы избежать роста массивов во время игры
+     * @param capacity Требуемая емкость
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > x.length) {
+            grow(capacity);
+        }
+    }
+
+    /**
+     * Включает или выключает проверку повторного удаления объектов
+     */
+    public void setDebug(boolean debug) {
+        this.debug = debug;
+    }
+
+    /**
+     * Проверяет, включен ли отладочный режим
+     */
+    public boolean isDebug() {
+        return debug;
+    }
+
+    /**
+     * Возвращает максимальное количество одновременно живых объектов
+     */
+    public int getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    /**
+     * Возвращает максимальное количество одновременно живых объектов указанного типа
+     */
+    public int getHighWaterMark(int entityType) {
+        return highWaterByType[entityType];
+    }
+
+    /**
+     * Возвращает количество созданных объектов указанного типа с момента сброса статистики
+     */
+    public long getCreatedCount(int entityType) {
+        return createdByType[entityType];
+    }
+
+    /**
+     * Сбрасывает накопленную статистику (текущие количества объектов сохраняются)
+     */
+    public void resetStats() {
+        highWaterMark = size;
+        for (int t = 0; t < TYPE_COUNT; t++) {
+            highWaterByType[t] = liveCountByType[t];
+            createdByType[t] = 0;
+        }
+    }
+
+    /**
+     * Выводит статистику хранилища в лог
+     */
+    public void logStats() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Объектов ").append(size).append(", максимум ").append(highWaterMark)
+            .append(", емкость ").append(x.length);
+        for (int t = 0; t < TYPE_COUNT; t++) {
+            if (createdByType[t] == 0 && highWaterByType[t] == 0) continue;
+            sb.append("; ").append(TYPE_NAMES[t]).append(": ").append(liveCountByType[t])
+                .append("/").append(highWaterByType[t])
+                .append(" (создано ").append(createdByType[t]).append(")");
+        }
+        Gdx.app.log("EntityStore", sb.toString());
+    }
+
+    private void grow(int newCapacity) {
+        x = copy(x, newCapacity);
+        y = copy(y, newCapacity);
+        w = copy(w, newCapacity);
+        h = copy(h, newCapacity);
+        vx = copy(vx, newCapacity);
+        vy = copy(vy, newCapacity);
+        prevX = copy(prevX, newCapacity);
+        prevY = copy(prevY, newCapacity);
+        type = copy(type, newCapacity);
+        flags = copy(flags, newCapacity);
+        slotOfIndex = copy(slotOfIndex, newCapacity);
+        indexOfSlot = copy(indexOfSlot, newCapacity);
+        generationOfSlot = copy(generationOfSlot, newCapacity);
+        freeSlots = copy(freeSlots, newCapacity);
+    }
+
+    private static float[] copy(float[] source, int newCapacity) {
+        float[] result = new float[newCapacity];
+        System.arraycopy(source, 0, result, 0, source.length);
+        return result;
+    }
+
+    private static int[] copy(int[] source, int newCapacity) {
+        int[] result = new int[newCapacity];
+        System.arraycopy(source, 0, result, 0, source.length);
+        return result;
+    }
+}
@@ -0,0 +1,14 @@
+package com.badlogic.drop.world;
+
+/**
+ * События игрового процесса, которые мир публикует в {@link GameEventBus}.
+ * Вместе с событием передается одно целое значение (указано для каждого события).
+ */
+public enum GameEvent {
+    GAME_STARTED,    // Началась новая партия (значение 0)
+    SCORE_CHANGED,   // Изменился счет (значение - новый счет)
+    LEVEL_CHANGED,   // Изменился уровень сложности (значение - новый уровень)
+    DAMAGE_TAKEN,    // Игрок потерял жизнь (значение - оставшиеся жизни)
+    FUEL_COLLECTED,  // Собрана канистра топлива (значение - собрано за партию)
+    TIME_MILESTONE   // Прошла очередная секунда игры (значение - секунд с начала партии)
+}
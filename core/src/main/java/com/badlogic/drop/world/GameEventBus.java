@@ -0,0 +1,72 @@
+package com.badlogic.drop.world;
+
+import com.badlogic.gdx.utils.SnapshotArray;
+
+/**
+ * Шина событий игрового процесса.
+ * Подписчики хранятся отдельно для каждого события, поэтому публикация вызывает только тех,
+ * кому это событие нужно, и не выделяет память. Подписчик может отписаться прямо
+ * во время обработки события.
+ */
+public class GameEventBus {
+    private static final GameEvent[] EVENTS = GameEvent.values();
+
+    private final SnapshotArray<GameEventListener>[] listeners;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public GameEventBus() {
+        listeners = new SnapshotArray[EVENTS.length];
+        for (int i = 0; i < EVENTS.length; i++) {
+            listeners[i] = new SnapshotArray<GameEventListener>(true, 4, GameEventListener.class);
+        }
+    }
+
+    /**
+     * Подписывает получателя на событие (повторная подписка игнорируется)
+     */
+    public void subscribe(GameEvent event, GameEventListener listener) {
+        SnapshotArray<GameEventListener> list = listeners[event.ordinal()];
+        if (!list.contains(listener, true)) {
+            list.add(listener);
+        }
+    }
+
+    /**
+     * Отписывает получателя от события
+     */
+    public void unsubscribe(GameEvent event, GameEventListener listener) {
+        listeners[event.ordinal()].removeValue(listener, true);
+    }
+
+    /**
+     * Отписывает получателя от всех событий
+     */
+    public void unsubscribeAll(GameEventListener listener) {
+        for (SnapshotArray<GameEventListener> list : listeners) {
+            list.removeValue(listener, true);
+        }
+    }
+
+    /**
+     * Сообщает о событии всем его подписчикам
+     * @param event Событие
+     * @param value Значение события
+     */
+    public void publish(GameEvent event, int value) {
+        SnapshotArray<GameEventListener> list = listeners[event.ordinal()];
+        if (list.size == 0) return;
+
+        GameEventListener[] items = list.begin();
+        for (int i = 0, n = list.size; i < n; i++) {
+            items[i].onGameEvent(event, value);
+        }
+        list.end();
+    }
+
+    /**
+     * Проверяет, есть ли у события подписчики
+     */
+    public boolean hasListeners(GameEvent event) {
+        return listeners[event.ordinal()].size > 0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.badlogic.drop.world;
+
+/**
+ * Подписчик на события игрового процесса
+ */
+public interface GameEventListener {
+    /**
+     * Произошло событие, на которое оформлена подписка
+     * @param event Событие
+     * @param value Значение события (см. {@link GameEvent})
+     */
+    void onGameEvent(GameEvent event, int value);
+}
@@ -0,0 +1,10 @@
+package com.badlogic.drop.world;
+
+/**
+ * Звуки, которые игровой мир просит воспроизвести.
+ * Сам мир звуки не загружает: их проигрывает экран по событию.
+ */
+public enum GameSound {
+    COLLECT,    // Сбор предметов, выстрел игрока, урон боссу
+    EXPLOSION   // Столкновения, взрывы, атаки босса
+}
@@ -0,0 +1,1956 @@
+package com.badlogic.drop.world;
+
+import com.badlogic.drop.SpaceCourierGame;
+import com.badlogic.drop.systems.AchievementSystem;
+import com.badlogic.drop.systems.DifficultySystem;
+import com.badlogic.drop.util.RandomStream;
+import com.badlogic.drop.util.Scheduler;
+import com.badlogic.drop.util.SpatialHash;
+import com.badlogic.drop.util.TrackingPool;
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.math.Rectangle;
+
+/**
+ * Игровой мир: вся логика игрового процесса без графики, звука и прямого доступа к вводу.
+ * Владеет объектами, таймерами, счетом, системой сложности, боссом и столкновениями.
+ *
+ * Мир продвигается вызовом {@link #update(float, InputCommand)} с командой управления на тик,
+ * а о звуках и событиях интерфейса сообщает через {@link GameWorldListener}.
+ * Таймеры считаются по игровым часам, поэтому мир можно запускать без GL-контекста
+ * (например, в gdx-backend-headless) быстрее реального времени.
+ *
+ * Вся случайность берется из потоков {@link RandomStream}, которые выводятся из одного
+ * зерна сессии: появление объектов, физика и косметика не влияют друг на друга.
+ * Партия с тем же зерном и тем же вводом повторяется в точности.
+ *
+ * Изменения счета, уровня, урон, сбор топлива и ход времени публикуются в шину
+ * {@link GameEventBus}; на нее подписываются правила достижений и другие наблюдатели.
+ */
+public class GameWorld {
+    // Размеры игрового мира
+    public static final float GAME_WIDTH = SpaceCourierGame.GAME_WIDTH;
+    public static final float GAME_HEIGHT = SpaceCourierGame.GAME_HEIGHT;
+
+    // Константы размеров объектов
+    public static final int SHIP_SIZE = 96;
+    public static final int ASTEROID_SIZE = 96;
+    public static final int ENEMY_SIZE = 96;
+    public static final int FUEL_SIZE = 48;
+    public static final int HEART_SIZE = 48;
+    public static final int POWERUP_SIZE = 64;
+    public static final int BOSS_PROJECTILE_SIZE = 48; // Размер снаряда босса
+    public static final int PLAYER_PROJECTILE_SIZE = 32; // Размер снаряда игрока
+    public static final int BOSS_SIZE = 160;
+
+    // Константы игрового процесса
+    // Скорость корабля: раньше ввод обрабатывался дважды за кадр (500 x 2), теперь один раз за тик
+    private static final int SHIP_SPEED = 1000;
+    public static final float MAX_FUEL = 100f;
+    private static final float FUEL_CONSUMPTION = 2.4f;
+    public static final int MAX_LIVES = 3;
+    private static final float PLAYER_PROJECTILE_SPEED = 400f; // Скорость снаряда игрока
+    private static final float PLAYER_SHOOT_COOLDOWN = 0.5f; // Задержка между выстрелами игрока (0.5 сек)
+    private static final float LOW_FUEL_THRESHOLD = 20.0f; // 20%
+
+    // Константы интервалов появления объектов (в секундах, интервалы астероидов и врагов делятся на сложность)
+    private static final float ASTEROID_SPAWN_INTERVAL = 2f;
+    private static final float ENEMY_SPAWN_INTERVAL = 4f;
+    private static final float FUEL_SPAWN_INTERVAL = 11f;
+    private static final float HEART_SPAWN_INTERVAL = 5f;
+    private static final float GROUP_PAUSE = 2f;
+    private static final int ENEMY_MIN_SCORE = 300; // Враги появляются только после этого счета
+
+    // Константы для боссов
+    public static final int BOSS_HEALTH_MAX = 20;
+    private static final float BOSS_SPEED = 80f;
+    private static final float BOSS_PROJECTILE_SPEED = 200f; // Скорость снаряда босса
+    private static final float BOSS_ATTACK_INTERVAL = 2f; // Сброс астероида каждые 2 секунды
+    private static final float BOSS_SHOOT_INTERVAL = 1.5f; // Очередь снарядов через 1.5 секунды после атаки
+    private static final float BOSS_BURST_INTERVAL = 1f / 60f; // Интервал между снарядами в очереди
+    private static final float BOSS_INVULNERABILITY_TIME = 0.3f;
+
+    // Бонусы
+    private static final float POWERUP_SPAWN_INTERVAL = 15f;
+    private static final float POWERUP_RETRY_INTERVAL = 5f; // Повторная попытка, если бонус не выпал
+    private static final float POWERUP_ACTIVE_DURATION = 10f;
+    private static final float POWERUP_FALL_SPEED = 200f;
+
+    // Кэшированный список типов бонусов (values() создает новый массив при каждом вызове)
+    private static final PowerupType[] POWERUP_TYPES = PowerupType.values();
+
+    // Начальная емкость хранилища (с запасом, чтобы массивы не росли во время игры)
+    private static final int ENTITY_CAPACITY = 256;
+
+    // Размер ячейки сетки столкновений (не меньше максимального расстояния взаимодействия, 96 px)
+    private static final float COLLISION_CELL_SIZE = 128f;
+    private static final int COLLISION_STATS_INTERVAL = 300; // Тиков между выводом статистики
+
+    // Внешние зависимости
+    private AchievementSystem achievementSystem; // Может быть null (например, в headless-режиме)
+    private final GameWorldListener listener;
+    // Передает открытия достижений получателю событий мира
+    private final AchievementSystem.UnlockListener unlockListener = new AchievementSystem.UnlockListener() {
+        @Override
+        public void onAchievementUnlocked(AchievementSystem.Achievement achievement) {
+            listener.onAchievementUnlocked("Достижение разблокировано: " + achievement.title);
+        }
+    };
+
+    // Шина событий игрового процесса (достижения подписываются на нее, а не опрашивают мир)
+    private final GameEventBus events = new GameEventBus();
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private int elapsedSeconds;
+
+    // Игровые объекты
+    private final Rectangle ship = new Rectangle();
+    private final EntityStore entities;
+
+    // Позиции корабля и босса на начало последнего шага (для интерполяции при отрисовке)
+    private float prevShipX;
+    private float prevShipY;
+    private float prevBossX;
+    private float prevBossY;
+
+    // Пул прямоугольников для границ босса (переиспользуется между боями)
+    private final TrackingPool<Rectangle> rectanglePool = new TrackingPool<Rectangle>("Rectangle", 4) {
+        @Override
+        protected Rectangle createObject() {
+            return new Rectangle();
+        }
+
+        @Override
+        protected void reset(Rectangle rectangle) {
+            rectangle.set(0, 0, 0, 0);
+        }
+    };
+
+    // Система настройки сложности
+    private final DifficultySystem difficultySystem = new DifficultySystem();
+
+    // Широкая фаза поиска столкновений
+    private final SpatialHash collisionGrid;
+    private int collisionStatsFrames;
+    private final SpatialHash.PairListener collisionPairListener = new SpatialHash.PairListener() {
+        @Override
+        public void onPair(int idA, int typeA, int idB, int typeB) {
+            // Упорядочиваем пару по типу, чтобы упростить обработку
+            if (typeA <= typeB) {
+                handleCollisionPair(idA, typeA, idB, typeB);
+            } else {
+                handleCollisionPair(idB, typeB, idA, typeA);
+            }
+        }
+    };
+
+    // Планировщик на игровом времени: все таймеры появления объектов, атак и бонусов
+    private final Scheduler scheduler = new Scheduler();
+    private long tickCount;
+
+    // Номера потоков случайных чисел сессии
+    private static final int STREAM_SPAWN = 0;
+    private static final int STREAM_PHYSICS = 1;
+    private static final int STREAM_COSMETIC = 2;
+
+    // Зерно текущей партии и потоки случайных чисел, выведенные из него
+    private long seed;
+    private final RandomStream spawnRandom = new RandomStream(0);    // Позиции и типы новых объектов
+    private final RandomStream physicsRandom = new RandomStream(0);  // Дрожание движения и расталкивание
+    private final RandomStream cosmeticRandom = new RandomStream(0); // Эффекты, не влияющие на игру
+
+    // Статистика партии
+    private float gameTime;
+    private int fuelCollected;
+
+    // Состояние бонусов
+    private boolean shieldActive;
+    private boolean magnetActive;
+    private boolean doubleScoreActive;
+
+    // Активные бонусы: по одному слоту на каждый тип
+    private final boolean[] powerupSlotActive = new boolean[POWERUP_TYPES.length];
+    private final float[] powerupBlinkAlpha = new float[POWERUP_TYPES.length];
+    private final PowerupExpiryTask[] powerupExpiryTasks = new PowerupExpiryTask[POWERUP_TYPES.length];
+
+    // Параметры игры
+    private long lastHeartTime;
+    private int score;
+    private int lives;
+    private float fuel;
+    private boolean gameOver;
+    private boolean needHeart;
+
+    // Параметры групп объектов
+    private int asteroidsInGroup = 0;
+    private int maxAsteroidsPerGroup = 4;
+    private int enemiesInGroup = 0;
+    private int maxEnemiesPerGroup = 2;
+
+    // Параметры боссов
+    private Rectangle boss;
+    private boolean bossActive;
+    private int bossHealth;
+    private float bossMoveDirection = 1f; // 1 = вправо, -1 = влево
+    private boolean bossDefeated;
+
+    /**
+     * Появление астероидов группами: интервал внутри группы зависит от сложности,
+     * после полной группы - пауза
+     */
+    private final Scheduler.Task asteroidSpawnTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+            float interval = ASTEROID_SPAWN_INTERVAL / difficultySystem.getDifficulty();
+
+            // Во время боя с боссом новые астероиды не появляются
+            if (!bossActive) {
+                if (asteroidsInGroup < maxAsteroidsPerGroup) {
+                    asteroidsInGroup++;
+                } else {
+                    // После паузы начинаем новую группу
+                    asteroidsInGroup = 1;
+                }
+                spawnAsteroid();
+            }
+
+            scheduler.schedule(this, asteroidsInGroup < maxAsteroidsPerGroup ? interval : Math.max(interval, GROUP_PAUSE));
+        }
+    };
+
+    /**
+     * Появление врагов группами (только после определенного количества очков)
+     */
+    private final Scheduler.Task enemySpawnTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+            float interval = ENEMY_SPAWN_INTERVAL / difficultySystem.getDifficulty();
+
+            if (!bossActive && score > ENEMY_MIN_SCORE) {
+                if (enemiesInGroup < maxEnemiesPerGroup) {
+                    enemiesInGroup++;
+                } else {
+                    // После паузы начинаем новую группу
+                    enemiesInGroup = 1;
+                }
+                spawnEnemy();
+            }
+
+            scheduler.schedule(this, enemiesInGroup < maxEnemiesPerGroup ? interval : Math.max(interval, GROUP_PAUSE));
+        }
+    };
+
+    /**
+     * Появление топлива (в том числе во время боя с боссом)
+     */
+    private final Scheduler.Task fuelSpawnTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+            spawnFuelCanister();
+            scheduler.schedule(this, FUEL_SPAWN_INTERVAL);
+        }
+    };
+
+    /**
+     * Появление сердечек, пока игроку нужна жизнь
+     */
+    private final Scheduler.Task heartSpawnTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+            if (needHeart) {
+                spawnHeart();
+                scheduler.schedule(this, HEART_SPAWN_INTERVAL);
+            }
+        }
+    };
+
+    /**
+     * Случайное появление бонуса; вероятность зависит от сложности
+     */
+    private final Scheduler.Task powerupSpawnTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+            // Вероятность появления бонуса зависит от текущей сложности
+            float spawnChance = 0.2f + (difficultySystem.getDifficulty() / 15f) * 0.3f; // от 20% до 50%
+
+            if (spawnRandom.random() < spawnChance) {
+                spawnRandomPowerup();
+                scheduler.schedule(this, POWERUP_SPAWN_INTERVAL);
+            } else {
+                // Если бонус не появился, следующая попытка будет раньше
+                scheduler.schedule(this, POWERUP_RETRY_INTERVAL);
+            }
+        }
+    };
+
+    /**
+     * Атака босса: сброс астероида и подготовка очереди снарядов
+     */
+    private final Scheduler.Task bossAttackTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+            if (!bossActive) return;
+            bossFire();
+            scheduler.schedule(this, BOSS_ATTACK_INTERVAL);
+            scheduler.schedule(bossBurstTask, BOSS_SHOOT_INTERVAL);
+        }
+    };
+
+    /**
+     * Очередь снарядов босса: стреляет с коротким интервалом до следующей атаки
+     */
+    private final Scheduler.Task bossBurstTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+            if (!bossActive) return;
+            bossShoot();
+            if (scheduler.getRemaining(bossAttackTask) > BOSS_BURST_INTERVAL) {
+                scheduler.schedule(this, BOSS_BURST_INTERVAL);
+            }
+        }
+    };
+
+    // Неуязвимость босса после попадания (пока задача запланирована)
+    private final Scheduler.Task bossInvulnerabilityTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+        }
+    };
+
+    /**
+     * Отметки времени партии: раз в секунду игрового времени
+     */
+    private final Scheduler.Task timeMilestoneTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+            elapsedSeconds++;
+            // Планируем по абсолютному времени, чтобы отметки не накапливали сдвиг на длину тика
+            scheduler.scheduleAt(this, (elapsedSeconds + 1) * NANOS_PER_SECOND);
+            events.publish(GameEvent.TIME_MILESTONE, elapsedSeconds);
+        }
+    };
+
+    // Задержка между выстрелами игрока (пока задача запланирована, стрелять нельзя)
+    private final Scheduler.Task playerShootCooldownTask = new Scheduler.Task() {
+        @Override
+        public void run() {
+        }
+    };
+
+    /**
+     * Окончание действия бонуса в слоте
+     */
+    private class PowerupExpiryTask extends Scheduler.Task {
+        private final int slot;
+
+        PowerupExpiryTask(int slot) {
+            this.slot = slot;
+        }
+
+        @Override
+        public void run() {
+            powerupSlotActive[slot] = false;
+            powerupBlinkAlpha[slot] = 1.0f;
+            deactivatePowerup(POWERUP_TYPES[slot]);
+        }
+    }
+
+    /**
+     * Создает игровой мир
+     * @param achievementSystem Система достижений (null, если достижения не нужны)
+     * @param listener Получатель событий мира
+     */
+    public GameWorld(AchievementSystem achievementSystem, GameWorldListener listener) {
+        this.achievementSystem = achievementSystem;
+        this.listener = listener;
+
+        entities = new EntityStore(ENTITY_CAPACITY);
+
+        // В отладочном режиме проверяем повторное удаление объектов
+        boolean debugPools = Gdx.app != null && Gdx.app.getLogLevel() >= Application.LOG_DEBUG;
+        entities.setDebug(debugPools);
+        rectanglePool.setDebug(debugPools);
+
+        collisionGrid = new SpatialHash(GAME_WIDTH, GAME_HEIGHT, COLLISION_CELL_SIZE);
+        initializeCollisionGrid();
+
+        for (int i = 0; i < POWERUP_TYPES.length; i++) {
+            powerupExpiryTasks[i] = new PowerupExpiryTask(i);
+        }
+
+        // Правила достижений проверяются по событиям этого мира
+        if (achievementSystem != null) {
+            achievementSystem.attach(events, unlockListener);
+        }
+    }
+
+    /**
+     * Подключает мир к другой системе достижений (например, пересозданной после входа в аккаунт).
+     * Прежняя система отключается от событий мира.
+     * @param achievementSystem Система достижений (null - отключить достижения)
+     */
+    public void setAchievementSystem(AchievementSystem achievementSystem) {
+        if (this.achievementSystem == achievementSystem) return;
+        if (this.achievementSystem != null) {
+            this.achievementSystem.detach(events);
+        }
+        this.achievementSystem = achievementSystem;
+        if (achievementSystem != null) {
+            achievementSystem.attach(events, unlockListener);
+        }
+    }
+
+    /**
+     * Отключает мир от системы достижений
+     */
+    public void dispose() {
+        if (achievementSystem != null) {
+            achievementSystem.detach(events);
+        }
+    }
+
+    /**
+     * Задает, какие типы объектов взаимодействуют в сетке столкновений
+     */
+    private void initializeCollisionGrid() {
+        // Астероиды расталкивают все объекты и уничтожают снаряды босса
+        collisionGrid.setCollides(EntityStore.TYPE_ASTEROID, EntityStore.TYPE_ASTEROID, true);
+        collisionGrid.setCollides(EntityStore.TYPE_ASTEROID, EntityStore.TYPE_ENEMY, true);
+        collisionGrid.setCollides(EntityStore.TYPE_ASTEROID, EntityStore.TYPE_FUEL, true);
+        collisionGrid.setCollides(EntityStore.TYPE_ASTEROID, EntityStore.TYPE_HEART, true);
+        collisionGrid.setCollides(EntityStore.TYPE_ASTEROID, EntityStore.TYPE_BOSS_PROJECTILE, true);
+
+        // Враги расталкивают друг друга, топливо и сердечки (снаряды босса проходят сквозь них)
+        collisionGrid.setCollides(EntityStore.TYPE_ENEMY, EntityStore.TYPE_ENEMY, true);
+        collisionGrid.setCollides(EntityStore.TYPE_ENEMY, EntityStore.TYPE_FUEL, true);
+        collisionGrid.setCollides(EntityStore.TYPE_ENEMY, EntityStore.TYPE_HEART, true);
+
+        // Топливо и сердечки не накладываются друг на друга
+        collisionGrid.setCollides(EntityStore.TYPE_FUEL, EntityStore.TYPE_FUEL, true);
+        collisionGrid.setCollides(EntityStore.TYPE_FUEL, EntityStore.TYPE_HEART, true);
+        collisionGrid.setCollides(EntityStore.TYPE_HEART, EntityStore.TYPE_HEART, true);
+
+        // Снаряды игрока сбивают снаряды босса
+        collisionGrid.setCollides(EntityStore.TYPE_BOSS_PROJECTILE, EntityStore.TYPE_PLAYER_PROJECTILE, true);
+    }
+
+    /**
+     * Начинает новую игру со случайным зерном
+     */
+    public void reset() {
+        reset(newSeed());
+    }
+
+    /**
+     * Начинает новую игру: сбрасывает все состояние мира
+     * @param seed Зерно сессии; с тем же зерном и вводом партия повторяется в точности
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        spawnRandom.setSeed(RandomStream.deriveSeed(seed, STREAM_SPAWN));
+        physicsRandom.setSeed(RandomStream.deriveSeed(seed, STREAM_PHYSICS));
+        cosmeticRandom.setSeed(RandomStream.deriveSeed(seed, STREAM_COSMETIC));
+        if (Gdx.app != null) {
+            Gdx.app.debug("GameWorld", "Новая партия, зерно: " + formatSeed(seed));
+        }
+
+        // Корабль в центре экрана
+        ship.set(GAME_WIDTH / 2 - SHIP_SIZE / 2, GAME_HEIGHT / 2 - SHIP_SIZE / 2, SHIP_SIZE, SHIP_SIZE);
+        prevShipX = ship.x;
+        prevShipY = ship.y;
+
+        // Очищаем объекты (массивы хранилища переиспользуются)
+        entities.clear();
+        entities.resetStats();
+
+        // Сброс игровых параметров
+        score = 0;
+        lives = MAX_LIVES;
+        fuel = MAX_FUEL;
+        gameOver = false;
+        needHeart = false; // Изначально сердечки не нужны, так как жизни полные
+
+        // Сбрасываем счетчики групп
+        asteroidsInGroup = 0;
+        enemiesInGroup = 0;
+
+        // Сбрасываем состояние бонусов
+        shieldActive = false;
+        magnetActive = false;
+        doubleScoreActive = false;
+        for (int i = 0; i < POWERUP_TYPES.length; i++) {
+            powerupSlotActive[i] = false;
+            powerupBlinkAlpha[i] = 1.0f;
+        }
+
+        // Сбрасываем состояние боссов
+        bossActive = false;
+        bossDefeated = false;
+        bossHealth = 0;
+        releaseBoss();
+
+        // Сброс системы сложности
+        difficultySystem.reset();
+
+        // Сброс статистики для достижений
+        gameTime = 0;
+        fuelCollected = 0;
+        elapsedSeconds = 0;
+
+        // Сброс игровых часов: все таймеры отменяются
+        scheduler.reset();
+        tickCount = 0;
+        lastHeartTime = 0;
+
+        // Создание первых объектов
+        spawnAsteroid();
+        spawnFuelCanister();
+
+        // Запуск таймеров появления объектов
+        scheduler.schedule(asteroidSpawnTask, ASTEROID_SPAWN_INTERVAL / difficultySystem.getDifficulty());
+        scheduler.schedule(enemySpawnTask, ENEMY_SPAWN_INTERVAL / difficultySystem.getDifficulty());
+        scheduler.schedule(fuelSpawnTask, FUEL_SPAWN_INTERVAL);
+        scheduler.schedule(powerupSpawnTask, POWERUP_SPAWN_INTERVAL);
+        scheduler.scheduleAt(timeMilestoneTask, NANOS_PER_SECOND);
+
+        events.publish(GameEvent.GAME_STARTED, 0);
+    }
+
+    /**
+     * Продвигает симуляцию на один шаг
+     * @param delta Длительность шага в секундах
+     * @param input Команда управления на этот шаг
+     */
+    public void update(float delta, InputCommand input) {
+        // Запоминаем позиции до шага, чтобы отрисовка могла интерполировать движение
+        savePreviousPositions();
+
+        if (gameOver) return;
+
+        tickCount++;
+
+        // Обновляем время игры
+        gameTime += delta;
+
+        // Проверка на изменение уровня
+        if (difficultySystem.hasLevelChanged()) {
+            listener.onLevelUp("LEVEL " + difficultySystem.getCurrentLevel() + "!");
+            events.publish(GameEvent.LEVEL_CHANGED, difficultySystem.getCurrentLevel());
+
+            // Создаем бонус при переходе на новый уровень
+            spawnPowerupOnLevelUp();
+        }
+
+        // Обновление системы сложности
+        difficultySystem.update(score, delta);
+        float difficulty = difficultySystem.getDifficulty();
+
+        // Обновление бонусов
+        updatePowerups(delta);
+
+        // Движение корабля и стрельба
+        applyInput(delta, input);
+
+        // Расход топлива
+        float prevFuel = fuel;
+        fuel -= FUEL_CONSUMPTION * delta;
+
+        // Проверка на низкий уровень топлива
+        if (fuel <= MAX_FUEL * (LOW_FUEL_THRESHOLD / 100f) && prevFuel > MAX_FUEL * (LOW_FUEL_THRESHOLD / 100f)) {
+            listener.onLowFuel();
+        }
+
+        if (fuel <= 0) {
+            loseLife();
+            fuel = MAX_FUEL / 2; // Дадим половину бака при потере жизни
+        }
+
+        // Продвигаем игровые часы: срабатывают наступившие таймеры появления объектов,
+        // атак босса и окончания бонусов
+        scheduler.advance(delta);
+
+        // Увеличение сложности с течением времени
+        difficultySystem.update(score, delta);
+
+        // Сначала обновляем движение всех объектов
+        updateAsteroids(delta, difficulty);
+        updateEnemies(delta, difficulty);
+        updateFuelCanisters(delta);
+        updateHearts(delta);
+
+        // Затем проверяем и разрешаем все возможные столкновения между объектами
+        resolveAllCollisions();
+
+        // Проверяем и удаляем застрявшие объекты
+        checkForStuckObjects();
+
+        // Применяем магнитное притяжение, если активно
+        applyMagneticEffect(delta);
+
+        // Проверяет необходимость активации босса на основе текущего уровня
+        checkForBossLevel();
+
+        // Обновляет состояние босса
+        updateBoss(delta);
+
+        // Обновляем снаряды босса
+        updateBossProjectiles(delta);
+
+        // Обновляем снаряды игрока
+        updatePlayerProjectiles(delta);
+    }
+
+    /**
+     * Запоминает текущие позиции объектов, корабля и босса как предыдущие
+     */
+    private void savePreviousPositions() {
+        entities.savePreviousPositions();
+        prevShipX = ship.x;
+        prevShipY = ship.y;
+        if (boss != null) {
+            prevBossX = boss.x;
+            prevBossY = boss.y;
+        }
+    }
+
+    /**
+     * Применяет команду управления: движение корабля и стрельба
+     */
+    private void applyInput(float delta, InputCommand input) {
+        // Стрельба (только при битве с боссом)
+        if (bossActive && input.isShoot()) {
+            playerShoot();
+        }
+
+        if (input.isTouchActive()) {
+            // Плавное движение к точке касания
+            float targetX = input.getTouchX() - SHIP_SIZE / 2;
+            float targetY = input.getTouchY() - SHIP_SIZE / 2;
+            float moveStep = SHIP_SPEED * 1.5f * delta;
+
+            // Двигаемся плавно к точке касания по X
+            if (Math.abs(ship.x - targetX) <= moveStep) {
+                ship.x = targetX; // Если уже близко, просто устанавливаем позицию
+            } else if (ship.x < targetX) {
+                ship.x += moveStep;
+            } else {
+                ship.x -= moveStep;
+            }
+
+            // Двигаемся плавно к точке касания по Y
+            if (Math.abs(ship.y - targetY) <= moveStep) {
+                ship.y = targetY;
+            } else if (ship.y < targetY) {
+                ship.y += moveStep;
+            } else {
+                ship.y -= moveStep;
+            }
+        } else {
+            float moveX = input.getMoveX();
+            float moveY = input.getMoveY();
+
+            // Если движемся по диагонали, нормализуем скорость
+            if (moveX != 0 && moveY != 0) {
+                float length = (float) Math.sqrt(moveX * moveX + moveY * moveY);
+                moveX /= length;
+                moveY /= length;
+            }
+
+            // Перемещаем корабль с постоянной скоростью
+            ship.x += moveX * SHIP_SPEED * delta;
+            ship.y += moveY * SHIP_SPEED * delta;
+        }
+
+        // Ограничения положения корабля
+        if (ship.x < 0) ship.x = 0;
+        if (ship.x > GAME_WIDTH - SHIP_SIZE) ship.x = GAME_WIDTH - SHIP_SIZE;
+        if (ship.y < 0) ship.y = 0;
+        if (ship.y > GAME_HEIGHT - SHIP_SIZE) ship.y = GAME_HEIGHT - SHIP_SIZE;
+    }
+
+    private void spawnAsteroid() {
+        float x = 0;
+        float y = GAME_HEIGHT; // Сверху экрана
+
+        // Максимальное количество попыток найти свободное место
+        int maxAttempts = 10;
+        boolean hasOverlap = true;
+
+        // Пытаемся найти место без пересечений
+        for (int attempt = 0; attempt < maxAttempts && hasOverlap; attempt++) {
+            // Задаем случайную позицию X
+            x = spawnRandom.random(0, GAME_WIDTH - ASTEROID_SIZE);
+
+            // Проверяем пересечения с другими астероидами
+            // Допускаем небольшое наложение (80% от размера)
+            hasOverlap = isNearEntityOfType(EntityStore.TYPE_ASTEROID,
+                x + ASTEROID_SIZE / 2, y + ASTEROID_SIZE / 2, ASTEROID_SIZE * 0.8f);
+        }
+
+        // Добавляем астероид
+        entities.create(EntityStore.TYPE_ASTEROID, x, y, ASTEROID_SIZE, ASTEROID_SIZE);
+    }
+
+    private void spawnEnemy() {
+        float x = 0;
+        float y = GAME_HEIGHT; // Сверху экрана
+
+        // Максимальное количество попыток найти свободное место
+        int maxAttempts = 10;
+        boolean hasOverlap = true;
+
+        // Пытаемся найти место без пересечений
+        for (int attempt = 0; attempt < maxAttempts && hasOverlap; attempt++) {
+            // Задаем случайную позицию X
+            x = spawnRandom.random(0, GAME_WIDTH - ENEMY_SIZE);
+            float centerX = x + ENEMY_SIZE / 2;
+            float centerY = y + ENEMY_SIZE / 2;
+
+            // Проверка пересечения с другими врагами (допускаем наложение 80% от размера)
+            hasOverlap = isNearEntityOfType(EntityStore.TYPE_ENEMY, centerX, centerY, ENEMY_SIZE * 0.8f);
+
+            // Если нет пересечения с врагами, проверяем пересечения с астероидами
+            if (!hasOverlap) {
+                // Допускаем небольшое наложение (70% от суммы размеров)
+                hasOverlap = isNearEntityOfType(EntityStore.TYPE_ASTEROID, centerX, centerY,
+                    (ENEMY_SIZE + ASTEROID_SIZE) * 0.35f);
+            }
+        }
+
+        // Добавляем врага
+        entities.create(EntityStore.TYPE_ENEMY, x, y, ENEMY_SIZE, ENEMY_SIZE);
+    }
+
+    private void spawnFuelCanister() {
+        float x = 0;
+        float y = GAME_HEIGHT; // Сверху экрана
+
+        // Максимальное количество попыток найти свободное место
+        int maxAttempts = 15; // Больше попыток, так как топливо важнее
+        boolean hasOverlap = true;
+
+        // Пытаемся найти место без пересечений
+        for (int attempt = 0; attempt < maxAttempts && hasOverlap; attempt++) {
+            // Задаем случайную позицию X
+            x = spawnRandom.random(0, GAME_WIDTH - FUEL_SIZE);
+            float centerX = x + FUEL_SIZE / 2;
+            float centerY = y + FUEL_SIZE / 2;
+
+            // Проверка пересечения с астероидами (допускаем небольшое наложение)
+            hasOverlap = isNearEntityOfType(EntityStore.TYPE_ASTEROID, centerX, centerY,
+                (FUEL_SIZE + ASTEROID_SIZE) * 0.4f);
+
+            // Если нет пересечения с астероидами, проверяем пересечения с врагами
+            if (!hasOverlap) {
+                hasOverlap = isNearEntityOfType(EntityStore.TYPE_ENEMY, centerX, centerY,
+                    (FUEL_SIZE + ENEMY_SIZE) * 0.4f);
+            }
+
+            // Если слишком много попыток безуспешны, уменьшаем требования к расстоянию
+            if (attempt > maxAttempts * 0.7f && hasOverlap) {
+                // На последних попытках разрешаем размещать с минимальными ограничениями
+                hasOverlap = false;
+            }
+        }
+
+        // Добавляем канистру с топливом
+        entities.create(EntityStore.TYPE_FUEL, x, y, FUEL_SIZE, FUEL_SIZE);
+    }
+
+    /**
+     * Создает новое сердечко для восстановления жизни
+     */
+    private void spawnHeart() {
+        float x = 0;
+        float y = GAME_HEIGHT; // Сверху экрана
+
+        // Максимальное количество попыток найти свободное место
+        int maxAttempts = 15; // Больше попыток, так как сердечки важны
+        boolean hasOverlap = true;
+
+        // Пытаемся найти место без пересечений
+        for (int attempt = 0; attempt < maxAttempts && hasOverlap; attempt++) {
+            // Задаем случайную позицию X
+            x = spawnRandom.random(0, GAME_WIDTH - HEART_SIZE);
+            float centerX = x + HEART_SIZE / 2;
+            float centerY = y + HEART_SIZE / 2;
+
+            // Проверка пересечения с астероидами (допускаем небольшое наложение)
+            hasOverlap = isNearEntityOfType(EntityStore.TYPE_ASTEROID, centerX, centerY,
+                (HEART_SIZE + ASTEROID_SIZE) * 0.4f);
+
+            // Если нет пересечения с астероидами, проверяем пересечения с врагами
+            if (!hasOverlap) {
+                hasOverlap = isNearEntityOfType(EntityStore.TYPE_ENEMY, centerX, centerY,
+                    (HEART_SIZE + ENEMY_SIZE) * 0.4f);
+            }
+
+            // Проверка пересечения с топливом
+            if (!hasOverlap) {
+                hasOverlap = isNearEntityOfType(EntityStore.TYPE_FUEL, centerX, centerY,
+                    (HEART_SIZE + FUEL_SIZE) * 0.5f);
+            }
+
+            // Если слишком много попыток безуспешны, уменьшаем требования к расстоянию
+            if (attempt > maxAttempts * 0.7f && hasOverlap) {
+                // На последних попытках разрешаем размещать с минимальными ограничениями
+                hasOverlap = false;
+            }
+        }
+
+        // Добавляем сердечко
+        entities.create(EntityStore.TYPE_HEART, x, y, HEART_SIZE, HEART_SIZE);
+        lastHeartTime = scheduler.getTime();
+    }
+
+    /**
+     * Проверяет, есть ли объект указанного типа ближе заданного расстояния к точке
+     * (расстояние считается между центрами объектов)
+     */
+    private boolean isNearEntityOfType(int entityType, float centerX, float centerY, float minDistance) {
+        float minDistanceSquared = minDistance * minDistance;
+        for (int i = 0; i < entities.size; i++) {
+            if (entities.type[i] != entityType) continue;
+
+            float dx = entities.centerX(i) - centerX;
+            float dy = entities.centerY(i) - centerY;
+            if (dx * dx + dy * dy < minDistanceSquared) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Проверяет столкновения между всеми объектами и разрешает их.
+     * Пары-кандидаты берутся из пространственной сетки, поэтому проверяются
+     * только объекты из одной или соседних ячеек.
+     */
+    private void resolveAllCollisions() {
+        // Перестраиваем сетку по текущим позициям объектов (падающие бонусы не сталкиваются)
+        collisionGrid.clear();
+        for (int i = 0; i < entities.size; i++) {
+            int type = entities.type[i];
+            if (type < EntityStore.TYPE_POWERUP_SHIELD) {
+                collisionGrid.insert(i, type, entities.centerX(i), entities.centerY(i));
+            }
+        }
+
+        // Обрабатываем только пары из одной или соседних ячеек
+        collisionGrid.forEachPair(collisionPairListener);
+
+        // Удаляем уничтоженные снаряды после обхода, чтобы индексы в сетке оставались верными
+        entities.removeDestroyed();
+
+        // Периодически выводим статистику широкой фазы для контроля эффективности
+        if (++collisionStatsFrames >= COLLISION_STATS_INTERVAL) {
+            // Строка собирается только при включенном отладочном логе (и без приложения не выводится)
+            if (Gdx.app != null && Gdx.app.getLogLevel() >= Application.LOG_DEBUG) {
+                Gdx.app.debug("GameWorld", "Broadphase: объектов " + collisionGrid.size() +
+                    ", кандидатов " + collisionGrid.getTotalCandidatePairs() +
+                    ", проверено " + collisionGrid.getTotalReportedPairs() +
+                    ", полный перебор " + collisionGrid.getTotalBruteForcePairs() +
+                    " (за " + collisionStatsFrames + " тиков)");
+            }
+            collisionGrid.resetStats();
+            collisionStatsFrames = 0;
+        }
+    }
+
+    /**
+     * Обрабатывает пару-кандидата из сетки столкновений.
+     * Идентификаторы - плотные индексы в хранилище объектов, типы упорядочены так, что typeA <= typeB.
+     */
+    private void handleCollisionPair(int idA, int typeA, int idB, int typeB) {
+        if (typeB == EntityStore.TYPE_BOSS_PROJECTILE) {
+            // Снаряды босса уничтожаются при столкновении с астероидами
+            if (typeA != EntityStore.TYPE_ASTEROID || isDestroyed(idB)) return;
+
+            if (checkSmoothCollision(idA, idB, 0.9f)) {
+                entities.flags[idB] |= EntityStore.FLAG_DESTROYED;
+                listener.onSound(GameSound.EXPLOSION, 0.2f, 1.0f);
+            }
+            return;
+        }
+
+        if (typeB == EntityStore.TYPE_PLAYER_PROJECTILE) {
+            // Снаряды игрока и снаряды босса уничтожают друг друга
+            if (typeA != EntityStore.TYPE_BOSS_PROJECTILE || isDestroyed(idA) || isDestroyed(idB)) return;
+
+            if (checkSmoothCollision(idB, idA, 0.9f)) {
+                entities.flags[idA] |= EntityStore.FLAG_DESTROYED;
+                entities.flags[idB] |= EntityStore.FLAG_DESTROYED;
+                listener.onSound(GameSound.EXPLOSION, 0.2f, 1.3f);
+            }
+            return;
+        }
+
+        // Остальные объекты расталкивают друг друга
+        resolveCollision(idA, idB);
+    }
+
+    /**
+     * Проверяет, помечен ли объект на удаление
+     */
+    private boolean isDestroyed(int index) {
+        return (entities.flags[index] & EntityStore.FLAG_DESTROYED) != 0;
+    }
+
+    private void updateAsteroids(float delta, float difficulty) {
+        // Обходим с конца: при удалении на место объекта переносится последний
+        for (int i = entities.size - 1; i >= 0; i--) {
+            if (entities.type[i] != EntityStore.TYPE_ASTEROID) continue;
+
+            // Если астероид находится в нижней части экрана, ускоряем его падение
+            // и добавляем небольшие случайные импульсы, чтобы избежать застревания
+            if (entities.y[i] < 50) {
+                entities.y[i] -= (100 + difficulty * 30) * delta; // Увеличенная скорость
+
+                // Добавляем небольшое случайное движение по X, чтобы избежать скопления
+                entities.x[i] += physicsRandom.random(-30, 30) * delta;
+            } else {
+                // Обычное движение вниз
+                entities.y[i] -= (100 + difficulty * 20) * delta;
+            }
+
+            // Если астероид ушел за край экрана
+            if (entities.y[i] + ASTEROID_SIZE < 0) {
+                entities.removeAt(i);
+                addScore(15);
+                difficultySystem.registerSuccess();
+                continue;
+            }
+
+            // Используем обтекаемые хитбоксы для столкновения с кораблем
+            if (checkSmoothCollision(i, ship, 0.85f)) {
+                // Удаляем астероид перед обработкой столкновения
+                entities.removeAt(i);
+                handleAsteroidCollision();
+            }
+        }
+    }
+
+    private void updateEnemies(float delta, float difficulty) {
+        float shipCenterX = ship.x + ship.width / 2;
+
+        for (int i = entities.size - 1; i >= 0; i--) {
+            if (entities.type[i] != EntityStore.TYPE_ENEMY) continue;
+
+            // Если враг находится в нижней части экрана, ускоряем его и добавляем случайное движение
+            if (entities.y[i] < 50) {
+                entities.y[i] -= (100 + difficulty * 35) * delta; // Увеличенная скорость
+
+                // Более сильное случайное движение по X
+                entities.x[i] += physicsRandom.random(-40, 40) * delta;
+            } else {
+                // Движение врага вниз и в сторону игрока
+                entities.y[i] -= (100 + difficulty * 25) * delta;
+
+                // Следование за игроком
+                if (entities.centerX(i) < shipCenterX) {
+                    entities.x[i] += (60 + difficulty * 15) * delta;
+                } else {
+                    entities.x[i] -= (60 + difficulty * 15) * delta;
+                }
+            }
+
+            // Если враг улетел за пределы экрана
+            if (entities.y[i] + ENEMY_SIZE < 0) {
+                entities.removeAt(i);
+                addScore(25);
+                difficultySystem.registerSuccess();
+                continue;
+            }
+
+            // Проверка столкновения с игроком с использованием обтекаемых хитбоксов
+            if (checkSmoothCollision(i, ship, 0.8f)) {
+                entities.removeAt(i);
+                if (!shieldActive) {
+                    loseLife();
+                    difficultySystem.registerFailure();
+                } else {
+                    // Если есть щит, просто добавляем очки
+                    addScore(25);
+                }
+                listener.onSound(GameSound.EXPLOSION, 0.5f, 1.0f);
+            }
+        }
+    }
+
+    private void updateFuelCanisters(float delta) {
+        for (int i = entities.size - 1; i >= 0; i--) {
+            if (entities.type[i] != EntityStore.TYPE_FUEL) continue;
+
+            // Если топливо находится в нижней части экрана, ускоряем его и добавляем случайное движение
+            if (entities.y[i] < 50) {
+                entities.y[i] -= 120 * delta; // Увеличенная скорость
+
+                // Добавляем случайное движение по X для избежания скопления
+                entities.x[i] += physicsRandom.random(-20, 20) * delta;
+            } else {
+                entities.y[i] -= 80 * delta;
+            }
+
+            // Если канистра ушла за пределы экрана
+            if (entities.y[i] + FUEL_SIZE < 0) {
+                entities.removeAt(i);
+                continue;
+            }
+
+            // Проверяем сбор топлива игроком с использованием более обтекаемых хитбоксов
+            if (checkSmoothCollision(i, ship, 0.9f) ||
+                (magnetActive && checkMagneticEffect(i, 150f))) {
+                handleFuelCollection(i);
+            }
+        }
+    }
+
+    /**
+     * Обновляет движение и сбор сердечек
+     */
+    private void updateHearts(float delta) {
+        for (int i = entities.size - 1; i >= 0; i--) {
+            if (entities.type[i] != EntityStore.TYPE_HEART) continue;
+
+            // Если сердечко находится в нижней части экрана, ускоряем его и добавляем случайное движение
+            if (entities.y[i] < 50) {
+                entities.y[i] -= 120 * delta; // Увеличенная скорость
+
+                // Добавляем случайное движение по X для избежания скопления
+                entities.x[i] += physicsRandom.random(-20, 20) * delta;
+            } else {
+                entities.y[i] -= 80 * delta;
+            }
+
+            // Если сердце ушло за пределы экрана
+            if (entities.y[i] + HEART_SIZE < 0) {
+                entities.removeAt(i);
+                continue;
+            }
+
+            // Проверяем сбор сердца игроком с использованием более обтекаемых хитбоксов
+            if (checkSmoothCollision(i, ship, 0.9f) ||
+                (magnetActive && checkMagneticEffect(i, 150f))) {
+                entities.removeAt(i);
+
+                // Обрабатываем сбор сердца
+                if (lives < MAX_LIVES) {
+                    lives++;
+                    listener.onSound(GameSound.COLLECT, 0.5f, 1.0f);
+                    needHeart = false;
+                } else {
+                    // Если жизни уже максимум, даем очки
+                    addScore(50);
+                }
+            }
+        }
+    }
+
+    private void loseLife() {
+        lives--;
+        needHeart = true; // Активируем появление сердечек, так как игрок потерял жизнь
+
+        // Сердечко появится не раньше чем через интервал после предыдущего
+        if (!heartSpawnTask.isScheduled()) {
+            float sinceLastHeart = (scheduler.getTime() - lastHeartTime) / 1000000000f;
+            scheduler.schedule(heartSpawnTask, HEART_SPAWN_INTERVAL - sinceLastHeart);
+        }
+
+        listener.onSound(GameSound.EXPLOSION, 1.0f, 1.0f);
+        events.publish(GameEvent.DAMAGE_TAKEN, lives);
+
+        if (lives <= 0 && !gameOver) {
+            // Игра окончена
+            gameOver = true;
+            listener.onGameOver(score, gameTime);
+        }
+    }
+
+    // Генерация бонуса при повышении уровня
+    private void spawnPowerupOnLevelUp() {
+        // Выбираем случайный тип бонуса
+        PowerupType type = POWERUP_TYPES[spawnRandom.random(POWERUP_TYPES.length - 1)];
+
+        // Координаты для размещения
+        float x = 0;
+        float y = GAME_HEIGHT;
+
+        // Максимальное количество попыток найти свободное место
+        int maxAttempts = 15;
+        boolean hasOverlap = true;
+
+        // Пытаемся найти место без пересечений
+        for (int attempt = 0; attempt < maxAttempts && hasOverlap; attempt++) {
+            // Задаем случайную позицию X
+            x = spawnRandom.random(0, GAME_WIDTH - POWERUP_SIZE);
+            y = GAME_HEIGHT; // Сверху экрана
+            float centerX = x + POWERUP_SIZE / 2;
+            float centerY = y + POWERUP_SIZE / 2;
+
+            // Проверка пересечения с астероидами (допускаем небольшое наложение)
+            hasOverlap = isNearEntityOfType(EntityStore.TYPE_ASTEROID, centerX, centerY,
+                (POWERUP_SIZE + ASTEROID_SIZE) * 0.4f);
+
+            // Проверка пересечения с врагами
+            if (!hasOverlap) {
+                hasOverlap = isNearEntityOfType(EntityStore.TYPE_ENEMY, centerX, centerY,
+                    (POWERUP_SIZE + ENEMY_SIZE) * 0.4f);
+            }
+
+            // На последних попытках разрешаем размещать с минимальными проверками
+            if (attempt > maxAttempts * 0.7f && hasOverlap) {
+                hasOverlap = false;
+            }
+        }
+
+        // Создаем бонус в найденном месте
+        spawnPowerup(type, x, y);
+    }
+
+    /**
+     * Создает падающий бонус указанного типа
+     */
+    private void spawnPowerup(PowerupType type, float x, float y) {
+        int handle = entities.create(EntityStore.TYPE_POWERUP_SHIELD + type.ordinal(), x, y, POWERUP_SIZE, POWERUP_SIZE);
+        entities.vy[entities.indexOf(handle)] = -POWERUP_FALL_SPEED;
+    }
+
+    // Обновление бонусов
+    private void updatePowerups(float delta) {
+        // Активные бонусы: по одному слоту на тип, повторный сбор продлевает действие.
+        // Окончание действия обрабатывает задача планировщика, здесь только мерцание
+        for (int slot = 0; slot < POWERUP_TYPES.length; slot++) {
+            if (!powerupSlotActive[slot]) continue;
+
+            // Вычисляем оставшееся время действия
+            float remainingTime = scheduler.getRemaining(powerupExpiryTasks[slot]);
+            float activeTime = POWERUP_ACTIVE_DURATION - remainingTime;
+
+            // Если до окончания действия бонуса осталось менее 3 секунд, начинаем мерцание
+            if (remainingTime < 3.0f) {
+                // Плавное синусоидальное мерцание, частота увеличивается с 1.5 до 3.0 Гц
+                float blinkFrequency = 1.5f + (3.0f - remainingTime) * 0.5f;
+
+                // Минимальная прозрачность 0.7f для менее резкого эффекта
+                powerupBlinkAlpha[slot] = 0.7f + 0.3f * (float)Math.cos(activeTime * blinkFrequency * Math.PI / 2);
+            } else {
+                powerupBlinkAlpha[slot] = 1.0f; // Без мерцания при достаточном оставшемся времени
+            }
+        }
+
+        // Падающие бонусы
+        for (int i = entities.size - 1; i >= 0; i--) {
+            int type = entities.type[i];
+            if (type < EntityStore.TYPE_POWERUP_SHIELD || type > EntityStore.TYPE_POWERUP_DOUBLE_SCORE) continue;
+
+            // Обновляем движение бонуса
+            entities.y[i] += entities.vy[i] * delta;
+
+            // Проверяем, не собрали ли мы его
+            if (overlapsShip(i)) {
+                // Активируем бонус в слоте его типа (предыдущий бонус того же типа заменяется)
+                int slot = type - EntityStore.TYPE_POWERUP_SHIELD;
+                powerupSlotActive[slot] = true;
+                powerupBlinkAlpha[slot] = 1.0f;
+                activatePowerup(POWERUP_TYPES[slot]);
+                scheduler.schedule(powerupExpiryTasks[slot], POWERUP_ACTIVE_DURATION);
+
+                entities.removeAt(i);
+                listener.onSound(GameSound.COLLECT, 1.0f, 1.0f);
+                continue;
+            }
+
+            // Удаляем бонус, если он ушел за экран
+            if (entities.y[i] + entities.h[i] < 0) {
+                entities.removeAt(i);
+            }
+        }
+    }
+
+    // Обработка столкновений с астероидами
+    private void handleAsteroidCollision() {
+        // Если активен щит, не теряем жизнь
+        if (shieldActive) {
+            // Добавляем очки за "уничтожение" астероида
+            addScore(15);
+            listener.onSound(GameSound.EXPLOSION, 0.3f, 1.0f);
+            return;
+        }
+
+        // Иначе теряем жизнь
+        loseLife();
+        difficultySystem.registerFailure(); // Регистрируем неудачу
+    }
+
+    // Обработка сбора топлива
+    private void handleFuelCollection(int index) {
+        listener.onSound(GameSound.COLLECT, 1.0f, 1.0f);
+
+        // Удаляем канистру
+        entities.removeAt(index);
+
+        // Увеличиваем топливо
+        fuel = Math.min(MAX_FUEL, fuel + 25);
+        fuelCollected++; // Увеличиваем счетчик собранного топлива
+        events.publish(GameEvent.FUEL_COLLECTED, fuelCollected);
+
+        // Добавляем очки за сбор топлива
+        addScore(20);
+
+        // Отмечаем успех для системы сложности
+        difficultySystem.registerSuccess();
+    }
+
+    // Добавление очков с учетом бонуса двойных очков
+    private void addScore(int baseScore) {
+        if (doubleScoreActive) {
+            score += baseScore * 2;
+        } else {
+            score += baseScore;
+        }
+        events.publish(GameEvent.SCORE_CHANGED, score);
+    }
+
+    // Магнитное притяжение предметов к кораблю
+    private void applyMagneticEffect(float delta) {
+        if (magnetActive) {
+            float shipCenterX = ship.x + ship.width / 2;
+            float shipCenterY = ship.y + ship.height / 2;
+            float magnetSpeed = 300; // скорость притяжения
+
+            // Притягиваем топливо и сердечки
+            for (int i = 0; i < entities.size; i++) {
+                int type = entities.type[i];
+                if (type != EntityStore.TYPE_FUEL && type != EntityStore.TYPE_HEART) continue;
+
+                // Вычисляем направление к кораблю
+                float dx = shipCenterX - entities.centerX(i);
+                float dy = shipCenterY - entities.centerY(i);
+
+                // Нормализуем вектор
+                float length = (float)Math.sqrt(dx*dx + dy*dy);
+                if (length > 0) {
+                    dx /= length;
+                    dy /= length;
+                }
+
+                // Применяем магнитное притяжение
+                entities.x[i] += dx * magnetSpeed * delta;
+                entities.y[i] += dy * magnetSpeed * delta;
+            }
+        }
+    }
+
+    private void checkForBossLevel() {
+        int level = difficultySystem.getCurrentLevel();
+
+        // При переходе на новый уровень сбрасываем флаг победы над боссом предыдущего уровня
+        if (difficultySystem.hasLevelChanged() && level % 5 != 0) {
+            bossDefeated = false;
+        }
+
+        // Активируем босса каждый 5-й уровень (5, 10, 15, ...)
+        if (level % 5 == 0 && level > 0 && !bossActive && !bossDefeated) {
+            spawnBoss();
+        }
+    }
+
+    /**
+     * Создает босса
+     */
+    private void spawnBoss() {
+        // Очищаем экран от других объектов
+        entities.removeAllOfType(EntityStore.TYPE_ASTEROID);
+        entities.removeAllOfType(EntityStore.TYPE_ENEMY);
+        entities.removeAllOfType(EntityStore.TYPE_BOSS_PROJECTILE);
+        entities.removeAllOfType(EntityStore.TYPE_PLAYER_PROJECTILE);
+
+        // Создаем босса в верхней части экрана
+        releaseBoss();
+        boss = rectanglePool.obtain();
+        boss.width = BOSS_SIZE;
+        boss.height = BOSS_SIZE;
+        boss.x = GAME_WIDTH / 2 - BOSS_SIZE / 2;
+        boss.y = GAME_HEIGHT - BOSS_SIZE - 50;
+        prevBossX = boss.x;
+        prevBossY = boss.y;
+
+        // Устанавливаем параметры
+        bossActive = true;
+        bossHealth = BOSS_HEALTH_MAX;
+        bossMoveDirection = 1f;
+        bossDefeated = false;
+        scheduler.cancel(bossInvulnerabilityTask);
+
+        // Запускаем таймеры атак босса
+        scheduler.schedule(bossAttackTask, BOSS_ATTACK_INTERVAL);
+        scheduler.schedule(bossBurstTask, BOSS_SHOOT_INTERVAL);
+
+        listener.onSound(GameSound.EXPLOSION, 0.7f, 0.9f);
+    }
+
+    /**
+     * Обновляет состояние босса
+     */
+    private void updateBoss(float delta) {
+        // Если босс не активен, выходим
+        if (!bossActive) return;
+
+        // Движение босса из стороны в сторону
+        boss.x += bossMoveDirection * BOSS_SPEED * delta;
+
+        // Изменение направления движения при достижении краев экрана
+        if (boss.x <= 0) {
+            boss.x = 0;
+            bossMoveDirection = 1;
+        } else if (boss.x >= GAME_WIDTH - BOSS_SIZE) {
+            boss.x = GAME_WIDTH - BOSS_SIZE;
+            bossMoveDirection = -1;
+        }
+
+        // Проверка столкновения корабля с боссом
+        if (boss.overlaps(ship)) {
+            loseLife();
+            // Отталкиваем корабль
+            ship.y -= 100;
+            if (ship.y < 0) ship.y = 0;
+        }
+
+        // Если босс побежден
+        if (bossHealth <= 0 && !bossDefeated) {
+            bossDefeated = true;
+            bossActive = false;
+
+            // Останавливаем атаки босса
+            scheduler.cancel(bossAttackTask);
+            scheduler.cancel(bossBurstTask);
+            scheduler.cancel(bossInvulnerabilityTask);
+
+            // Очищаем все снаряды
+            entities.removeAllOfType(EntityStore.TYPE_BOSS_PROJECTILE);
+            entities.removeAllOfType(EntityStore.TYPE_PLAYER_PROJECTILE);
+
+            // Добавляем очки за победу
+            addScore(2000);
+
+            // Показываем анимацию
+            listener.onLevelUp("BOSS DEFEATED!");
+
+            // Создаем бонусы в награду
+            spawnRewardsAfterBoss();
+
+            listener.onSound(GameSound.EXPLOSION, 1.0f, 1.0f);
+
+            // Возвращаем границы босса в пул
+            releaseBoss();
+        }
+    }
+
+    /**
+     * Возвращает прямоугольник босса в пул
+     */
+    private void releaseBoss() {
+        if (boss != null) {
+            rectanglePool.free(boss);
+            boss = null;
+        }
+    }
+
+    /**
+     * Обрабатывает атаку по боссу
+     */
+    private void damageBoss() {
+        // Если босс неуязвим, выходим
+        if (bossInvulnerabilityTask.isScheduled()) return;
+
+        // Наносим урон
+        bossHealth--;
+
+        // Устанавливаем период неуязвимости
+        scheduler.schedule(bossInvulnerabilityTask, BOSS_INVULNERABILITY_TIME);
+
+        listener.onSound(GameSound.COLLECT, 0.5f, 1.0f);
+    }
+
+    /**
+     * Создает атаку босса
+     */
+    private void bossFire() {
+        // Создаем астероид под боссом
+        entities.create(EntityStore.TYPE_ASTEROID,
+            boss.x + (boss.width - ASTEROID_SIZE) / 2, boss.y - ASTEROID_SIZE,
+            ASTEROID_SIZE, ASTEROID_SIZE);
+
+        listener.onSound(GameSound.EXPLOSION, 0.3f, 1.0f);
+    }
+
+    /**
+     * Создает награды после победы над боссом
+     */
+    private void spawnRewardsAfterBoss() {
+        // Создаем несколько канистр с топливом
+        for (int i = 0; i < 3; i++) {
+            entities.create(EntityStore.TYPE_FUEL,
+                spawnRandom.random(0, GAME_WIDTH - FUEL_SIZE), GAME_HEIGHT - i * 100,
+                FUEL_SIZE, FUEL_SIZE);
+        }
+
+        // Если у игрока не максимум жизней, создаем сердечко
+        if (lives < MAX_LIVES) {
+            entities.create(EntityStore.TYPE_HEART,
+                GAME_WIDTH / 2 - HEART_SIZE / 2, GAME_HEIGHT,
+                HEART_SIZE, HEART_SIZE);
+        }
+
+        // Создаем два случайных бонуса
+        for (int i = 0; i < 2; i++) {
+            PowerupType type = POWERUP_TYPES[spawnRandom.random(POWERUP_TYPES.length - 1)];
+            float x = spawnRandom.random(0, GAME_WIDTH - POWERUP_SIZE);
+            float y = GAME_HEIGHT - i * 120;
+            spawnPowerup(type, x, y);
+        }
+    }
+
+    /**
+     * Обновляет снаряды босса
+     */
+    private void updateBossProjectiles(float delta) {
+        for (int i = entities.size - 1; i >= 0; i--) {
+            if (entities.type[i] != EntityStore.TYPE_BOSS_PROJECTILE) continue;
+
+            // Обновляем позицию снаряда
+            entities.x[i] += entities.vx[i] * delta;
+            entities.y[i] += entities.vy[i] * delta;
+
+            // Если снаряд вышел за пределы экрана, удаляем его
+            if (entities.x[i] < -entities.w[i] || entities.x[i] > GAME_WIDTH ||
+                entities.y[i] < -entities.h[i] || entities.y[i] > GAME_HEIGHT) {
+                entities.removeAt(i);
+                continue;
+            }
+
+            // Проверка столкновения с кораблем с использованием обтекаемых хитбоксов
+            if (checkSmoothCollision(i, ship, 0.85f)) {
+                // Удаляем снаряд при попадании
+                entities.removeAt(i);
+
+                // Если активен щит, то не теряем жизнь при столкновении
+                if (!shieldActive) {
+                    loseLife();
+                } else {
+                    // Если активен щит, добавляем немного очков за "уничтожение" снаряда
+                    addScore(10);
+                }
+
+                listener.onSound(GameSound.EXPLOSION, 0.5f, 1.0f);
+            }
+        }
+    }
+
+    /**
+     * Босс стреляет снарядом в игрока
+     */
+    private void bossShoot() {
+        // Создаем снаряд под боссом
+        float projectileX = boss.x + boss.width/2 - BOSS_PROJECTILE_SIZE/2;
+        float projectileY = boss.y - BOSS_PROJECTILE_SIZE;
+
+        // Направляем снаряд в сторону игрока
+        float dx = ship.x + ship.width/2 - projectileX;
+        float dy = ship.y + ship.height/2 - projectileY;
+
+        // Нормализуем вектор
+        float length = (float)Math.sqrt(dx*dx + dy*dy);
+        if (length != 0) {
+            dx /= length;
+            dy /= length;
+        }
+
+        // Добавляем снаряд в хранилище и задаем его скорость
+        int index = entities.indexOf(entities.create(EntityStore.TYPE_BOSS_PROJECTILE,
+            projectileX, projectileY, BOSS_PROJECTILE_SIZE, BOSS_PROJECTILE_SIZE));
+        entities.vx[index] = dx * BOSS_PROJECTILE_SPEED;
+        entities.vy[index] = dy * BOSS_PROJECTILE_SPEED;
+
+        listener.onSound(GameSound.EXPLOSION, 0.2f, 1.0f);
+    }
+
+    /**
+     * Создает случайный бонус
+     */
+    private void spawnRandomPowerup() {
+        // Выбираем тип бонуса - стараемся выбрать тип, отличный от текущих активных бонусов
+        PowerupType selectedType = null;
+
+        // Пытаемся найти тип бонуса, который еще не активен
+        for (int attempt = 0; attempt < 3; attempt++) {
+            PowerupType randomType = POWERUP_TYPES[spawnRandom.random(POWERUP_TYPES.length - 1)];
+            if (!powerupSlotActive[randomType.ordinal()]) {
+                selectedType = randomType;
+                break;
+            }
+        }
+
+        // Если не удалось найти неактивный тип, выбираем случайный
+        if (selectedType == null) {
+            selectedType = POWERUP_TYPES[spawnRandom.random(POWERUP_TYPES.length - 1)];
+        }
+
+        // Создаем бонус в верхней части экрана
+        float x = spawnRandom.random(0, GAME_WIDTH - POWERUP_SIZE);
+        float y = GAME_HEIGHT;
+        spawnPowerup(selectedType, x, y);
+    }
+
+    // Активация бонуса
+    private void activatePowerup(PowerupType type) {
+        switch (type) {
+            case SHIELD:
+                shieldActive = true;
+                break;
+            case MAGNET:
+                magnetActive = true;
+                break;
+            case DOUBLE_SCORE:
+                doubleScoreActive = true;
+                break;
+        }
+    }
+
+    // Деактивация бонуса
+    private void deactivatePowerup(PowerupType type) {
+        switch (type) {
+            case SHIELD:
+                shieldActive = false;
+                break;
+            case MAGNET:
+                magnetActive = false;
+                break;
+            case DOUBLE_SCORE:
+                doubleScoreActive = false;
+                break;
+        }
+    }
+
+    /**
+     * Проверяет столкновение между двумя объектами с использованием более обтекаемых хитбоксов.
+     * Вместо прямоугольников используется расстояние между центрами объектов и радиусы.
+     *
+     * @param x1 X-координата первого объекта
+     * @param y1 Y-координата первого объекта
+     * @param width1 ширина первого объекта
+     * @param height1 высота первого объекта
+     * @param x2 X-координата второго объекта
+     * @param y2 Y-координата второго объекта
+     * @param width2 ширина второго объекта
+     * @param height2 высота второго объекта
+     * @param collisionFactor множитель для настройки "обтекаемости" хитбоксов (< 1.0f для меньшего хитбокса)
+     * @return true, если объекты столкнулись
+     */
+    private static boolean checkSmoothCollision(float x1, float y1, float width1, float height1,
+                                                float x2, float y2, float width2, float height2,
+                                                float collisionFactor) {
+        // Рассчитываем расстояние между центрами
+        float dx = (x1 + width1 / 2) - (x2 + width2 / 2);
+        float dy = (y1 + height1 / 2) - (y2 + height2 / 2);
+
+        // Рассчитываем сумму радиусов (с учетом множителя для обтекаемости)
+        // Используем меньшую из сторон объекта для более точного хитбокса
+        float radius1 = Math.min(width1, height1) / 2;
+        float radius2 = Math.min(width2, height2) / 2;
+        float minDistance = (radius1 + radius2) * collisionFactor;
+
+        // Если расстояние меньше суммы радиусов, то произошло столкновение
+        return dx * dx + dy * dy < minDistance * minDistance;
+    }
+
+    /**
+     * Проверяет столкновение объекта из хранилища с прямоугольником (кораблем или боссом)
+     */
+    private boolean checkSmoothCollision(int index, Rectangle other, float collisionFactor) {
+        return checkSmoothCollision(entities.x[index], entities.y[index], entities.w[index], entities.h[index],
+            other.x, other.y, other.width, other.height, collisionFactor);
+    }
+
+    /**
+     * Проверяет столкновение двух объектов из хранилища
+     */
+    private boolean checkSmoothCollision(int index1, int index2, float collisionFactor) {
+        return checkSmoothCollision(entities.x[index1], entities.y[index1], entities.w[index1], entities.h[index1],
+            entities.x[index2], entities.y[index2], entities.w[index2], entities.h[index2], collisionFactor);
+    }
+
+    /**
+     * Проверяет, находится ли объект из хранилища в радиусе действия магнита корабля
+     */
+    private boolean checkMagneticEffect(int index, float magnetRadius) {
+        // Рассчитываем расстояние между центрами
+        float dx = entities.centerX(index) - (ship.x + ship.width / 2);
+        float dy = entities.centerY(index) - (ship.y + ship.height / 2);
+
+        // Если объект в радиусе действия магнита
+        return dx * dx + dy * dy < magnetRadius * magnetRadius;
+    }
+
+    /**
+     * Проверяет пересечение прямоугольника объекта из хранилища с кораблем
+     */
+    private boolean overlapsShip(int index) {
+        return entities.x[index] < ship.x + ship.width && entities.x[index] + entities.w[index] > ship.x &&
+               entities.y[index] < ship.y + ship.height && entities.y[index] + entities.h[index] > ship.y;
+    }
+
+    /**
+     * Проверяет и разрешает столкновения между двумя объектами, предотвращая их наложение.
+     * Если объекты пересекаются, они отталкиваются в противоположных направлениях.
+     * Дополнительно учитывает позицию объектов относительно нижней границы экрана.
+     *
+     * @param a индекс первого объекта в хранилище
+     * @param b индекс второго объекта в хранилище
+     * @return true, если столкновение было разрешено
+     */
+    private boolean resolveCollision(int a, int b) {
+        // Проверяем, пересекаются ли объекты
+        if (checkSmoothCollision(a, b, 1.0f)) {
+            float[] x = entities.x;
+            float[] y = entities.y;
+
+            // Вычисляем вектор направления от b к a
+            float dx = entities.centerX(a) - entities.centerX(b);
+            float dy = entities.centerY(a) - entities.centerY(b);
+
+            // Если оба объекта находятся близко к нижней границе экрана,
+            // усиливаем вертикальное отталкивание, чтобы избежать застревания
+            if (y[a] < 50 && y[b] < 50) {
+                dy += physicsRandom.random(5, 15); // Дополнительное отталкивание вверх
+            }
+
+            // Нормализуем вектор
+            float length = (float) Math.sqrt(dx * dx + dy * dy);
+            if (length <= 0.1f) {
+                // Если объекты находятся очень близко, сдвигаем слегка в случайном направлении
+                dx = physicsRandom.random(-1f, 1f);
+                dy = physicsRandom.random(0f, 2f); // Предпочтительнее вверх
+                length = (float) Math.sqrt(dx * dx + dy * dy);
+            }
+            dx /= length;
+            dy /= length;
+
+            // Вычисляем минимальное требуемое расстояние между центрами
+            float radius1 = Math.min(entities.w[a], entities.h[a]) / 2;
+            float radius2 = Math.min(entities.w[b], entities.h[b]) / 2;
+            float minDistance = radius1 + radius2;
+
+            // Корректируем позицию первого объекта
+            float pushDistance = (minDistance - length) / 2; // Половина перекрытия
+            x[a] += dx * pushDistance;
+            y[a] += dy * pushDistance;
+
+            // Если объект находится близко к нижней границе, даем дополнительный импульс вверх
+            if (y[a] < 50) {
+                y[a] += physicsRandom.random(5, 10);
+            }
+
+            // Корректируем позицию второго объекта
+            x[b] -= dx * pushDistance;
+            y[b] -= dy * pushDistance;
+
+            // Если объект находится близко к нижней границе, даем дополнительный импульс вверх
+            if (y[b] < 50) {
+                y[b] += physicsRandom.random(5, 10);
+            }
+
+            // Ограничиваем объекты, чтобы не выходили за экран
+            constrainToScreen(a);
+            constrainToScreen(b);
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Ограничивает объект, чтобы он не выходил за пределы экрана
+     * Для объектов внизу экрана применяется специальная логика, чтобы они не застревали
+     */
+    private void constrainToScreen(int index) {
+        float[] x = entities.x;
+        float[] y = entities.y;
+        if (x[index] < 0) x[index] = 0;
+        if (y[index] < 0) {
+            // Если объект в нижней части экрана, даем ему небольшой импульс вверх
+            // чтобы избежать застревания внизу
+            y[index] = 10 + physicsRandom.random(5);
+        }
+        if (x[index] + entities.w[index] > GAME_WIDTH) x[index] = GAME_WIDTH - entities.w[index];
+        if (y[index] + entities.h[index] > GAME_HEIGHT) y[index] = GAME_HEIGHT - entities.h[index];
+    }
+
+    /**
+     * Проверяет и удаляет объекты, которые слишком долго находятся внизу экрана
+     */
+    private void checkForStuckObjects() {
+        for (int i = entities.size - 1; i >= 0; i--) {
+            if (entities.y[i] >= 50) continue;
+
+            switch (entities.type[i]) {
+                case EntityStore.TYPE_ASTEROID:
+                    // Удаление застрявших астероидов (2% шанс на каждое обновление)
+                    if (physicsRandom.randomBoolean(0.02f)) {
+                        entities.removeAt(i);
+                        // Добавляем небольшое количество очков за "потерянный" астероид
+                        addScore(5);
+                    }
+                    break;
+                case EntityStore.TYPE_ENEMY:
+                    // Удаление застрявших врагов (3% шанс на каждое обновление)
+                    if (physicsRandom.randomBoolean(0.03f)) {
+                        entities.removeAt(i);
+                        // Добавляем очки за врага, который "улетел"
+                        addScore(10);
+                    }
+                    break;
+                case EntityStore.TYPE_FUEL:
+                case EntityStore.TYPE_HEART:
+                    // Топливо и сердечки удаляем с меньшей вероятностью, чтобы у игрока был шанс их собрать
+                    if (physicsRandom.randomBoolean(0.01f)) {
+                        entities.removeAt(i);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Игрок выполняет выстрел
+     */
+    private void playerShoot() {
+        // Проверяем, прошло ли достаточно времени с последнего выстрела
+        if (playerShootCooldownTask.isScheduled()) {
+            return;
+        }
+
+        // Вычисляем позицию для снаряда (центр корабля)
+        float projectileX = ship.x + ship.width / 2 - PLAYER_PROJECTILE_SIZE / 2;
+        float projectileY = ship.y + ship.height;
+
+        // Добавляем снаряд в хранилище (движение вверх)
+        int index = entities.indexOf(entities.create(EntityStore.TYPE_PLAYER_PROJECTILE,
+            projectileX, projectileY, PLAYER_PROJECTILE_SIZE, PLAYER_PROJECTILE_SIZE));
+        entities.vy[index] = PLAYER_PROJECTILE_SPEED;
+
+        // Следующий выстрел возможен после задержки
+        scheduler.schedule(playerShootCooldownTask, PLAYER_SHOOT_COOLDOWN);
+
+        listener.onSound(GameSound.COLLECT, 0.3f, 1.0f);
+    }
+
+    /**
+     * Обновляет снаряды игрока
+     */
+    private void updatePlayerProjectiles(float delta) {
+        // Если босс не активен, снаряды игрока не нужны
+        if (!bossActive) {
+            entities.removeAllOfType(EntityStore.TYPE_PLAYER_PROJECTILE);
+            return;
+        }
+
+        // Обрабатываем каждый снаряд
+        for (int i = entities.size - 1; i >= 0; i--) {
+            if (entities.type[i] != EntityStore.TYPE_PLAYER_PROJECTILE) continue;
+
+            // Обновляем позицию снаряда
+            entities.y[i] += entities.vy[i] * delta;
+
+            // Проверяем столкновение с боссом с использованием обтекаемых хитбоксов
+            if (boss != null && checkSmoothCollision(i, boss, 0.9f)) {
+                // Наносим урон боссу
+                damageBoss();
+
+                // Удаляем снаряд при попадании
+                entities.removeAt(i);
+
+                // Добавляем очки за попадание
+                addScore(50);
+
+                listener.onSound(GameSound.EXPLOSION, 0.3f, 1.0f);
+                continue;
+            }
+
+            // Удаляем снаряды за пределами экрана
+            if (entities.y[i] > GAME_HEIGHT) {
+                entities.removeAt(i);
+            }
+        }
+    }
+
+    /**
+     * Выводит статистику хранилища объектов и пулов в лог
+     */
+    public void logPoolStats() {
+        if (Gdx.app == null) return;
+        entities.logStats();
+        rectanglePool.logStats();
+    }
+
+    /**
+     * Возвращает хранилище объектов (только для чтения при отрисовке)
+     */
+    public EntityStore getEntities() {
+        return entities;
+    }
+
+    /**
+     * Возвращает границы корабля игрока
+     */
+    public Rectangle getShip() {
+        return ship;
+    }
+
+    /**
+     * Возвращает границы босса или null, если босса нет
+     */
+    public Rectangle getBoss() {
+        return boss;
+    }
+
+    /**
+     * Возвращает X-координату корабля, интерполированную между предыдущим и текущим шагом
+     * @param alpha Доля шага (0 - предыдущая позиция, 1 - текущая)
+     */
+    public float getShipX(float alpha) {
+        return prevShipX + (ship.x - prevShipX) * alpha;
+    }
+
+    /**
+     * Возвращает Y-координату корабля, интерполированную между предыдущим и текущим шагом
+     * @param alpha Доля шага (0 - предыдущая позиция, 1 - текущая)
+     */
+    public float getShipY(float alpha) {
+        return prevShipY + (ship.y - prevShipY) * alpha;
+    }
+
+    /**
+     * Возвращает X-координату босса, интерполированную между предыдущим и текущим шагом
+     * @param alpha Доля шага (0 - предыдущая позиция, 1 - текущая)
+     */
+    public float getBossX(float alpha) {
+        return prevBossX + (boss.x - prevBossX) * alpha;
+    }
+
+    /**
+     * Возвращает Y-координату босса, интерполированную между предыдущим и текущим шагом
+     * @param alpha Доля шага (0 - предыдущая позиция, 1 - текущая)
+     */
+    public float getBossY(float alpha) {
+        return prevBossY + (boss.y - prevBossY) * alpha;
+    }
+
+    public boolean isBossActive() {
+        return bossActive;
+    }
+
+    public int getBossHealth() {
+        return bossHealth;
+    }
+
+    public float getBossInvulnerabilityTimer() {
+        return scheduler.getRemaining(bossInvulnerabilityTask);
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public float getFuel() {
+        return fuel;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public float getGameTime() {
+        return gameTime;
+    }
+
+    public int getFuelCollected() {
+        return fuelCollected;
+    }
+
+    /**
+     * Возвращает количество выполненных шагов симуляции с начала игры
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Возвращает зерно текущей партии
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Возвращает поток случайных чисел для эффектов, не влияющих на игровой процесс
+     * (например, звездного поля)
+     */
+    public RandomStream getCosmeticRandom() {
+        return cosmeticRandom;
+    }
+
+    /**
+     * Создает новое зерно сессии
+     */
+    public static long newSeed() {
+        // Зерно из 48 бит: короткое в шестнадцатеричной записи, но без заметных повторов
+        return (System.nanoTime() ^ System.currentTimeMillis() * 0x5DEECE66DL) & 0xFFFFFFFFFFFFL;
+    }
+
+    /**
+     * Форматирует зерно для интерфейса и логов (шестнадцатеричная запись)
+     */
+    public static String formatSeed(long seed) {
+        return Long.toHexString(seed).toUpperCase();
+    }
+
+    /**
+     * Разбирает зерно, записанное {@link #formatSeed(long)}
+     * @throws NumberFormatException если строка не является шестнадцатеричным числом
+     */
+    public static long parseSeed(String text) {
+        return Long.parseUnsignedLong(text.trim(), 16);
+    }
+
+    /**
+     * Возвращает шину событий игрового процесса
+     */
+    public GameEventBus getEvents() {
+        return events;
+    }
+
+    public DifficultySystem getDifficultySystem() {
+        return difficultySystem;
+    }
+
+    /**
+     * Проверяет, действует ли бонус указанного типа
+     */
+    public boolean isPowerupActive(PowerupType type) {
+        return powerupSlotActive[type.ordinal()];
+    }
+
+    /**
+     * Возвращает прозрачность иконки активного бонуса (мерцание перед окончанием действия)
+     */
+    public float getPowerupBlinkAlpha(PowerupType type) {
+        return powerupBlinkAlpha[type.ordinal()];
+    }
+}
@@ -0,0 +1,39 @@
+package com.badlogic.drop.world;
+
+/**
+ * Получатель событий игрового мира. Через него мир сообщает экрану
+ * о звуках и событиях интерфейса, не завися от графики и аудио.
+ */
+public interface GameWorldListener {
+    /**
+     * Нужно воспроизвести звук
+     * @param sound Звук
+     * @param volume Относительная громкость (0 до 1)
+     * @param pitch Высота тона
+     */
+    void onSound(GameSound sound, float volume, float pitch);
+
+    /**
+     * Переход на новый уровень или победа над боссом
+     * @param message Текст для анимации
+     */
+    void onLevelUp(String message);
+
+    /**
+     * Разблокировано достижение
+     * @param text Текст уведомления
+     */
+    void onAchievementUnlocked(String text);
+
+    /**
+     * Топливо опустилось ниже порога предупреждения
+     */
+    void onLowFuel();
+
+    /**
+     * Игра окончена
+     * @param score Итоговый счет
+     * @param gameTime Время игры в секундах
+     */
+    void onGameOver(int score, float gameTime);
+}
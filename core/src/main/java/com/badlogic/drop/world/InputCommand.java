@@ -0,0 +1,92 @@
+package com.badlogic.drop.world;
+
+/**
+ * Команда управления кораблем на один тик симуляции.
+ * Экран заполняет ее из касаний, клавиатуры и контроллера,
+ * а игровой мир не обращается к устройствам ввода напрямую.
+ */
+public class InputCommand {
+    // Направление движения (клавиатура, контроллер), по каждой оси от -1 до 1
+    private float moveX;
+    private float moveY;
+
+    // Точка касания в координатах мира (корабль плавно движется к ней)
+    private boolean touchActive;
+    private float touchX;
+    private float touchY;
+
+    // Удержание кнопки стрельбы
+    private boolean shoot;
+
+    /**
+     * Сбрасывает команду (нет движения и стрельбы)
+     */
+    public void clear() {
+        moveX = 0;
+        moveY = 0;
+        touchActive = false;
+        touchX = 0;
+        touchY = 0;
+        shoot = false;
+    }
+
+    /**
+     * Копирует значения другой команды
+     */
+    public void set(InputCommand other) {
+        moveX = other.moveX;
+        moveY = other.moveY;
+        touchActive = other.touchActive;
+        touchX = other.touchX;
+        touchY = other.touchY;
+        shoot = other.shoot;
+    }
+
+    /**
+     * Задает направление движения
+     */
+    public void setMove(float moveX, float moveY) {
+        this.moveX = moveX;
+        this.moveY = moveY;
+    }
+
+    /**
+     * Задает точку касания в координатах мира
+     */
+    public void setTouch(float touchX, float touchY) {
+        this.touchActive = true;
+        this.touchX = touchX;
+        this.touchY = touchY;
+    }
+
+    /**
+     * Задает удержание кнопки стрельбы
+     */
+    public void setShoot(boolean shoot) {
+        this.shoot = shoot;
+    }
+
+    public float getMoveX() {
+        return moveX;
+    }
+
+    public float getMoveY() {
+        return moveY;
+    }
+
+    public boolean isTouchActive() {
+        return touchActive;
+    }
+
+    public float getTouchX() {
+        return touchX;
+    }
+
+    public float getTouchY() {
+        return touchY;
+    }
+
+    public boolean isShoot() {
+        return shoot;
+    }
+}
@@ -0,0 +1,220 @@
+package com.badlogic.drop.world;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Записывает ввод партии по тикам в компактный двоичный формат для точного повтора
+ * (см. {@link InputReplay}).
+ *
+ * Формат файла:
+ * <pre>
+ * заголовок: "SCRP", версия (1 байт), зерно (varint), частота тиков (varint)
+ * серии:     флаги (1 байт), изменившиеся поля (zigzag varint разницы с прошлой серией),
+ *            длина серии в тиках (varint)
+ * конец:     байт FLAG_END
+ * итог:      тиков (varint), счет (varint), уровень (varint), сложность (4 байта float)
+ * </pre>
+ * Подряд идущие одинаковые команды сворачиваются в одну серию, а значения хранятся
+ * разницей с предыдущей серией, поэтому минута игры обычно занимает сотни байт.
+ *
+ * Значения команды квантуются до точности формата прямо в переданной команде,
+ * поэтому живая игра и ее повтор получают одинаковый ввод.
+ */
+public class InputRecorder {
+    static final byte[] MAGIC = {'S', 'C', 'R', 'P'};
+    static final int VERSION = 1;
+
+    // Шаг квантования: 1/256 для направления движения, 1/16 единицы мира для точки касания
+    static final float MOVE_SCALE = 256f;
+    static final float TOUCH_SCALE = 16f;
+
+    // Флаги серии
+    static final int FLAG_TOUCH = 1;
+    static final int FLAG_SHOOT = 1 << 1;
+    static final int FLAG_MOVE_X = 1 << 2;
+    static final int FLAG_MOVE_Y = 1 << 3;
+    static final int FLAG_TOUCH_X = 1 << 4;
+    static final int FLAG_TOUCH_Y = 1 << 5;
+    static final int FLAG_END = 1 << 7;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    // Текущая (еще не записанная) серия
+    private boolean runTouch;
+    private boolean runShoot;
+    private int runMoveX;
+    private int runMoveY;
+    private int runTouchX;
+    private int runTouchY;
+    private int runLength;
+
+    // Значения последней записанной серии (база для разниц)
+    private int lastMoveX;
+    private int lastMoveY;
+    private int lastTouchX;
+    private int lastTouchY;
+
+    private long ticks;
+    private boolean recording;
+
+    /**
+     * Начинает новую запись (буфер переиспользуется)
+     * @param seed Зерно партии
+     * @param tickRate Частота тиков симуляции
+     */
+    public void begin(long seed, int tickRate) {
+        size = 0;
+        runLength = 0;
+        lastMoveX = 0;
+        lastMoveY = 0;
+        lastTouchX = 0;
+        lastTouchY = 0;
+        ticks = 0;
+        recording = true;
+
+        for (byte b : MAGIC) {
+            writeByte(b);
+        }
+        writeByte(VERSION);
+        writeVarLong(seed);
+        writeVarLong(tickRate);
+    }
+
+    /**
+     * Записывает команду одного тика. Команда квантуется на месте до точности формата.
+     */
+    public void record(InputCommand command) {
+        if (!recording) return;
+
+        int moveX = Math.round(command.getMoveX() * MOVE_SCALE);
+        int moveY = Math.round(command.getMoveY() * MOVE_SCALE);
+        boolean touch = command.isTouchActive();
+        int touchX = touch ? Math.round(command.getTouchX() * TOUCH_SCALE) : 0;
+        int touchY = touch ? Math.round(command.getTouchY() * TOUCH_SCALE) : 0;
+        boolean shoot = command.isShoot();
+
+        // Мир должен получить ровно то, что будет прочитано при повторе
+        command.setMove(moveX / MOVE_SCALE, moveY / MOVE_SCALE);
+        if (touch) {
+            command.setTouch(touchX / TOUCH_SCALE, touchY / TOUCH_SCALE);
+        }
+
+        if (runLength > 0 && touch == runTouch && shoot == runShoot &&
+            moveX == runMoveX && moveY == runMoveY && touchX == runTouchX && touchY == runTouchY) {
+            runLength++;
+        } else {
+            flushRun();
+            runTouch = touch;
+            runShoot = shoot;
+            runMoveX = moveX;
+            runMoveY = moveY;
+            runTouchX = touchX;
+            runTouchY = touchY;
+            runLength = 1;
+        }
+        ticks++;
+    }
+
+    /**
+     * Завершает запись и добавляет итог партии для проверки повтора
+     * @param world Мир после последнего записанного тика
+     */
+    public void finish(GameWorld world) {
+        if (!recording) return;
+        flushRun();
+        writeByte(FLAG_END);
+
+        writeVarLong(world.getTickCount());
+        writeVarLong(world.getScore());
+        writeVarLong(world.getDifficultySystem().getCurrentLevel());
+        int difficultyBits = Float.floatToIntBits(world.getDifficultySystem().getDifficulty());
+        writeByte(difficultyBits >>> 24);
+        writeByte(difficultyBits >>> 16);
+        writeByte(difficultyBits >>> 8);
+        writeByte(difficultyBits);
+        recording = false;
+    }
+
+    /**
+     * Сохраняет завершенную запись в файл
+     */
+    public void save(FileHandle file) {
+        file.writeBytes(buffer, 0, size, false);
+    }
+
+    /**
+     * Возвращает копию записанных данных
+     */
+    public byte[] toBytes() {
+        byte[] copy = new byte[size];
+        System.arraycopy(buffer, 0, copy, 0, size);
+        return copy;
+    }
+
+    /**
+     * Проверяет, идет ли запись (начата и еще не завершена)
+     */
+    public boolean isRecording() {
+        return recording;
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Возвращает размер записи в байтах
+     */
+    public int getSize() {
+        return size;
+    }
+
+    private void flushRun() {
+        if (runLength == 0) return;
+
+        int flags = 0;
+        if (runTouch) flags |= FLAG_TOUCH;
+        if (runShoot) flags |= FLAG_SHOOT;
+        if (runMoveX != lastMoveX) flags |= FLAG_MOVE_X;
+        if (runMoveY != lastMoveY) flags |= FLAG_MOVE_Y;
+        if (runTouchX != lastTouchX) flags |= FLAG_TOUCH_X;
+        if (runTouchY != lastTouchY) flags |= FLAG_TOUCH_Y;
+
+        writeByte(flags);
+        if ((flags & FLAG_MOVE_X) != 0) writeVarLong(zigzag(runMoveX - lastMoveX));
+        if ((flags & FLAG_MOVE_Y) != 0) writeVarLong(zigzag(runMoveY - lastMoveY));
+        if ((flags & FLAG_TOUCH_X) != 0) writeVarLong(zigzag(runTouchX - lastTouchX));
+        if ((flags & FLAG_TOUCH_Y) != 0) writeVarLong(zigzag(runTouchY - lastTouchY));
+        writeVarLong(runLength);
+
+        lastMoveX = runMoveX;
+        lastMoveY = runMoveY;
+        lastTouchX = runTouchX;
+        lastTouchY = runTouchY;
+        runLength = 0;
+    }
+
+    private static long zigzag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    private void writeByte(int value) {
+        if (size == buffer.length) {
+            byte[] newBuffer = new byte[buffer.length * 2];
+            System.arraycopy(buffer, 0, newBuffer, 0, size);
+            buffer = newBuffer;
+        }
+        buffer[size++] = (byte) value;
+    }
+}
@@ -0,0 +1,233 @@
+package com.badlogic.drop.world;
+
+import com.badlogic.drop.systems.DifficultySystem;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/**
+ * Повтор партии, записанной {@link InputRecorder}.
+ * Выдает команды по тикам в том же порядке и с тем же зерном, поэтому мир,
+ * сброшенный с {@link #getSeed()} и продвигаемый с частотой {@link #getTickRate()},
+ * повторяет партию в точности. Итог записи позволяет проверить это через {@link #matches(GameWorld)}.
+ */
+public class InputReplay {
+    private final byte[] data;
+
+    // Заголовок
+    private final long seed;
+    private final int tickRate;
+    private final int commandsStart;
+
+    // Итог записанной партии
+    private long expectedTicks;
+    private int expectedScore;
+    private int expectedLevel;
+    private float expectedDifficulty;
+
+    // Позиция чтения и текущая серия
+    private int position;
+    private int runRemaining;
+    private boolean runTouch;
+    private boolean runShoot;
+    private int moveX;
+    private int moveY;
+    private int touchX;
+    private int touchY;
+    private boolean finished;
+
+    /**
+     * Загружает повтор из файла
+     * @throws GdxRuntimeException если файл не является записью ввода
+     */
+    public static InputReplay load(FileHandle file) {
+        return new InputReplay(file.readBytes());
+    }
+
+    /**
+     * Создает повтор из данных записи
+     * @throws GdxRuntimeException если данные не являются записью ввода
+     */
+    public InputReplay(byte[] data) {
+        this.data = data;
+
+        if (data.length < InputRecorder.MAGIC.length + 1) {
+            throw new GdxRuntimeException("Запись ввода повреждена: слишком короткий файл");
+        }
+        for (int i = 0; i < InputRecorder.MAGIC.length; i++) {
+            if (data[i] != InputRecorder.MAGIC[i]) {
+                throw new GdxRuntimeException("Файл не является записью ввода");
+            }
+        }
+        position = InputRecorder.MAGIC.length;
+        int version = readByte();
+        if (version != InputRecorder.VERSION) {
+            throw new GdxRuntimeException("Неподдерживаемая версия записи ввода: " + version);
+        }
+        seed = readVarLong();
+        tickRate = (int) readVarLong();
+        commandsStart = position;
+
+        readSummary();
+        rewind();
+    }
+
+    /**
+     * Возвращает повтор к первому тику
+     */
+    public void rewind() {
+        position = commandsStart;
+        runRemaining = 0;
+        runTouch = false;
+        runShoot = false;
+        moveX = 0;
+        moveY = 0;
+        touchX = 0;
+        touchY = 0;
+        finished = false;
+    }
+
+    /**
+     * Заполняет команду следующего тика
+     * @param command Команда для заполнения
+     * @return false, если записанные тики закончились (команда очищается)
+     */
+    public boolean next(InputCommand command) {
+        if (runRemaining == 0 && !readRun()) {
+            command.clear();
+            return false;
+        }
+        runRemaining--;
+
+        command.clear();
+        command.setMove(moveX / InputRecorder.MOVE_SCALE, moveY / InputRecorder.MOVE_SCALE);
+        if (runTouch) {
+            command.setTouch(touchX / InputRecorder.TOUCH_SCALE, touchY / InputRecorder.TOUCH_SCALE);
+        }
+        command.setShoot(runShoot);
+        return true;
+    }
+
+    /**
+     * Проверяет, что мир пришел к тому же итогу, что и записанная партия:
+     * число тиков, счет, уровень и сложность
+     */
+    public boolean matches(GameWorld world) {
+        DifficultySystem difficulty = world.getDifficultySystem();
+        return world.getTickCount() == expectedTicks &&
+               world.getScore() == expectedScore &&
+               difficulty.getCurrentLevel() == expectedLevel &&
+               Float.floatToIntBits(difficulty.getDifficulty()) == Float.floatToIntBits(expectedDifficulty);
+    }
+
+    /**
+     * Описывает расхождение мира с записанным итогом (для логов)
+     */
+    public String describeMismatch(GameWorld world) {
+        DifficultySystem difficulty = world.getDifficultySystem();
+        return "тики " + world.getTickCount() + "/" + expectedTicks +
+               ", счет " + world.getScore() + "/" + expectedScore +
+               ", уровень " + difficulty.getCurrentLevel() + "/" + expectedLevel +
+               ", сложность " + difficulty.getDifficulty() + "/" + expectedDifficulty;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Проверяет, прочитаны ли все записанные тики
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public long getExpectedTicks() {
+        return expectedTicks;
+    }
+
+    public int getExpectedScore() {
+        return expectedScore;
+    }
+
+    public int getExpectedLevel() {
+        return expectedLevel;
+    }
+
+    public float getExpectedDifficulty() {
+        return expectedDifficulty;
+    }
+
+    /**
+     * Возвращает размер записи в байтах
+     */
+    public int getSize() {
+        return data.length;
+    }
+
+    /**
+     * Читает следующую серию одинаковых команд
+     * @return false, если серии закончились
+     */
+    private boolean readRun() {
+        if (finished) return false;
+
+        int flags = readByte();
+        if ((flags & InputRecorder.FLAG_END) != 0) {
+            finished = true;
+            return false;
+        }
+
+        runTouch = (flags & InputRecorder.FLAG_TOUCH) != 0;
+        runShoot = (flags & InputRecorder.FLAG_SHOOT) != 0;
+        if ((flags & InputRecorder.FLAG_MOVE_X) != 0) moveX += unzigzag(readVarLong());
+        if ((flags & InputRecorder.FLAG_MOVE_Y) != 0) moveY += unzigzag(readVarLong());
+        if ((flags & InputRecorder.FLAG_TOUCH_X) != 0) touchX += unzigzag(readVarLong());
+        if ((flags & InputRecorder.FLAG_TOUCH_Y) != 0) touchY += unzigzag(readVarLong());
+        runRemaining = (int) readVarLong();
+        return runRemaining > 0;
+    }
+
+    /**
+     * Пропускает серии и читает итог партии после маркера конца
+     */
+    private void readSummary() {
+        while (readRun()) {
+            runRemaining = 0;
+        }
+        expectedTicks = readVarLong();
+        expectedScore = (int) readVarLong();
+        expectedLevel = (int) readVarLong();
+        int bits = (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+        expectedDifficulty = Float.intBitsToFloat(bits);
+    }
+
+    private static int unzigzag(long value) {
+        int v = (int) value;
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private long readVarLong() {
+        long result = 0;
+        int shift = 0;
+        while (true) {
+            int b = readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+            shift += 7;
+            if (shift > 63) {
+                throw new GdxRuntimeException("Запись ввода повреждена: некорректное число");
+            }
+        }
+    }
+
+    private int readByte() {
+        if (position >= data.length) {
+            throw new GdxRuntimeException("Запись ввода повреждена: неожиданный конец файла");
+        }
+        return data[position++] & 0xFF;
+    }
+}
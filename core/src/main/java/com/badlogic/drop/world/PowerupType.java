@@ -0,0 +1,10 @@
+package com.badlogic.drop.world;
+
+/**
+ * Типы бонусов в игре
+ */
+public enum PowerupType {
+    SHIELD,        // Защита от столкновений
+    MAGNET,        // Притягивает топливо и сердечки
+    DOUBLE_SCORE   // Удвоение очков
+}
@@ -0,0 +1,68 @@
+package com.badlogic.drop;
+
+import com.badlogic.drop.firebase.FirebaseInterface;
+import com.badlogic.drop.util.GoogleAuthInterface;
+import com.badlogic.gdx.Gdx;
+
+/**
+ * Вход на компьютере без Google: пользователь локального хранилища Firebase
+ * входит и выходит сразу, как после успешного входа через Google на Android.
+ */
+public class DesktopAuth implements GoogleAuthInterface {
+    private final SpaceCourierGame game;
+    private final FirebaseInterface firebase;
+    private boolean signedIn;
+
+    /**
+     * @param game Игра, которой сообщается о входе
+     * @param firebase Хранилище, пользователь которого входит в игру
+     */
+    public DesktopAuth(SpaceCourierGame game, FirebaseInterface firebase) {
+        this.game = game;
+        this.firebase = firebase;
+    }
+
+    @Override
+    public void signIn() {
+        if (signedIn) return;
+        signedIn = true;
+
+        // Как и на Android, результат входа приходит позже, в потоке отрисовки
+        Gdx.app.postRunnable(new Runnable() {
+            @Override
+            public void run() {
+                game.onGoogleSignInSuccess(getUserName(), getUserEmail(), getUserId());
+            }
+        });
+    }
+
+    @Override
+    public void signOut() {
+        signedIn = false;
+    }
+
+    @Override
+    public boolean isSignedIn() {
+        return signedIn;
+    }
+
+    @Override
+    public String getUserName() {
+        return signedIn ? firebase.getCurrentUserName() : null;
+    }
+
+    @Override
+    public String getUserEmail() {
+        return signedIn ? firebase.getCurrentUserEmail() : null;
+    }
+
+    @Override
+    public String getUserId() {
+        return signedIn ? firebase.getCurrentUserId() : null;
+    }
+
+    @Override
+    public String getUserPhotoUrl() {
+        return null;
+    }
+}
@@ -1,17 +1,100 @@
 package com.badlogic.drop;
 
+import com.badlogic.drop.firebase.LocalFirebase;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
 import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
 
 /**
- * Запускает игру на компьютере
+ * Запускает игру на компьютере.
+ * Аргументы:
+ * <ul>
+ * <li>--replay файл - повторить записанную партию вместо главного меню</li>
+ * <li>--record-input - записывать ввод каждой партии для повтора</li>
+ * <li>--local-firebase - синхронизировать достижения с локальным хранилищем Firebase
+ * ({@link LocalFirebase}); пользователь входит автоматически</li>
+ * <li>--firebase-latency мс, --firebase-jitter мс, --firebase-failure доля (0..1),
+ * --firebase-throughput байт/с, --firebase-offline - условия сети локального хранилища
+ * (включают его)</li>
+ * </ul>
  */
 public class DesktopLauncher {
+    // Пользователь локального хранилища
+    private static final String LOCAL_USER_ID = "local-user";
+    private static final String LOCAL_USER_NAME = "Local Pilot";
+    private static final String LOCAL_USER_EMAIL = "pilot@localhost";
+
     public static void main(String[] arg) {
         Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
         config.setForegroundFPS(60);
         config.setTitle("Space Courier");
         config.setWindowedMode(720, 1080);
-        new Lwjgl3Application(new SpaceCourierGame(), config);
+
+        String replayPath = null;
+        boolean recordInput = false;
+        LocalFirebase.Conditions conditions = null;
+        for (int i = 0; i < arg.length; i++) {
+            if ("--replay".equals(arg[i]) && i + 1 < arg.length) {
+                replayPath = arg[++i];
+            } else if ("--record-input".equals(arg[i])) {
+                recordInput = true;
+            } else if (arg[i].startsWith("--local-firebase") || arg[i].startsWith("--firebase-")) {
+                if (conditions == null) {
+                    conditions = new LocalFirebase.Conditions();
+                }
+                if ("--firebase-offline".equals(arg[i])) {
+                    conditions.offline = true;
+                } else if (!"--local-firebase".equals(arg[i]) && i + 1 < arg.length) {
+                    parseCondition(conditions, arg[i], arg[++i]);
+                }
+            }
+        }
+
+        SpaceCourierGame game = conditions != null ? createLocalFirebaseGame(conditions) : new SpaceCourierGame();
+        if (replayPath != null) {
+            game.setStartReplay(replayPath);
+        }
+        game.setRecordInput(recordInput);
+        new Lwjgl3Application(game, config);
+    }
+
+    private static void parseCondition(LocalFirebase.Conditions conditions, String name, String value) {
+        if ("--firebase-latency".equals(name)) {
+            conditions.latencyMillis = Integer.parseInt(value);
+        } else if ("--firebase-jitter".equals(name)) {
+            conditions.latencyJitterMillis = Integer.parseInt(value);
+        } else if ("--firebase-failure".equals(name)) {
+            conditions.failureRate = Float.parseFloat(value);
+        } else if ("--firebase-throughput".equals(name)) {
+            conditions.bytesPerSecond = Integer.parseInt(value);
+        } else {
+            throw new IllegalArgumentException("Неизвестный аргумент: " + name);
+        }
+    }
+
+    /**
+     * Игра с локальным хранилищем Firebase. Хранилище создается в create(),
+     * когда уже доступны файлы и лог приложения.
+     */
+    private static SpaceCourierGame createLocalFirebaseGame(final LocalFirebase.Conditions conditions) {
+        return new SpaceCourierGame() {
+            private LocalFirebase firebase;
+
+            @Override
+            public void create() {
+                super.create();
+                firebase = new LocalFirebase(LOCAL_USER_ID, LOCAL_USER_NAME, LOCAL_USER_EMAIL, conditions);
+                DesktopAuth auth = new DesktopAuth(this, firebase);
+                setGoogleAuthInterface(auth);
+                setFirebaseInterface(firebase);
+                auth.signIn();
+            }
+
+            @Override
+            public void dispose() {
+                // Достижения отправляются при освобождении игры, затем хранилище дожидается записи
+                super.dispose();
+                firebase.dispose();
+            }
+        };
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,169 @@
+package com.badlogic.drop;
+
+import com.badlogic.drop.firebase.LocalFirebase;
+import com.badlogic.drop.systems.AchievementSystem;
+import com.badlogic.drop.util.RandomStream;
+import com.badlogic.drop.world.GameSound;
+import com.badlogic.drop.world.GameWorld;
+import com.badlogic.drop.world.GameWorldListener;
+import com.badlogic.drop.world.InputCommand;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * Замер синхронизации достижений с локальным хранилищем Firebase ({@link LocalFirebase})
+ * в заданных условиях сети, без окна и графики.
+ *
+ * Аргументы: [тиков] [задержка мс] [доля отказов 0..1] [байт/с] - по умолчанию 36000 тиков
+ * (10 минут игры), 150 мс, без отказов и без ограничения скорости.
+ *
+ * Порядок: загрузка достижений нового пользователя, игра автопилотом (600 тиков за кадр,
+ * поэтому записи объединяются сильнее, чем в реальной игре), сохранение при завершении
+ * и повторная загрузка с проверкой, что открытые достижения сохранились.
+ * Статистику записей и запросов выводят AchievementWriter и LocalFirebase.
+ */
+public class FirebaseSyncBenchmark extends ApplicationAdapter {
+    private static final String USER_ID = "benchmark-user";
+    private static final int DEFAULT_TICKS = 36000;
+    private static final int TICKS_PER_FRAME = 600;
+    private static final float TICK_DELTA = 1f / 60f;
+    private static final int STEER_INTERVAL = 30;
+    private static final long SEED = 0x5EEDL;
+
+    private final int ticks;
+    private final LocalFirebase.Conditions conditions;
+
+    private LocalFirebase firebase;
+    private AchievementSystem achievements;
+    private GameWorld world;
+    private RandomStream autopilotRandom;
+    private final InputCommand input = new InputCommand();
+
+    private final GameWorldListener listener = new GameWorldListener() {
+        @Override
+        public void onSound(GameSound sound, float volume, float pitch) {
+        }
+
+        @Override
+        public void onLevelUp(String message) {
+        }
+
+        @Override
+        public void onAchievementUnlocked(String text) {
+        }
+
+        @Override
+        public void onLowFuel() {
+        }
+
+        @Override
+        public void onGameOver(int score, float gameTime) {
+            gamesPlayed++;
+            // Как в игре: достижения партии сохраняются сразу
+            achievements.flush();
+        }
+    };
+
+    private boolean reloading;
+    private boolean finished;
+    private long loadStart;
+    private int tick;
+    private int gamesPlayed;
+    private int unlockedBeforeExit;
+    private long playNanos;
+
+    private FirebaseSyncBenchmark(int ticks, LocalFirebase.Conditions conditions) {
+        this.ticks = ticks;
+        this.conditions = conditions;
+    }
+
+    public static void main(String[] arg) {
+        LocalFirebase.Conditions conditions = new LocalFirebase.Conditions();
+        conditions.latencyMillis = arg.length > 1 ? Integer.parseInt(arg[1]) : 150;
+        conditions.failureRate = arg.length > 2 ? Float.parseFloat(arg[2]) : 0f;
+        conditions.bytesPerSecond = arg.length > 3 ? Integer.parseInt(arg[3]) : 0;
+        int ticks = arg.length > 0 ? Integer.parseInt(arg[0]) : DEFAULT_TICKS;
+
+        // Кадры нужны для таймера записи и ответов хранилища
+        new HeadlessApplication(new FirebaseSyncBenchmark(ticks, conditions), new HeadlessApplicationConfiguration());
+    }
+
+    @Override
+    public void create() {
+        // Каждый замер начинается с нового пользователя
+        Gdx.files.local(LocalFirebase.STORE_DIR).child(USER_ID).deleteDirectory();
+        firebase = new LocalFirebase(USER_ID, "Benchmark", "benchmark@localhost", conditions);
+
+        autopilotRandom = new RandomStream(SEED);
+
+        startLoad();
+    }
+
+    private void startLoad() {
+        achievements = new AchievementSystem(null, firebase);
+        loadStart = System.nanoTime();
+        achievements.setUser(USER_ID);
+    }
+
+    @Override
+    public void render() {
+        if (finished || achievements.isLoading()) return;
+
+        if (loadStart != 0) {
+            Gdx.app.log("FirebaseSyncBenchmark", (reloading ? "Повторная загрузка" : "Загрузка") + " достижений: "
+                + (System.nanoTime() - loadStart) / 1000000 + " мс, открыто " + countUnlocked());
+            loadStart = 0;
+
+            if (reloading) {
+                Gdx.app.log("FirebaseSyncBenchmark", countUnlocked() == unlockedBeforeExit
+                    ? "Все открытые достижения сохранены"
+                    : "Сохранено " + countUnlocked() + " из " + unlockedBeforeExit + " открытых достижений");
+                achievements.dispose();
+                firebase.dispose();
+                finished = true;
+                Gdx.app.exit();
+                return;
+            }
+
+            world = new GameWorld(achievements, listener);
+            world.reset(SEED);
+        }
+
+        long start = System.nanoTime();
+        int frameEnd = Math.min(ticks, tick + TICKS_PER_FRAME);
+        for (; tick < frameEnd; tick++) {
+            if (world.isGameOver()) {
+                world.reset(SEED + gamesPlayed);
+            }
+            if (tick % STEER_INTERVAL == 0) {
+                input.clear();
+                input.setMove(autopilotRandom.random(-1, 1), autopilotRandom.random(-1, 1));
+            }
+            input.setShoot(world.isBossActive());
+            world.update(TICK_DELTA, input);
+        }
+        playNanos += System.nanoTime() - start;
+
+        if (tick >= ticks) {
+            unlockedBeforeExit = countUnlocked();
+            Gdx.app.log("FirebaseSyncBenchmark", "Тиков: " + ticks + ", партий: " + gamesPlayed
+                + ", открыто достижений: " + unlockedBeforeExit + ", время игры " + playNanos / 1000000 + " мс");
+
+            // Сохранение при завершении, затем загрузка тем же хранилищем
+            world.dispose();
+            achievements.dispose();
+            reloading = true;
+            startLoad();
+        }
+    }
+
+    private int countUnlocked() {
+        int count = 0;
+        for (AchievementSystem.Achievement achievement : achievements.getAllAchievements().values()) {
+            if (achievement.unlocked) count++;
+        }
+        return count;
+    }
+}
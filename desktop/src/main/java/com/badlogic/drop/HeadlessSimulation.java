@@ -0,0 +1,228 @@
+package com.badlogic.drop;
+
+import com.badlogic.drop.util.RandomStream;
+import com.badlogic.drop.world.GameSound;
+import com.badlogic.drop.world.GameWorld;
+import com.badlogic.drop.world.GameWorldListener;
+import com.badlogic.drop.world.InputCommand;
+import com.badlogic.drop.world.InputRecorder;
+import com.badlogic.drop.world.InputReplay;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * Запускает игровой мир без окна и графики (gdx-backend-headless) быстрее реального времени.
+ *
+ * Режимы (аргументы):
+ * <ul>
+ * <li>[количество тиков] [зерно] - автопилот; после окончания игры мир перезапускается.
+ * По умолчанию 100000 тиков и случайное зерно. Каждая следующая партия запускается
+ * с зерном на единицу больше.</li>
+ * <li>--record файл [зерно] - одна партия автопилота с записью ввода в файл.</li>
+ * <li>--replay файл [повторов] - повтор записанной партии (в том числе записанной в игре)
+ * с проверкой итога; подходит как воспроизводимая нагрузка для замеров.</li>
+ * </ul>
+ * Зерно записывается в шестнадцатеричном виде, как в логах и интерфейсе игры.
+ * Автопилот тоже берет случайность из зерна, поэтому прогон с тем же зерном повторяется в точности.
+ * В конце выводит количество тиков в секунду и итоги партий.
+ */
+public class HeadlessSimulation extends ApplicationAdapter {
+    private static final float TICK_DELTA = 1f / 60f;
+    private static final int DEFAULT_TICKS = 100000;
+
+    // Ограничение длины записываемой партии (на случай, если автопилот не проигрывает)
+    private static final int MAX_RECORD_TICKS = 60 * 60 * 30;
+
+    // Интервал смены направления автопилота (в тиках)
+    private static final int STEER_INTERVAL = 30;
+
+    private final int ticks;
+    private final long seed;
+    private final String recordPath;
+    private final String replayPath;
+    private final int replayRepeats;
+
+    // Итоги партий
+    private int gamesPlayed;
+    private int bestScore;
+    private long totalScore;
+    private int soundEvents;
+
+    private HeadlessSimulation(int ticks, long seed, String recordPath, String replayPath, int replayRepeats) {
+        this.ticks = ticks;
+        this.seed = seed;
+        this.recordPath = recordPath;
+        this.replayPath = replayPath;
+        this.replayRepeats = replayRepeats;
+    }
+
+    public static void main(String[] arg) {
+        HeadlessSimulation simulation;
+        if (arg.length > 1 && "--replay".equals(arg[0])) {
+            int repeats = arg.length > 2 ? Integer.parseInt(arg[2]) : 1;
+            simulation = new HeadlessSimulation(0, 0, null, arg[1], Math.max(1, repeats));
+        } else if (arg.length > 1 && "--record".equals(arg[0])) {
+            long seed = arg.length > 2 ? GameWorld.parseSeed(arg[2]) : GameWorld.newSeed();
+            simulation = new HeadlessSimulation(MAX_RECORD_TICKS, seed, arg[1], null, 0);
+        } else {
+            int ticks = arg.length > 0 ? Integer.parseInt(arg[0]) : DEFAULT_TICKS;
+            long seed = arg.length > 1 ? GameWorld.parseSeed(arg[1]) : GameWorld.newSeed();
+            simulation = new HeadlessSimulation(ticks, seed, null, null, 0);
+        }
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        // Рендер-цикл не нужен: вся симуляция выполняется в create()
+        config.updatesPerSecond = -1;
+        new HeadlessApplication(simulation, config);
+    }
+
+    @Override
+    public void create() {
+        GameWorldListener listener = new GameWorldListener() {
+            @Override
+            public void onSound(GameSound sound, float volume, float pitch) {
+                soundEvents++;
+            }
+
+            @Override
+            public void onLevelUp(String message) {
+                Gdx.app.debug("HeadlessSimulation", message);
+            }
+
+            @Override
+            public void onAchievementUnlocked(String text) {
+            }
+
+            @Override
+            public void onLowFuel() {
+            }
+
+            @Override
+            public void onGameOver(int score, float gameTime) {
+                gamesPlayed++;
+                totalScore += score;
+                bestScore = Math.max(bestScore, score);
+            }
+        };
+
+        // Достижения не сохраняем, чтобы не трогать настройки игрока
+        GameWorld world = new GameWorld(null, listener);
+
+        if (replayPath != null) {
+            runReplay(world);
+        } else {
+            runAutopilot(world);
+        }
+        world.logPoolStats();
+
+        Gdx.app.exit();
+    }
+
+    /**
+     * Играет автопилотом; в режиме записи - одну партию с записью ввода
+     */
+    private void runAutopilot(GameWorld world) {
+        long gameSeed = seed;
+        world.reset(gameSeed);
+
+        InputRecorder recorder = null;
+        if (recordPath != null) {
+            recorder = new InputRecorder();
+            recorder.begin(gameSeed, Math.round(1f / TICK_DELTA));
+        }
+
+        // Отдельный поток для автопилота, чтобы его решения не сдвигали потоки мира
+        RandomStream autopilotRandom = new RandomStream(RandomStream.deriveSeed(seed, -1));
+
+        InputCommand input = new InputCommand();
+        float moveX = 0;
+        float moveY = 0;
+
+        long startTime = System.nanoTime();
+        int tick = 0;
+        for (; tick < ticks; tick++) {
+            if (world.isGameOver()) {
+                if (recorder != null) break;
+                world.reset(++gameSeed);
+            }
+
+            // Автопилот: случайное направление, которое меняется через равные промежутки
+            if (tick % STEER_INTERVAL == 0) {
+                moveX = autopilotRandom.random(-1, 1);
+                moveY = autopilotRandom.random(-1, 1);
+            }
+            input.clear();
+            input.setMove(moveX, moveY);
+            input.setShoot(world.isBossActive());
+
+            if (recorder != null) {
+                recorder.record(input);
+            }
+            world.update(TICK_DELTA, input);
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        logThroughput("Зерно: " + GameWorld.formatSeed(seed), tick, tick * TICK_DELTA, elapsed);
+        logGames();
+
+        if (recorder != null) {
+            recorder.finish(world);
+            recorder.save(Gdx.files.absolute(recordPath));
+            Gdx.app.log("HeadlessSimulation", "Запись сохранена: " + recordPath + " (" + recorder.getTicks() +
+                " тиков, " + recorder.getSize() + " байт, счет " + world.getScore() + ")");
+        }
+    }
+
+    /**
+     * Повторяет записанную партию заданное число раз и проверяет итог каждого повтора
+     */
+    private void runReplay(GameWorld world) {
+        InputReplay replay = InputReplay.load(Gdx.files.absolute(replayPath));
+        float tickDelta = 1f / replay.getTickRate();
+        Gdx.app.log("HeadlessSimulation", "Повтор " + replayPath + ": зерно " + GameWorld.formatSeed(replay.getSeed()) +
+            ", " + replay.getExpectedTicks() + " тиков, " + replay.getSize() + " байт");
+
+        InputCommand input = new InputCommand();
+        long totalTicks = 0;
+        int mismatches = 0;
+
+        long startTime = System.nanoTime();
+        for (int run = 0; run < replayRepeats; run++) {
+            replay.rewind();
+            world.reset(replay.getSeed());
+            while (!world.isGameOver() && replay.next(input)) {
+                world.update(tickDelta, input);
+                totalTicks++;
+            }
+
+            if (!replay.matches(world)) {
+                mismatches++;
+                Gdx.app.error("HeadlessSimulation", "Повтор " + (run + 1) + " разошелся с записью: " +
+                    replay.describeMismatch(world));
+            }
+        }
+        long elapsed = System.nanoTime() - startTime;
+
+        logThroughput("Повторов: " + replayRepeats, totalTicks, totalTicks * tickDelta, elapsed);
+        Gdx.app.log("HeadlessSimulation", "Итог: счет " + world.getScore() +
+            ", уровень " + world.getDifficultySystem().getCurrentLevel() +
+            ", сложность " + world.getDifficultySystem().getDifficulty() +
+            (mismatches == 0 ? ", совпадает с записью" : ", расхождений: " + mismatches));
+    }
+
+    private void logThroughput(String prefix, long ticks, float simulatedSeconds, long elapsedNanos) {
+        double seconds = elapsedNanos / 1000000000.0;
+        Gdx.app.log("HeadlessSimulation", prefix + ", тиков: " + ticks +
+            " за " + String.format("%.2f", seconds) + " с (" + String.format("%.0f", ticks / seconds) + " тиков/с, " +
+            String.format("%.1f", simulatedSeconds / seconds) + "x реального времени)");
+    }
+
+    private void logGames() {
+        Gdx.app.log("HeadlessSimulation", "Партий завершено: " + gamesPlayed +
+            ", лучший счет: " + bestScore +
+            ", средний счет: " + (gamesPlayed > 0 ? totalScore / gamesPlayed : 0) +
+            ", звуковых событий: " + soundEvents);
+    }
+}
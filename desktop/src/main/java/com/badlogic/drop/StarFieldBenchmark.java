@@ -0,0 +1,112 @@
+package com.badlogic.drop;
+
+import com.badlogic.drop.util.RandomStream;
+import com.badlogic.drop.util.StarField;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3Application;
+import com.badlogic.gdx.backends.lwjgl3.Lwjgl3ApplicationConfiguration;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+/**
+ * Замер обновления и отрисовки звездного поля в CPU- и GPU-режимах.
+ *
+ * Аргументы: [количество звезд...] - по умолчанию 250, 2000 и 10000.
+ * Для каждого количества выводит среднее время update() и render() в микросекундах.
+ * Время отрисовки включает glFinish(), то есть и работу видеокарты.
+ * Окно не показывается, вертикальная синхронизация отключена.
+ *
+ * Для сравнения с предыдущей реализацией замер можно запустить на более старой ревизии:
+ * замер использует только конструктор StarField(ширина, высота, звезд, поток, GPU) и isGpuMode().
+ */
+public class StarFieldBenchmark extends ApplicationAdapter {
+    private static final int[] DEFAULT_COUNTS = {250, 2000, 10000};
+    private static final int WARMUP_FRAMES = 300;
+    private static final int MEASURED_FRAMES = 1000;
+    private static final float FRAME_DELTA = 1f / 60f;
+    private static final long SEED = 0x5EEDL;
+
+    private final int[] counts;
+
+    private StarFieldBenchmark(int[] counts) {
+        this.counts = counts;
+    }
+
+    public static void main(String[] arg) {
+        int[] counts = DEFAULT_COUNTS;
+        if (arg.length > 0) {
+            counts = new int[arg.length];
+            for (int i = 0; i < arg.length; i++) {
+                counts[i] = Integer.parseInt(arg[i]);
+            }
+        }
+
+        Lwjgl3ApplicationConfiguration config = new Lwjgl3ApplicationConfiguration();
+        config.setTitle("StarField benchmark");
+        config.setWindowedMode((int) SpaceCourierGame.GAME_WIDTH / 2, (int) SpaceCourierGame.GAME_HEIGHT / 2);
+        config.setInitialVisible(false);
+        config.useVsync(false);
+        new Lwjgl3Application(new StarFieldBenchmark(counts), config);
+    }
+
+    @Override
+    public void create() {
+        OrthographicCamera camera = new OrthographicCamera();
+        camera.setToOrtho(false, SpaceCourierGame.GAME_WIDTH, SpaceCourierGame.GAME_HEIGHT);
+        SpriteBatch batch = new SpriteBatch();
+        batch.setProjectionMatrix(camera.combined);
+
+        for (int count : counts) {
+            measure(batch, count, false);
+            measure(batch, count, true);
+        }
+
+        batch.dispose();
+        Gdx.app.exit();
+    }
+
+    private void measure(SpriteBatch batch, int count, boolean useGpu) {
+        StarField starField = new StarField(SpaceCourierGame.GAME_WIDTH, SpaceCourierGame.GAME_HEIGHT,
+            count, new RandomStream(SEED), useGpu);
+        if (useGpu && !starField.isGpuMode()) {
+            Gdx.app.log("StarFieldBenchmark", count + " звезд: GPU-режим недоступен");
+            starField.dispose();
+            return;
+        }
+
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            frame(batch, starField);
+        }
+
+        long updateNanos = 0;
+        long renderNanos = 0;
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            long start = System.nanoTime();
+            starField.update(FRAME_DELTA);
+            long updated = System.nanoTime();
+            render(batch, starField);
+            long rendered = System.nanoTime();
+
+            updateNanos += updated - start;
+            renderNanos += rendered - updated;
+        }
+
+        Gdx.app.log("StarFieldBenchmark", String.format("%6d звезд, %s: update %.1f мкс, render %.1f мкс, вызовов батча %d",
+            count, useGpu ? "GPU" : "CPU",
+            updateNanos / 1000.0 / MEASURED_FRAMES, renderNanos / 1000.0 / MEASURED_FRAMES, batch.renderCalls));
+        starField.dispose();
+    }
+
+    private void frame(SpriteBatch batch, StarField starField) {
+        starField.update(FRAME_DELTA);
+        render(batch, starField);
+    }
+
+    private void render(SpriteBatch batch, StarField starField) {
+        batch.begin();
+        starField.render(batch);
+        batch.end();
+        Gdx.gl.glFinish();
+    }
+}